@@ -0,0 +1,54 @@
+package travelbookingapp;
+
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageStorage;
+
+import java.io.InputStream;
+
+/**
+ Κόστος της εικόνας φόντου: χρόνος αποκωδικοποίησης και μέγεθος του bitmap στο φυσικό μέγεθος
+ (όπως όταν κάθε οθόνη δημιουργούσε δικό της Image σε κάθε πλοήγηση) και στο μέγεθος εμφάνισης του
+ ResourceCache (μία φορά για όλη την εφαρμογή), και η μνήμη που μένει για πέντε αντίγραφα (εφαρμογή και
+ τέσσερις οθόνες) έναντι ενός.
+ Το javafx.scene.image.Image χρειάζεται το γραφικό περιβάλλον του JavaFX, οπότε η μέτρηση καλεί απευθείας τον
+ αποκωδικοποιητή που χρησιμοποιεί το Image (com.sun.javafx.iio.ImageStorage) και μπορεί να εκτελεστεί και χωρίς οθόνη.
+ Ο χρόνος πλοήγησης δεν μετριέται εδώ.
+ Εκτελείται με: ant bench
+ */
+public class BackgroundImageBench {
+    private static final String IMAGE = "/resources/travel_image.jpg";
+    private static final int PANES = 5;
+
+    public static void main(String[] args) throws Exception {
+        ImageFrame natural = decode(0, 0);
+        ImageFrame display = decode(ResourceCache.BACKGROUND_WIDTH, ResourceCache.BACKGROUND_HEIGHT);
+        double naturalMillis = BenchSupport.medianMillis(10, 51, () -> decode(0, 0));
+        double displayMillis = BenchSupport.medianMillis(10, 51, () -> decode(ResourceCache.BACKGROUND_WIDTH, ResourceCache.BACKGROUND_HEIGHT));
+        System.out.printf("φυσικό μέγεθος %dx%d: %,d bytes, αποκωδικοποίηση %.1f ms%n",
+                natural.getWidth(), natural.getHeight(), natural.getImageData().capacity(), naturalMillis);
+        System.out.printf("μέγεθος εμφάνισης %dx%d: %,d bytes, αποκωδικοποίηση %.1f ms%n",
+                display.getWidth(), display.getHeight(), display.getImageData().capacity(), displayMillis);
+
+        BenchSupport.sink = null;
+        long base = BenchSupport.usedHeapAfterGc();
+        ImageFrame[] perPane = new ImageFrame[PANES];
+        for (int i = 0; i < PANES; i++) {
+            perPane[i] = decode(0, 0);
+        }
+        long perPaneHeap = BenchSupport.usedHeapAfterGc() - base;
+        System.out.printf("heap: %d αντίγραφα στο φυσικό μέγεθος %,d bytes%n", perPane.length, perPaneHeap);
+
+        perPane = null;
+        base = BenchSupport.usedHeapAfterGc();
+        ImageFrame shared = decode(ResourceCache.BACKGROUND_WIDTH, ResourceCache.BACKGROUND_HEIGHT);
+        long sharedHeap = BenchSupport.usedHeapAfterGc() - base;
+        System.out.printf("heap: ένα κοινό στο μέγεθος εμφάνισης (%dx%d) %,d bytes%n",
+                shared.getWidth(), shared.getHeight(), sharedHeap);
+    }
+
+    private static ImageFrame decode(double width, double height) throws Exception {
+        try (InputStream in = BackgroundImageBench.class.getResourceAsStream(IMAGE)) {
+            return ImageStorage.loadAll(in, null, width, height, true, 1f, true)[0];
+        }
+    }
+}
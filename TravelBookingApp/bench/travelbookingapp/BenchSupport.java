@@ -0,0 +1,93 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ Βοηθητικές μέθοδοι για τις μετρήσεις του bench/: χρονομέτρηση με προθέρμανση (διάμεσος σε ms),
+ μέτρηση της μνήμης που μένει μετά από συλλογή απορριμμάτων και δημιουργία τυχαίων (αλλά επαναλήψιμων) δεδομένων.
+ Οι μετρήσεις είναι απλά προγράμματα με main, χωρίς εξωτερικές βιβλιοθήκες· εκτελούνται με: ant bench
+ */
+final class BenchSupport {
+    private static final String[] DESTINATIONS = {"Αθήνα", "Θεσσαλονίκη", "Ηράκλειο", "Ρόδος", "Χανιά", "Βόλος",
+            "Πάτρα", "Κέρκυρα", "Νάξος", "Σαντορίνη"};
+
+    // Αποτρέπει την αφαίρεση υπολογισμών των οποίων το αποτέλεσμα δεν χρησιμοποιείται.
+    static volatile Object sink;
+
+    private BenchSupport() {
+    }
+
+    /**
+     Εκτελεί μια εργασία μερικές φορές για προθέρμανση και έπειτα τη χρονομετρεί.
+     @param warmups Οι εκτελέσεις προθέρμανσης.
+     @param runs Οι εκτελέσεις που μετρώνται.
+     @param task Η εργασία· το αποτέλεσμά της κρατιέται ώστε να μην αφαιρεθεί ο υπολογισμός.
+     @return Ο διάμεσος χρόνος σε ms.
+     @throws Exception Αν αποτύχει η εργασία.
+     */
+    static double medianMillis(int warmups, int runs, Callable<?> task) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            sink = task.call();
+        }
+        double[] times = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            sink = task.call();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+
+    /**
+     Επιστρέφει τη μνήμη heap που χρησιμοποιείται μετά από (επαναλαμβανόμενη) συλλογή απορριμμάτων.
+     @return Τα bytes σε χρήση.
+     */
+    static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     Δημιουργεί δεδομένα με ένα πλήθος κρατήσεων, έναν πελάτη ανά 10 κρατήσεις και ένα δρομολόγιο ανά 100
+     (με αρκετές θέσεις για όλες). Περίπου 1 στις 10 κρατήσεις είναι ακυρωμένη.
+     @param bookings Το πλήθος των κρατήσεων.
+     @return Τα δεδομένα.
+     */
+    static TravelData generate(int bookings) {
+        TravelData data = new TravelData();
+        Customer[] customers = new Customer[Math.max(1, bookings / 10)];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = new Customer("Πελάτης " + i, "c" + i + "@example.gr", "210" + (1000000 + i));
+            data.addCustomer(customers[i]);
+        }
+        Itinerary[] itineraries = new Itinerary[Math.max(1, bookings / 100)];
+        for (int i = 0; i < itineraries.length; i++) {
+            itineraries[i] = new Itinerary(DESTINATIONS[i % DESTINATIONS.length], LocalDate.of(2031, 1, 1).plusDays(i % 365),
+                    1000, 20 + i % 80, Itinerary.STANDARD_TRANSPORT_TYPES.get(i % 3));
+            data.addItinerary(itineraries[i]);
+        }
+        long seed = 42;
+        for (int i = 0; i < bookings; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int random = (int) (seed >>> 33);
+            Itinerary itinerary = itineraries[i % itineraries.length];
+            itinerary.tryReserveSeats(1);
+            Booking booking = new Booking(customers[random % customers.length], itinerary,
+                    LocalDate.of(2030, 1, 1).plusDays(random % 365));
+            data.addBooking(booking);
+            if (random % 10 == 0) {
+                data.cancelBooking(booking);
+            }
+        }
+        return data;
+    }
+}
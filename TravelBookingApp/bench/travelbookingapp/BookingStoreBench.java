@@ -0,0 +1,93 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ Μνήμη και ταχύτητα σάρωσης του BookingStore (στήλες) έναντι ArrayList&lt;Booking&gt;, για κρατήσεις με
+ 10.000 πελάτες και 1.000 δρομολόγια: κρατήσεις ενός πελάτη, και μη ακυρωμένες κρατήσεις σε ένα διάστημα ημερομηνιών.
+ Κάθε Booking έχει δικό του LocalDate, όπως όταν διαβάζεται από αρχείο.
+ Εκτελείται με: ant bench   (παράμετροι: [πλήθος κρατήσεων, π.χ. 10000000], με αρκετό -Xmx)
+ */
+public class BookingStoreBench {
+    private static final int CUSTOMERS = 10000;
+    private static final int ITINERARIES = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        Customer[] customers = new Customer[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers[i] = new Customer("Πελάτης " + i, "c" + i + "@example.gr", "210" + i);
+            customers[i].setId(i + 1);
+        }
+        Itinerary[] itineraries = new Itinerary[ITINERARIES];
+        for (int i = 0; i < ITINERARIES; i++) {
+            itineraries[i] = new Itinerary("Προορισμός " + i % 50, LocalDate.of(2024, 1, 1).plusDays(i % 365), 100, 30,
+                    Itinerary.STANDARD_TRANSPORT_TYPES.get(i % 3));
+            itineraries[i].setId(CUSTOMERS + i + 1);
+        }
+        int firstDay = (int) LocalDate.of(2023, 1, 1).toEpochDay();
+
+        long base = BenchSupport.usedHeapAfterGc();
+        List<Booking> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking(customers[(i * 7) % CUSTOMERS], itineraries[(i * 13) % ITINERARIES],
+                    LocalDate.ofEpochDay(firstDay + i % 730));
+            booking.setId(CUSTOMERS + ITINERARIES + i + 1);
+            booking.setCancelled(i % 10 == 0);
+            list.add(booking);
+        }
+        long listHeap = BenchSupport.usedHeapAfterGc() - base;
+
+        base = BenchSupport.usedHeapAfterGc();
+        BookingStore store = new BookingStore();
+        list.forEach(store::add);
+        long storeHeap = BenchSupport.usedHeapAfterGc() - base;
+        System.out.printf("%,d κρατήσεις%n", count);
+        System.out.printf("  heap: ArrayList<Booking> %,d MB (%d B/κράτηση), BookingStore %,d MB (%d B/κράτηση)%n",
+                listHeap >> 20, listHeap / count, storeHeap >> 20, storeHeap / count);
+
+        Customer customer = customers[CUSTOMERS / 2];
+        int customerId = customer.getId();
+        double listCustomer = BenchSupport.medianMillis(3, 11, () -> {
+            int found = 0;
+            for (Booking booking : list) {
+                if (booking.getCustomer().getId() == customerId) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        double storeCustomer = BenchSupport.medianMillis(3, 11, () -> store.rowsForCustomer(customerId).length);
+        System.out.printf("  κρατήσεις πελάτη (ms):                     ArrayList %8.1f   BookingStore %8.1f%n",
+                listCustomer, storeCustomer);
+
+        LocalDate from = LocalDate.of(2023, 6, 1);
+        LocalDate to = LocalDate.of(2023, 8, 31);
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        double listRange = BenchSupport.medianMillis(3, 11, () -> {
+            int found = 0;
+            for (Booking booking : list) {
+                LocalDate day = booking.getBookingDate();
+                if (!booking.isCancelled() && !day.isBefore(from) && !day.isAfter(to)) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        double storeRange = BenchSupport.medianMillis(3, 11, () -> {
+            int found = 0;
+            for (int row = 0; row < store.size(); row++) {
+                int day = store.getBookingDay(row);
+                if (day >= fromDay && day <= toDay && !store.isCancelled(row)) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        System.out.printf("  ενεργές κρατήσεις σε διάστημα (ms):        ArrayList %8.1f   BookingStore %8.1f%n",
+                listRange, storeRange);
+    }
+}
@@ -0,0 +1,50 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ Χρόνος συλλογής του ιστορικού ενός πελάτη (όπως η αναφορά του ReportManager) καθώς μεγαλώνει το συνολικό
+ πλήθος κρατήσεων, για πελάτη με σταθερό πλήθος (50) κρατήσεων: από το ευρετήριο ανά πελάτη
+ (TravelData.getBookingsFor) και με σάρωση όλων των κρατήσεων (όπως πριν).
+ Εκτελείται με: ant bench   (παράμετροι: [πλήθη κρατήσεων, π.χ. 10000,100000,1000000,3000000])
+ */
+public class CustomerHistoryBench {
+    private static final int CUSTOMER_BOOKINGS = 50;
+
+    public static void main(String[] args) throws Exception {
+        String sizes = args.length > 0 ? args[0] : "10000,100000,1000000";
+        System.out.printf("%12s %18s %18s%n", "κρατήσεις", "ευρετήριο (ms)", "σάρωση (ms)");
+        for (String size : sizes.split(",")) {
+            run(Integer.parseInt(size.trim()));
+        }
+    }
+
+    private static void run(int bookings) throws Exception {
+        TravelData data = BenchSupport.generate(bookings);
+        Customer customer = new Customer("Μετρούμενος", "bench@example.gr", "2100000000");
+        data.addCustomer(customer);
+        List<Itinerary> itineraries = new ArrayList<>(data.getItineraries());
+        for (int i = 0; i < CUSTOMER_BOOKINGS; i++) {
+            Itinerary itinerary = itineraries.get(i * 7919 % itineraries.size());
+            itinerary.tryReserveSeats(1);
+            data.addBooking(new Booking(customer, itinerary, LocalDate.of(2030, 6, 1).plusDays(i)));
+        }
+
+        double indexed = BenchSupport.medianMillis(200, 1000, () -> {
+            synchronized (data) {
+                return new ArrayList<>(data.getBookingsFor(customer));
+            }
+        });
+        double scanned = BenchSupport.medianMillis(3, 11, () -> {
+            synchronized (data) {
+                return data.getBookings().stream()
+                        .filter(booking -> booking.getCustomer().equals(customer))
+                        .collect(Collectors.toList());
+            }
+        });
+        System.out.printf("%,12d %18.4f %18.2f%n", bookings, indexed, scanned);
+    }
+}
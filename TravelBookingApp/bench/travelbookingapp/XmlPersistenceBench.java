@@ -0,0 +1,83 @@
+package travelbookingapp;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ Χρόνος αποθήκευσης και φόρτωσης του στιγμιότυπου XML για διάφορα πλήθη κρατήσεων:
+ JAXB με νέο JAXBContext σε κάθε κλήση (όπως πριν), JAXB με κοινό JAXBContext και επαναχρησιμοποιούμενους
+ Marshaller/Unmarshaller (όπως το DataManager με travelbooking.xml.streaming=false), σε μορφοποιημένο και
+ συμπαγές XML, και StreamingXmlCodec (η προεπιλογή του DataManager).
+ Εκτελείται με: ant bench   (παράμετροι: [πλήθη κρατήσεων, π.χ. 1000,100000,1000000])
+ */
+public class XmlPersistenceBench {
+    public static void main(String[] args) throws Exception {
+        String sizes = args.length > 0 ? args[0] : "1000,100000";
+        Path file = Files.createTempFile("travel_data", ".xml");
+        try {
+            for (String size : sizes.split(",")) {
+                run(Integer.parseInt(size.trim()), file);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void run(int bookings, Path file) throws Exception {
+        TravelData data = BenchSupport.generate(bookings);
+        int runs = bookings >= 1000000 ? 3 : 5;
+        JAXBContext context = JAXBContext.newInstance(TravelData.class);
+        Marshaller marshaller = context.createMarshaller();
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+        System.out.printf("%,d κρατήσεις (διάμεσος σε ms):%n", bookings);
+
+        report("αποθήκευση JAXB, νέο context", BenchSupport.medianMillis(2, runs, () -> {
+            Marshaller perCall = JAXBContext.newInstance(TravelData.class).createMarshaller();
+            perCall.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            return marshal(perCall, data, file);
+        }));
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        report("αποθήκευση JAXB, κοινό context", BenchSupport.medianMillis(2, runs, () -> marshal(marshaller, data, file)));
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+        report("αποθήκευση JAXB, κοινό context, συμπαγές", BenchSupport.medianMillis(2, runs, () -> marshal(marshaller, data, file)));
+        report("αποθήκευση StAX", BenchSupport.medianMillis(2, runs, () -> write(data, file, true)));
+        report("αποθήκευση StAX, συμπαγές", BenchSupport.medianMillis(2, runs, () -> write(data, file, false)));
+
+        // Οι φορτώσεις διαβάζουν το συμπαγές αρχείο της τελευταίας αποθήκευσης.
+        report("φόρτωση JAXB, νέο context", BenchSupport.medianMillis(2, runs, () -> {
+            TravelData loaded = (TravelData) JAXBContext.newInstance(TravelData.class).createUnmarshaller().unmarshal(file.toFile());
+            loaded.resolveAfterLoad();
+            return loaded;
+        }));
+        report("φόρτωση JAXB, κοινό context", BenchSupport.medianMillis(2, runs, () -> {
+            TravelData loaded = (TravelData) unmarshaller.unmarshal(file.toFile());
+            loaded.resolveAfterLoad();
+            return loaded;
+        }));
+        report("φόρτωση StAX", BenchSupport.medianMillis(2, runs, () -> StreamingXmlCodec.read(file, progress -> { })));
+        System.out.printf("  μέγεθος συμπαγούς αρχείου: %,d bytes%n", Files.size(file));
+    }
+
+    private static Path marshal(Marshaller marshaller, TravelData data, Path file) throws Exception {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            marshaller.marshal(data, out);
+        }
+        return file;
+    }
+
+    private static Path write(TravelData data, Path file, boolean formatted) throws Exception {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            StreamingXmlCodec.write(data, out, formatted);
+        }
+        return file;
+    }
+
+    private static void report(String label, double millis) {
+        System.out.printf("  %-42s %10.1f%n", label, millis);
+    }
+}
@@ -0,0 +1,101 @@
+package travelbookingapp;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ Ασφαλής αντικατάσταση αρχείων στιγμιότυπου.
+ Τα δεδομένα γράφονται πρώτα σε προσωρινό αρχείο στον ίδιο φάκελο, γίνεται fsync και μετά
+ ατομική μετονομασία πάνω στο κανονικό αρχείο, οπότε μια διακοπή κατά την εγγραφή αφήνει
+ πάντα ακέραιο το προηγούμενο αρχείο. Κρατούνται και οι προηγούμενες γενιές ως αντίγραφα
+ ασφαλείας (αρχείο.1, αρχείο.2, ...).
+ */
+public class AtomicFileWriter {
+
+    // Γράφει το περιεχόμενο του αρχείου σε ανοιχτό κανάλι.
+    @FunctionalInterface
+    public interface ChannelWriter {
+        void write(FileChannel channel) throws Exception;
+    }
+
+    /**
+     Αντικαθιστά ατομικά το αρχείο με το περιεχόμενο που γράφει ο writer.
+     Δεν πρέπει να καλείται ταυτόχρονα για το ίδιο αρχείο (το προσωρινό αρχείο είναι κοινό).
+     @param target Το αρχείο που θα αντικατασταθεί.
+     @param generations Πόσες προηγούμενες εκδόσεις κρατούνται ως αντίγραφα ασφαλείας (0 για καμία).
+     @param writer Γράφει το νέο περιεχόμενο.
+     @throws IOException Αν αποτύχει η εγγραφή· στην περίπτωση αυτή το αρχείο μένει ανέπαφο.
+     */
+    public static void write(Path target, int generations, ChannelWriter writer) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path directory = absolute.getParent();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write(channel);
+                channel.force(true);
+            }
+            if (generations > 0 && Files.exists(absolute)) {
+                rotateBackups(absolute, generations);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(directory);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     Επιστρέφει τη διαδρομή του αντιγράφου ασφαλείας μιας γενιάς.
+     @param target Το κανονικό αρχείο.
+     @param generation Η γενιά (1 είναι η πιο πρόσφατη).
+     @return Η διαδρομή του αντιγράφου.
+     */
+    public static Path backupPath(Path target, int generation) {
+        return target.resolveSibling(target.getFileName() + "." + generation);
+    }
+
+    /*
+     Μετακινεί κάθε γενιά μία θέση πίσω και κάνει το τρέχον αρχείο γενιά 1.
+     Η γενιά 1 δημιουργείται ως hard link (ή αντίγραφο), ώστε το κανονικό αρχείο να υπάρχει
+     συνεχώς μέχρι τη στιγμή της ατομικής αντικατάστασης.
+     */
+    private static void rotateBackups(Path target, int generations) throws IOException {
+        Files.deleteIfExists(backupPath(target, generations));
+        for (int i = generations - 1; i >= 1; i--) {
+            Path from = backupPath(target, i);
+            if (Files.exists(from)) {
+                Files.move(from, backupPath(target, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path first = backupPath(target, 1);
+        try {
+            Files.createLink(first, target);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target, first, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Κάνει fsync τον φάκελο ώστε να διατηρηθεί η μετονομασία· σε συστήματα που δεν το υποστηρίζουν αγνοείται.
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // π.χ. Windows: οι φάκελοι δεν ανοίγουν ως κανάλια
+        }
+    }
+}
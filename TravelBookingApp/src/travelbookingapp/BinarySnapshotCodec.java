@@ -0,0 +1,363 @@
+package travelbookingapp;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ Συμπαγής δυαδική μορφή στιγμιότυπου για μεγάλες εγκαταστάσεις, εναλλακτική του XML.
+ Οι ημερομηνίες αποθηκεύονται ως epoch-day, οι κωδικοί και οι αριθμοί ως varint και
+ όλες οι συμβολοσειρές μία φορά σε πίνακα συμβολοσειρών. Η εγγραφή και η ανάγνωση γίνονται μέσω FileChannel·
+ η ανάγνωση φέρνει όλο το αρχείο σε buffer του heap (όχι memory mapping, που κρατά το αρχείο ανοιχτό
+ μέχρι να συλλεχθεί ο buffer και στα Windows εμποδίζει την αντικατάστασή του από το AtomicFileWriter).
+
+ Διάταξη (έκδοση 1):
+   magic "TBS1", έκδοση (byte), journalSequence, nextId,
+   πίνακας συμβολοσειρών, πελάτες, δρομολόγια, κρατήσεις.
+ Στις αναφορές συμβολοσειρών το 0 σημαίνει null και το i+1 τη θέση i του πίνακα.
+ */
+public class BinarySnapshotCodec {
+    private static final int MAGIC = 0x54425331; // "TBS1"
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     Γράφει τα δεδομένα σε δυαδικό αρχείο.
+     @param data Τα δεδομένα.
+     @param file Το αρχείο προορισμού (αντικαθίσταται).
+     @throws IOException Αν αποτύχει η εγγραφή.
+     */
+    public static void write(TravelData data, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(data, channel);
+        }
+    }
+
+    /**
+     Γράφει τα δεδομένα σε δυαδική μορφή σε ένα ανοιχτό κανάλι.
+     @param data Τα δεδομένα.
+     @param channel Το κανάλι εγγραφής (δεν κλείνει).
+     @throws IOException Αν αποτύχει η εγγραφή.
+     */
+    public static void write(TravelData data, FileChannel channel) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Customer customer : data.getCustomers()) {
+            intern(strings, customer.getName());
+            intern(strings, customer.getEmail());
+            intern(strings, customer.getPhone());
+        }
+        for (Itinerary itinerary : data.getItineraries()) {
+            intern(strings, itinerary.getDestination());
+            intern(strings, itinerary.getTransportType());
+        }
+
+        Output out = new Output(channel);
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putVarLong(data.getJournalSequence());
+        out.putVarInt(data.getNextId());
+
+        out.putVarInt(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.putVarInt(bytes.length);
+            out.put(bytes);
+        }
+
+        out.putVarInt(data.getCustomers().size());
+        for (Customer customer : data.getCustomers()) {
+            out.putVarInt(customer.getId());
+            out.putVarInt(ref(strings, customer.getName()));
+            out.putVarInt(ref(strings, customer.getEmail()));
+            out.putVarInt(ref(strings, customer.getPhone()));
+        }
+
+        out.putVarInt(data.getItineraries().size());
+        for (Itinerary itinerary : data.getItineraries()) {
+            out.putVarInt(itinerary.getId());
+            out.putVarInt(ref(strings, itinerary.getDestination()));
+            out.putSignedVarLong(itinerary.getDate().toEpochDay());
+            out.putVarInt(itinerary.getAvailableSeats());
+            out.putDouble(itinerary.getCost());
+            out.putVarInt(ref(strings, itinerary.getTransportType()));
+        }
+
+        out.putVarInt(data.getBookings().size());
+        for (Booking booking : data.getBookings()) {
+            out.putVarInt(booking.getId());
+            out.putVarInt(booking.getCustomer().getId());
+            out.putVarInt(booking.getItinerary().getId());
+            out.putSignedVarLong(booking.getBookingDate().toEpochDay());
+            out.put((byte) (booking.isCancelled() ? 1 : 0));
+        }
+        out.flush();
+    }
+
+    /**
+     Διαβάζει δυαδικό στιγμιότυπο. Το αρχείο διαβάζεται ολόκληρο και κλείνει πριν από την αποκωδικοποίηση.
+     @param file Το δυαδικό αρχείο.
+     @return Τα δεδομένα που διαβάστηκαν.
+     @throws IOException Αν το αρχείο δεν διαβάζεται ή δεν είναι έγκυρο στιγμιότυπο.
+     */
+    public static TravelData read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Το δυαδικό στιγμιότυπο είναι πολύ μεγάλο: " + file + " (" + size + " bytes)");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Το δυαδικό στιγμιότυπο άλλαξε κατά την ανάγνωση: " + file);
+                }
+            }
+            buffer.flip();
+        }
+        try {
+            return read(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            // Κατεστραμμένο αρχείο: π.χ. αναφορά εκτός του πίνακα συμβολοσειρών ή ημερομηνία εκτός ορίων.
+            throw new IOException("Μη έγκυρο δυαδικό στιγμιότυπο: " + file, e);
+        }
+    }
+
+    private static TravelData read(ByteBuffer in) throws IOException {
+        if (in.remaining() < 5 || in.getInt() != MAGIC) {
+            throw new IOException("Το αρχείο δεν είναι δυαδικό στιγμιότυπο.");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IOException("Μη υποστηριζόμενη έκδοση δυαδικού στιγμιότυπου: " + version);
+        }
+        TravelData data = new TravelData();
+        data.setJournalSequence(getVarLong(in));
+        data.setNextId(getVarInt(in));
+
+        String[] strings = new String[length(in)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[length(in)];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int customerCount = length(in);
+        Map<Integer, Customer> customers = new HashMap<>(customerCount * 2);
+        List<Customer> customerList = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            int id = getVarInt(in);
+            Customer customer = new Customer(string(strings, in), string(strings, in), string(strings, in));
+            customer.setId(id);
+            customerList.add(customer);
+            customers.put(id, customer);
+        }
+
+        int itineraryCount = length(in);
+        Map<Integer, Itinerary> itineraries = new HashMap<>(itineraryCount * 2);
+        List<Itinerary> itineraryList = new ArrayList<>(itineraryCount);
+        for (int i = 0; i < itineraryCount; i++) {
+            int id = getVarInt(in);
+            String destination = string(strings, in);
+            LocalDate date = LocalDate.ofEpochDay(getSignedVarLong(in));
+            int seats = getVarInt(in);
+            double cost = in.getDouble();
+            Itinerary itinerary = new Itinerary(destination, date, seats, cost, string(strings, in));
+            itinerary.setId(id);
+            itineraryList.add(itinerary);
+            itineraries.put(id, itinerary);
+        }
+
+        int bookingCount = length(in);
+        List<Booking> bookingList = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            int id = getVarInt(in);
+            Customer customer = customers.get(getVarInt(in));
+            Itinerary itinerary = itineraries.get(getVarInt(in));
+            LocalDate bookingDate = LocalDate.ofEpochDay(getSignedVarLong(in));
+            boolean cancelled = in.get() != 0;
+            if (customer == null || itinerary == null) {
+                throw new IOException("Η κράτηση b" + id + " αναφέρεται σε πελάτη ή δρομολόγιο που δεν υπάρχει στο αρχείο.");
+            }
+            Booking booking = new Booking(customer, itinerary, bookingDate);
+            booking.setId(id);
+            booking.setCancelled(cancelled);
+            bookingList.add(booking);
+        }
+
+        customerList.forEach(data::addCustomer);
+        itineraryList.forEach(data::addItinerary);
+        bookingList.forEach(data::addBooking);
+        return data;
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null && !strings.containsKey(value)) {
+            strings.put(value, strings.size());
+        }
+    }
+
+    private static int ref(Map<String, Integer> strings, String value) {
+        return value == null ? 0 : strings.get(value) + 1;
+    }
+
+    private static String string(String[] strings, ByteBuffer in) {
+        int ref = getVarInt(in);
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    // Διαβάζει ένα πλήθος ή μήκος, που δεν μπορεί να ξεπερνά τα bytes που απομένουν (ώστε ένα κατεστραμμένο
+    // αρχείο να μην προκαλεί δέσμευση τεράστιου πίνακα).
+    private static int length(ByteBuffer in) {
+        int length = getVarInt(in);
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("Μήκος εκτός ορίων: " + length);
+        }
+        return length;
+    }
+
+    private static int getVarInt(ByteBuffer in) {
+        long value = getVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint εκτός ορίων: " + value);
+        }
+        return (int) value;
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Κατεστραμμένο varint.");
+    }
+
+    private static long getSignedVarLong(ByteBuffer in) {
+        long zigzag = getVarLong(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    // Buffer εγγραφής που αδειάζει στο κανάλι όταν γεμίσει.
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void putVarInt(int value) throws IOException {
+            if (value < 0) {
+                throw new IllegalArgumentException("Αρνητική τιμή σε varint: " + value);
+            }
+            putVarLong(value);
+        }
+
+        void putVarLong(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putSignedVarLong(long value) throws IOException {
+            putVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+    }
+
+    /**
+     Μετατροπή μεταξύ XML και δυαδικής μορφής από τη γραμμή εντολών.
+     Χρήση: to-binary &lt;in.xml&gt; &lt;out.bin&gt; ή to-xml &lt;in.bin&gt; &lt;out.xml&gt;
+     @param args Η κατεύθυνση μετατροπής και τα δύο αρχεία.
+     @throws Exception Αν αποτύχει η μετατροπή.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Χρήση: BinarySnapshotCodec (to-binary <in.xml> <out.bin> | to-xml <in.bin> <out.xml>)");
+            System.exit(2);
+        }
+        Path in = Paths.get(args[1]);
+        Path out = Paths.get(args[2]);
+        switch (args[0]) {
+            case "to-binary":
+                write(StreamingXmlCodec.read(in, progress -> { }), out);
+                break;
+            case "to-xml":
+                writeXml(read(in), out);
+                break;
+            default:
+                System.err.println("Άγνωστη μετατροπή: " + args[0]);
+                System.exit(2);
+        }
+    }
+
+    private static void writeXml(TravelData data, Path file) throws IOException, XMLStreamException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            StreamingXmlCodec.write(data, out, true);
+        }
+    }
+}
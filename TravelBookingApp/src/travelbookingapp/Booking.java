@@ -1,10 +1,13 @@
 package travelbookingapp;
 
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlID;
+import javax.xml.bind.annotation.XmlIDREF;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import java.time.LocalDate;
-import java.util.Objects;
 
 /**
  Αναπαριστά μια κράτηση στο σύστημα ταξιδιωτικών κρατήσεων.
@@ -13,10 +16,11 @@ import java.util.Objects;
  */
 @XmlRootElement
 public class Booking {
+    private int id;
     private Customer customer;
     private Itinerary itinerary;
     private LocalDate bookingDate;
-    private boolean cancelled;
+    private volatile boolean cancelled;
 
     /**
      Προεπιλεγμένος κατασκευαστής για JAXB. Απαιτείται για τη σωστή
@@ -41,11 +45,52 @@ public class Booking {
         this.cancelled = false;
     }
 
+    /**
+     Επιστρέφει τον μοναδικό κωδικό της κράτησης.
+     @return Ο κωδικός (0 αν δεν έχει ακόμη προστεθεί στα δεδομένα).
+     */
+    @XmlTransient
+    public int getId() {
+        return id;
+    }
+
+    /**
+     Ορίζει τον μοναδικό κωδικό της κράτησης. Συνήθως ορίζεται από το TravelData κατά την προσθήκη.
+     Ο κωδικός ορίζεται μία φορά, ώστε η ισότητα και ο κωδικός hash να μην αλλάζουν στη συνέχεια.
+     @param id Ο νέος κωδικός.
+     @throws IllegalStateException Αν η κράτηση έχει ήδη διαφορετικό κωδικό.
+     */
+    public void setId(int id) {
+        if (this.id != 0 && this.id != id) {
+            throw new IllegalStateException("Ο κωδικός της κράτησης έχει ήδη οριστεί (" + this.id + ").");
+        }
+        this.id = id;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό ως αναγνωριστικό XML, ώστε ο κωδικός να διατηρείται μεταξύ αποθηκεύσεων.
+     @return Ο κωδικός με πρόθεμα "b".
+     */
+    @XmlID
+    @XmlAttribute(name = "id")
+    public String getXmlId() {
+        return "b" + getId();
+    }
+
+    /**
+     Ορίζει τον κωδικό από το αναγνωριστικό XML (για JAXB).
+     @param xmlId Το αναγνωριστικό XML με πρόθεμα "b".
+     */
+    public void setXmlId(String xmlId) {
+        setId(Integer.parseInt(xmlId.substring(1)));
+    }
+
     /**
      Επιστρέφει τον πελάτη που σχετίζεται με την κράτηση.
      @return Ο πελάτης της κράτησης.
      */
     @XmlElement
+    @XmlIDREF
     public Customer getCustomer() {
         return customer;
     }
@@ -67,6 +112,7 @@ public class Booking {
      @return Το δρομολόγιο της κράτησης.
      */
     @XmlElement
+    @XmlIDREF
     public Itinerary getItinerary() {
         return itinerary;
     }
@@ -122,42 +168,57 @@ public class Booking {
         this.cancelled = cancelled;
     }
 
+    /**
+     Ακυρώνει ατομικά την κράτηση. Αν δύο νήματα την ακυρώσουν ταυτόχρονα, μόνο το ένα πετυχαίνει,
+     ώστε η θέση να επιστραφεί μία μόνο φορά.
+     @return true αν η κράτηση ακυρώθηκε τώρα, false αν ήταν ήδη ακυρωμένη.
+     */
+    public synchronized boolean cancel() {
+        if (cancelled) {
+            return false;
+        }
+        cancelled = true;
+        return true;
+    }
+
     /**
      Επιστρέφει μια συμβολοσειρά που αναπαριστά την κράτηση.
      @return Μια μορφοποιημένη συμβολοσειρά με τα στοιχεία της κράτησης.
      */
     @Override
     public String toString() {
-        String status = cancelled ? " (Ακυρωμένη)" : "";
+        String status = isCancelled() ? " (Ακυρωμένη)" : "";
         return String.format("%s -> %s (%s)%s",
-                customer.getName(),
-                itinerary.getDestination(),
-                bookingDate,
+                getCustomer().getName(),
+                getItinerary().getDestination(),
+                getBookingDate(),
                 status);
     }
 
     /**
-     Ελέγχει αν δύο κρατήσεις είναι ίδιες με βάση τα στοιχεία τους.
+     Ελέγχει αν δύο κρατήσεις είναι ίδιες με βάση τον κωδικό τους, που διατηρείται και μετά από επαναφόρτωση.
+     Κρατήσεις χωρίς κωδικό (0) είναι ίσες μόνο με τον εαυτό τους. Μια όψη του BookingStore είναι ίση με
+     κάθε άλλη όψη ή κράτηση με τον ίδιο κωδικό. Η ακύρωση δεν επηρεάζει την ισότητα.
      @param o Το αντικείμενο προς σύγκριση.
      @return true αν οι κρατήσεις είναι ίδιες, false αλλιώς.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Booking)) return false;
         Booking booking = (Booking) o;
-        return cancelled == booking.cancelled &&
-                Objects.equals(customer, booking.customer) &&
-                Objects.equals(itinerary, booking.itinerary) &&
-                Objects.equals(bookingDate, booking.bookingDate);
+        return getId() != 0 && getId() == booking.getId();
     }
 
     /**
-     Επιστρέφει τον κωδικό hash της κράτησης.
+     Επιστρέφει τον κωδικό hash της κράτησης, που είναι ο κωδικός της και δεν αλλάζει αφού οριστεί.
+     Κράτηση χωρίς κωδικό (που δεν έχει προστεθεί ακόμη στο TravelData) έχει τον κωδικό hash της ταυτότητάς της,
+     συνεπή με την ισότητα, ο οποίος αλλάζει όταν της δοθεί κωδικός· για αυτό μια νέα κράτηση δεν πρέπει να
+     βρίσκεται σε HashSet/HashMap τη στιγμή που προστίθεται στο TravelData.
      @return Ο κωδικός hash.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(customer, itinerary, bookingDate, cancelled);
+        return getId() != 0 ? Integer.hashCode(getId()) : System.identityHashCode(this);
     }
 }
\ No newline at end of file
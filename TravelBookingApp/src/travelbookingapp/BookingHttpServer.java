@@ -0,0 +1,456 @@
+package travelbookingapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Ενσωματωμένος HTTP server για αναζήτηση δρομολογίων, κρατήσεις, ακυρώσεις και ιστορικό πελάτη,
+ πάνω στο ίδιο TravelData που χρησιμοποιεί το UI. Οι ενέργειες γίνονται μέσω των υπηρεσιών
+ (BookingService κ.λπ.), οπότε ισχύουν οι ίδιοι έλεγχοι και η ίδια αποθήκευση στο ημερολόγιο.
+
+ Κάθε αίτημα εκτελείται σε δικό του virtual thread όταν το JDK τα υποστηρίζει (Java 21+)·
+ σε παλαιότερα JDK χρησιμοποιείται σταθερή δεξαμενή νημάτων.
+
+ Από προεπιλογή ακούει μόνο στη διεύθυνση loopback· για πρόσβαση από άλλους υπολογιστές πρέπει να οριστεί
+ ρητά η διεύθυνση με -Dtravelbooking.http.host=... (π.χ. 0.0.0.0). Δεν υπάρχει πιστοποίηση χρηστών.
+ Τα σώματα αιτημάτων πάνω από 64 KB απορρίπτονται (413) και τα απρόβλεπτα σφάλματα επιστρέφουν 500.
+
+ Endpoints (οι απαντήσεις είναι JSON, οι παράμετροι query string ή form-urlencoded):
+ GET  /api/itineraries?destination=...&amp;from=YYYY-MM-DD&amp;to=YYYY-MM-DD&amp;after=YYYY-MM-DD:id&amp;limit=100
+                                        κατά ημερομηνία και κωδικό, έως 1000 ανά σελίδα· αν υπάρχουν κι άλλα,
+                                        η κεφαλίδα X-Next-After δίνει την τιμή του after για την επόμενη σελίδα
+ POST /api/bookings                     customerId, itineraryId
+ POST /api/bookings/batch               legs=customerId:itineraryId:seats,... (όλες ή καμία)
+ POST /api/bookings/{id}/cancel
+ GET  /api/customers/{id}/bookings
+ */
+public class BookingHttpServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final int FALLBACK_THREADS = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TravelData travelData;
+    private final BookingService bookingService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     Δημιουργεί τον server (χωρίς να τον ξεκινά), στη διεύθυνση loopback ή σε αυτή που ορίζει
+     το travelbooking.http.host.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     @param port Η θύρα (0 για τυχαία ελεύθερη θύρα).
+     @throws IOException Αν δεν είναι δυνατή η δέσμευση της θύρας.
+     */
+    public BookingHttpServer(TravelData travelData, int port) throws IOException {
+        this(travelData, bindAddress(port));
+    }
+
+    /**
+     Δημιουργεί τον server (χωρίς να τον ξεκινά) σε συγκεκριμένη διεύθυνση.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     @param address Η διεύθυνση και η θύρα.
+     @throws IOException Αν δεν είναι δυνατή η δέσμευση της θύρας.
+     */
+    public BookingHttpServer(TravelData travelData, InetSocketAddress address) throws IOException {
+        this.travelData = travelData;
+        this.bookingService = new BookingService(travelData);
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/itineraries", this::handleItineraries);
+        server.createContext("/api/bookings", this::handleBookings);
+        server.createContext("/api/customers", this::handleCustomers);
+    }
+
+    /**
+     Ξεκινά την εξυπηρέτηση αιτημάτων.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     Σταματά τον server, περιμένοντας έως ένα δευτερόλεπτο για τα αιτήματα σε εξέλιξη.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     Επιστρέφει τη θύρα στην οποία ακούει ο server.
+     @return Η θύρα.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Loopback, εκτός αν έχει οριστεί ρητά άλλη διεύθυνση.
+    private static InetSocketAddress bindAddress(int port) {
+        String host = System.getProperty("travelbooking.http.host");
+        return host == null || host.trim().isEmpty()
+                ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                : new InetSocketAddress(host.trim(), port);
+    }
+
+    // Virtual thread ανά αίτημα αν υπάρχει (Java 21+), αλλιώς σταθερή δεξαμενή νημάτων.
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "http-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // GET /api/itineraries
+    private void handleItineraries(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Μη υποστηριζόμενη μέθοδος.");
+                return;
+            }
+            Map<String, String> params = parseParams(exchange.getRequestURI().getRawQuery());
+            String destination = params.get("destination");
+            LocalDate from = params.containsKey("from") ? LocalDate.parse(params.get("from")) : LocalDate.MIN;
+            LocalDate to = params.containsKey("to") ? LocalDate.parse(params.get("to")) : LocalDate.MAX;
+            int limit = params.containsKey("limit") ? parseId(params.get("limit")) : DEFAULT_PAGE_SIZE;
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                sendError(exchange, 400, "Το limit πρέπει να είναι από 1 έως " + MAX_PAGE_SIZE + ".");
+                return;
+            }
+            if (params.containsKey("offset")) {
+                sendError(exchange, 400, "Η σελιδοποίηση γίνεται με την παράμετρο after (κεφαλίδα X-Next-After), όχι με offset.");
+                return;
+            }
+            // Η θέση μετά την οποία συνεχίζει η σελίδα: ημερομηνία και κωδικός του τελευταίου δρομολογίου.
+            LocalDate afterDate = null;
+            int afterId = 0;
+            String after = params.get("after");
+            if (after != null) {
+                int separator = after.lastIndexOf(':');
+                if (separator < 0) {
+                    sendError(exchange, 400, "Το after πρέπει να έχει τη μορφή YYYY-MM-DD:κωδικός.");
+                    return;
+                }
+                afterDate = LocalDate.parse(after.substring(0, separator));
+                afterId = parseId(after.substring(separator + 1));
+            }
+            // Ένα παραπάνω, για να φανεί αν υπάρχει επόμενη σελίδα.
+            List<Itinerary> result;
+            synchronized (travelData) {
+                result = travelData.getItinerariesAfter(destination, from, to, afterDate, afterId, limit + 1);
+            }
+            boolean more = result.size() > limit;
+            List<Itinerary> page = more ? result.subList(0, limit) : result;
+            StringBuilder json = new StringBuilder("[");
+            for (Itinerary itinerary : page) {
+                appendItinerary(json.length() > 1 ? json.append(',') : json, itinerary);
+            }
+            if (more) {
+                Itinerary last = page.get(page.size() - 1);
+                exchange.getResponseHeaders().set("X-Next-After", last.getDate() + ":" + last.getId());
+            }
+            send(exchange, 200, json.append(']').toString());
+        } catch (DateTimeParseException e) {
+            sendError(exchange, 400, "Μη έγκυρη ημερομηνία: " + e.getParsedString());
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Μη έγκυρος αριθμός.");
+        } catch (RuntimeException e) {
+            sendInternalError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // POST /api/bookings, POST /api/bookings/batch και POST /api/bookings/{id}/cancel
+    private void handleBookings(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Μη υποστηριζόμενη μέθοδος.");
+                return;
+            }
+            String[] path = pathSegments(exchange);
+            ServiceResult<Booking> result;
+            int status;
+            if (path.length == 2) {
+                Map<String, String> params = parseParams(readBody(exchange));
+                params.putAll(parseParams(exchange.getRequestURI().getRawQuery()));
+                result = bookingService.book(parseId(params.get("customerId")), parseId(params.get("itineraryId")));
+                status = 201;
+            } else if (path.length == 3 && "batch".equals(path[2])) {
+                Map<String, String> params = parseParams(readBody(exchange));
+                params.putAll(parseParams(exchange.getRequestURI().getRawQuery()));
+                ServiceResult<List<Booking>> batch = bookingService.bookAll(parseLegs(params.get("legs")));
+                if (!batch.isSuccess()) {
+                    sendError(exchange, statusFor(batch.getReason()), batch.getError());
+                    return;
+                }
+                StringBuilder json = new StringBuilder("[");
+                for (Booking booking : batch.getValue()) {
+                    appendBooking(json.length() > 1 ? json.append(',') : json, booking);
+                }
+                send(exchange, 201, json.append(']').toString());
+                return;
+            } else if (path.length == 4 && "cancel".equals(path[3])) {
+                result = bookingService.cancel(parseId(path[2]));
+                status = 200;
+            } else {
+                sendError(exchange, 404, "Άγνωστη διαδρομή.");
+                return;
+            }
+            if (!result.isSuccess()) {
+                sendError(exchange, statusFor(result.getReason()), result.getError());
+                return;
+            }
+            send(exchange, status, appendBooking(new StringBuilder(), result.getValue()).toString());
+        } catch (BodyTooLargeException e) {
+            sendError(exchange, 413, "Το σώμα του αιτήματος υπερβαίνει τα " + MAX_BODY_BYTES + " bytes.");
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Μη έγκυρος κωδικός.");
+        } catch (RuntimeException e) {
+            sendInternalError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // GET /api/customers/{id}/bookings
+    private void handleCustomers(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = pathSegments(exchange);
+            if (!"GET".equals(exchange.getRequestMethod()) || path.length != 4 || !"bookings".equals(path[3])) {
+                sendError(exchange, 404, "Άγνωστη διαδρομή.");
+                return;
+            }
+            List<Booking> history;
+            synchronized (travelData) {
+                Customer customer = travelData.findCustomer(parseId(path[2]));
+                if (customer == null) {
+                    sendError(exchange, 404, "Ο πελάτης δεν βρέθηκε.");
+                    return;
+                }
+                history = new ArrayList<>(travelData.getBookingsFor(customer));
+            }
+            StringBuilder json = new StringBuilder("[");
+            for (Booking booking : history) {
+                appendBooking(json.length() > 1 ? json.append(',') : json, booking);
+            }
+            send(exchange, 200, json.append(']').toString());
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Μη έγκυρος κωδικός.");
+        } catch (RuntimeException e) {
+            sendInternalError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static int statusFor(ServiceResult.Reason reason) {
+        switch (reason) {
+            case NOT_FOUND:
+                return 404;
+            case CONFLICT:
+                return 409;
+            default:
+                return 400;
+        }
+    }
+
+    private static StringBuilder appendItinerary(StringBuilder json, Itinerary itinerary) {
+        json.append("{\"id\":").append(itinerary.getId());
+        json.append(",\"destination\":");
+        appendString(json, itinerary.getDestination());
+        json.append(",\"date\":\"").append(itinerary.getDate()).append('"');
+        json.append(",\"availableSeats\":").append(itinerary.getAvailableSeats());
+        json.append(",\"cost\":").append(itinerary.getCost());
+        json.append(",\"transportType\":");
+        appendString(json, itinerary.getTransportType());
+        return json.append('}');
+    }
+
+    private static StringBuilder appendBooking(StringBuilder json, Booking booking) {
+        json.append("{\"id\":").append(booking.getId());
+        json.append(",\"customerId\":").append(booking.getCustomer().getId());
+        json.append(",\"itinerary\":");
+        appendItinerary(json, booking.getItinerary());
+        json.append(",\"bookingDate\":\"").append(booking.getBookingDate()).append('"');
+        json.append(",\"cancelled\":").append(booking.isCancelled());
+        return json.append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        send(exchange, status, json.append('}').toString());
+    }
+
+    // Απρόβλεπτο σφάλμα: καταγράφεται και επιστρέφεται 500, χωρίς λεπτομέρειες προς τον πελάτη.
+    private static void sendInternalError(HttpExchange exchange, RuntimeException e) throws IOException {
+        System.err.println("Σφάλμα κατά την εξυπηρέτηση του " + exchange.getRequestMethod() + " "
+                + exchange.getRequestURI() + ": " + e);
+        e.printStackTrace();
+        sendError(exchange, 500, "Εσωτερικό σφάλμα.");
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String[] pathSegments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return (path.startsWith("/") ? path.substring(1) : path).split("/");
+    }
+
+    private static int parseId(String value) {
+        if (value == null) {
+            throw new NumberFormatException("null");
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    // Αναλύει τα σκέλη ομαδικής κράτησης της μορφής customerId:itineraryId:seats,...
+    private static List<BookingService.Request> parseLegs(String legs) {
+        if (legs == null || legs.trim().isEmpty()) {
+            throw new NumberFormatException("legs");
+        }
+        List<BookingService.Request> requests = new ArrayList<>();
+        for (String leg : legs.split(",")) {
+            String[] parts = leg.split(":");
+            if (parts.length != 3) {
+                throw new NumberFormatException(leg);
+            }
+            requests.add(new BookingService.Request(parseId(parts[0]), parseId(parts[1]), parseId(parts[2])));
+        }
+        return requests;
+    }
+
+    // Διαβάζει το σώμα του αιτήματος, έως MAX_BODY_BYTES.
+    private static String readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > MAX_BODY_BYTES) {
+                    throw new BodyTooLargeException();
+                }
+            } catch (NumberFormatException e) {
+                // Το μήκος ελέγχεται και κατά την ανάγνωση.
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        try (InputStream in = exchange.getRequestBody()) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                if (body.size() + n > MAX_BODY_BYTES) {
+                    throw new BodyTooLargeException();
+                }
+                body.write(buffer, 0, n);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // Σώμα αιτήματος μεγαλύτερο από MAX_BODY_BYTES (απάντηση 413).
+    private static class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException() {
+            super("Το σώμα του αιτήματος είναι πολύ μεγάλο.");
+        }
+    }
+
+    // Αναλύει παραμέτρους της μορφής a=1&b=2 (query string ή σώμα form-urlencoded).
+    private static Map<String, String> parseParams(String raw) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    /**
+     Εκκινεί τον server χωρίς γραφικό περιβάλλον, φορτώνοντας τα δεδομένα από το travel_data.xml.
+     Η θύρα δίνεται ως όρισμα (προεπιλογή 8080)· η διεύθυνση είναι loopback, εκτός αν οριστεί το
+     travelbooking.http.host. Με τον τερματισμό της διεργασίας γράφονται οι
+     εκκρεμείς αλλαγές και πλήρες στιγμιότυπο.
+     @param args Προαιρετικά η θύρα.
+     @throws Exception Αν αποτύχει η φόρτωση ή η εκκίνηση.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        TravelData data = DataManager.loadData();
+        DataManager.archivePastDepartures(data);
+        BookingHttpServer server = new BookingHttpServer(data, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                DataManager.flushAndSave(data);
+            } catch (JAXBException e) {
+                System.err.println("Σφάλμα κατά την αποθήκευση δεδομένων: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("HTTP server σε λειτουργία στη διεύθυνση " + server.server.getAddress());
+    }
+}
@@ -0,0 +1,99 @@
+package travelbookingapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Γεννήτρια φορτίου για τον BookingHttpServer, για τοπικές δοκιμές.
+ Στέλνει αιτήματα κράτησης από πολλά ταυτόχρονα νήματα και εμφανίζει ρυθμό, καθυστερήσεις
+ (p50/p99/max) και πλήθος απαντήσεων ανά κωδικό HTTP. Οι απαντήσεις 409 (δεν υπάρχουν θέσεις)
+ είναι αναμενόμενες όταν εξαντληθεί το δρομολόγιο.
+
+ Χρήση: BookingLoadGenerator baseUrl customerId itineraryId [ταυτόχρονα=64] [αιτήματα=10000]
+ π.χ. BookingLoadGenerator http://localhost:8080 1 2 200 50000
+ */
+public class BookingLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Χρήση: BookingLoadGenerator baseUrl customerId itineraryId [ταυτόχρονα] [αιτήματα]");
+            System.exit(2);
+        }
+        URL url = new URL(args[0].replaceAll("/+$", "") + "/api/bookings");
+        byte[] body = ("customerId=" + args[1] + "&itineraryId=" + args[2]).getBytes(StandardCharsets.UTF_8);
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        int requests = args.length > 4 ? Integer.parseInt(args[4]) : 10000;
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        Map<Integer, AtomicInteger> statuses = new TreeMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int t = 0; t < concurrency; t++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    long begin = System.nanoTime();
+                    int status = post(url, body);
+                    latencies[i] = System.nanoTime() - begin;
+                    synchronized (statuses) {
+                        statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("Αιτήματα: %d, ταυτόχρονα: %d, χρόνος: %.2f s, ρυθμός: %.0f αιτήματα/s%n",
+                requests, concurrency, seconds, requests / seconds);
+        System.out.printf("Καθυστέρηση: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[requests - 1] / 1e6);
+        System.out.println("Απαντήσεις ανά κωδικό: " + statuses);
+    }
+
+    // Επιστρέφει τον κωδικό HTTP ή -1 σε σφάλμα σύνδεσης.
+    private static int post(URL url, byte[] body) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            connection.setFixedLengthStreamingMode(body.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            int status = connection.getResponseCode();
+            // Η απάντηση διαβάζεται ολόκληρη ώστε η σύνδεση να επαναχρησιμοποιηθεί (keep-alive).
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    byte[] buffer = new byte[1024];
+                    while (in.read(buffer) > 0) {
+                        // απόρριψη
+                    }
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.round(fraction * (sorted.length - 1)));
+        return sorted[index] / 1e6;
+    }
+}
@@ -1,28 +1,31 @@
 package travelbookingapp;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import java.time.LocalDate;
-import javax.xml.bind.JAXBException;
+import java.util.Collections;
+import java.util.List;
 
 // Διαχειρίζεται το UI για τη δημιουργία και ακύρωση κρατήσεων.
 public class BookingManager {
     private final TravelData travelData;
+    private final BookingService bookingService;
     private final StackPane pane;
-    private final ComboBox<Customer> customerCombo;
-    private final ComboBox<Itinerary> itineraryCombo;
+    private final SearchablePicker<Customer> customerPicker;
+    private final SearchablePicker<Itinerary> itineraryPicker;
+    private final Spinner<Integer> seatsSpinner;
     private final ListView<Booking> bookingListView;
 
     /**
      Κατασκευαστής που αρχικοποιεί το UI για τη διαχείριση κρατήσεων.
-     @param travelData Τα δεδομένα της εφαρμογής που περιέχουν πελάτες, δρομολόγια και κρατήσεις.
+     @param model Το κοινό μοντέλο της εφαρμογής που περιέχει πελάτες, δρομολόγια και κρατήσεις.
      */
-    public BookingManager(TravelData travelData) {
-        this.travelData = travelData;
+    public BookingManager(TravelModel model) {
+        this.travelData = model.getTravelData();
+        this.bookingService = new BookingService(travelData);
 
         // Δημιουργία GridPane για τη διάταξη των στοιχείων UI
         GridPane gridPane = new GridPane();
@@ -30,48 +33,51 @@ public class BookingManager {
         gridPane.setVgap(10);
         gridPane.setPadding(new Insets(10));
 
-        // Φόρτωση εικόνας φόντου
-        Image image = new Image(getClass().getResourceAsStream("/resources/travel_image.jpg"));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(800);
-        imageView.setFitHeight(600);
-        imageView.setPreserveRatio(true);
+        // Εικόνα φόντου από την κοινή, ήδη αποκωδικοποιημένη εικόνα
+        ImageView imageView = ResourceCache.createBackgroundView();
 
         // Δημιουργία ετικετών και πεδίων επιλογής
         Label customerLabel = new Label("Πελάτης:");
-        customerCombo = new ComboBox<>();
-        customerCombo.getItems().addAll(travelData.getCustomers());
-        customerCombo.setPromptText("Επιλέξτε πελάτη");
+        // Αναζήτηση μέσω ευρετηρίου αντί για φόρτωση όλων των πελατών/δρομολογίων
+        customerPicker = new SearchablePicker<>("Αναζήτηση πελάτη (όνομα, email, τηλέφωνο)", query -> {
+            synchronized (travelData) {
+                return travelData.searchCustomers(query, SearchablePicker.MAX_RESULTS);
+            }
+        });
+        customerPicker.watch(model.getCustomers());
         Label itineraryLabel = new Label("Δρομολόγιο:");
-        itineraryCombo = new ComboBox<>();
-        itineraryCombo.getItems().addAll(travelData.getItineraries());
-        itineraryCombo.setPromptText("Επιλέξτε δρομολόγιο");
+        itineraryPicker = new SearchablePicker<>("Αναζήτηση δρομολογίου (προορισμός, μέσο, ημερομηνία)", query -> {
+            synchronized (travelData) {
+                return travelData.searchItineraries(query, SearchablePicker.MAX_RESULTS);
+            }
+        });
+        itineraryPicker.watch(model.getItineraries());
+        Label seatsLabel = new Label("Θέσεις:");
+        seatsSpinner = new Spinner<>(1, 999, 1);
+        seatsSpinner.setEditable(true);
 
         // Κουμπί κράτησης
         Button bookButton = new Button("Κράτηση");
 
-        // Αρχικοποίηση της bookingListView
-        bookingListView = new ListView<>();
-        bookingListView.getItems().addAll(travelData.getBookings());
+        // Αρχικοποίηση της bookingListView, πάνω στην κοινή λίστα του μοντέλου
+        bookingListView = new ListView<>(model.getBookings());
 
         // Λογική κράτησης με έλεγχο διαθεσιμότητας
         bookButton.setOnAction(event -> {
-            Customer selectedCustomer = customerCombo.getValue();
-            Itinerary selectedItinerary = itineraryCombo.getValue();
+            Customer selectedCustomer = customerPicker.getValue();
+            Itinerary selectedItinerary = itineraryPicker.getValue();
             if (selectedCustomer == null || selectedItinerary == null) {
                 showErrorAlert("Παρακαλώ επιλέξτε πελάτη και δρομολόγιο.");
                 return;
             }
-            if (selectedItinerary.getAvailableSeats() <= 0) {
-                showErrorAlert("Δεν υπάρχουν διαθέσιμες θέσεις.");
+            // Ομαδική κράτηση: όλες οι θέσεις δεσμεύονται μαζί ή καμία
+            ServiceResult<List<Booking>> result = bookingService.bookAll(Collections.singletonList(
+                    new BookingService.Request(selectedCustomer.getId(), selectedItinerary.getId(), seatsSpinner.getValue())));
+            if (!result.isSuccess()) {
+                showErrorAlert(result.getError());
                 return;
             }
-            Booking newBooking = new Booking(selectedCustomer, selectedItinerary, LocalDate.now());
-            travelData.addBooking(newBooking);
-            selectedItinerary.setAvailableSeats(selectedItinerary.getAvailableSeats() - 1);
-            bookingListView.getItems().add(newBooking);
-            itineraryCombo.getItems().setAll(travelData.getItineraries()); // Ανανέωση δρομολογίων
-            saveData();
+            watchSave(result);
             showInfoAlert("Η κράτηση ολοκληρώθηκε επιτυχώς.");
         });
 
@@ -83,43 +89,39 @@ public class BookingManager {
                 showErrorAlert("Παρακαλώ επιλέξτε μια κράτηση για ακύρωση.");
                 return;
             }
-            if (selectedBooking.isCancelled()) {
-                showErrorAlert("Η κράτηση έχει ήδη ακυρωθεί.");
+            ServiceResult<Booking> result = bookingService.cancel(selectedBooking.getId());
+            if (!result.isSuccess()) {
+                showErrorAlert(result.getError());
                 return;
             }
-            selectedBooking.setCancelled(true);
-            Itinerary itinerary = selectedBooking.getItinerary();
-            itinerary.setAvailableSeats(itinerary.getAvailableSeats() + 1);
-            bookingListView.refresh();
-            saveData();
+            watchSave(result);
             showInfoAlert("Η κράτηση ακυρώθηκε.");
         });
 
         // Προσθήκη στοιχείων στο GridPane
         gridPane.add(customerLabel, 0, 0);
-        gridPane.add(customerCombo, 1, 0);
+        gridPane.add(customerPicker, 1, 0);
         gridPane.add(itineraryLabel, 0, 1);
-        gridPane.add(itineraryCombo, 1, 1);
-        gridPane.add(bookButton, 0, 2, 2, 1);
-        gridPane.add(bookingListView, 0, 3, 2, 1);
-        gridPane.add(cancelButton, 0, 4, 2, 1);
+        gridPane.add(itineraryPicker, 1, 1);
+        gridPane.add(seatsLabel, 0, 2);
+        gridPane.add(seatsSpinner, 1, 2);
+        gridPane.add(bookButton, 0, 3, 2, 1);
+        gridPane.add(bookingListView, 0, 4, 2, 1);
+        gridPane.add(cancelButton, 0, 5, 2, 1);
 
         // Συνδυασμός εικόνας και GridPane σε StackPane
         pane = new StackPane();
         pane.getChildren().addAll(imageView, gridPane);
     }
 
-    // Αποθηκεύει τα δεδομένα στο XML αρχείο.
-    private void saveData() {
-        try {
-            DataManager.saveData(travelData);
-        } catch (JAXBException e) {
-            System.err.println("Σφάλμα JAXB: " + e.getMessage());
-            showErrorAlert("Σφάλμα αποθήκευσης: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Γενικό σφάλμα: " + e.getMessage());
-            showErrorAlert("Απροσδιόριστο σφάλμα: " + e.getMessage());
-        }
+    // Παρακολουθεί την αποθήκευση της αλλαγής στο παρασκήνιο· τα σφάλματα εμφανίζονται στο νήμα του UI.
+    private void watchSave(ServiceResult<?> result) {
+        result.getSaved().whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Σφάλμα ημερολογίου: " + error.getMessage());
+                showErrorAlert("Σφάλμα αποθήκευσης: " + error.getMessage());
+            }
+        }, Platform::runLater);
     }
 
     /**
@@ -0,0 +1,197 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ Επιχειρησιακή λογική για τις κρατήσεις, χωρίς εξάρτηση από το UI.
+ Η δέσμευση θέσεων γίνεται ατομικά μέσω του SeatInventory, οπότε δεν γίνεται υπερκράτηση ακόμη και
+ όταν κρατήσεις υποβάλλονται ταυτόχρονα από πολλά νήματα. Γίνεται εκτός του κλειδώματος του TravelData,
+ το οποίο κρατείται μόνο για την αναζήτηση και την προσθήκη της κράτησης· αν η προσθήκη αποτύχει
+ (π.χ. το δρομολόγιο διαγράφηκε στο μεταξύ), οι θέσεις επιστρέφονται. Κάθε επιτυχής αλλαγή υποβάλλεται για
+ αποθήκευση στο ημερολόγιο.
+ */
+public class BookingService {
+    // Ανώτατο πλήθος θέσεων σε μία ομαδική κράτηση.
+    static final int MAX_BATCH_SEATS = 10000;
+
+    private final TravelData travelData;
+
+    /**
+     Ένα σκέλος ομαδικής κράτησης: πόσες θέσεις κρατά ένας πελάτης σε ένα δρομολόγιο.
+     */
+    public static final class Request {
+        private final int customerId;
+        private final int itineraryId;
+        private final int seats;
+
+        /**
+         @param customerId Ο κωδικός του πελάτη.
+         @param itineraryId Ο κωδικός του δρομολογίου.
+         @param seats Ο αριθμός θέσεων (μία κράτηση ανά θέση).
+         */
+        public Request(int customerId, int itineraryId, int seats) {
+            this.customerId = customerId;
+            this.itineraryId = itineraryId;
+            this.seats = seats;
+        }
+    }
+
+    /**
+     Κατασκευαστής της υπηρεσίας.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     */
+    public BookingService(TravelData travelData) {
+        this.travelData = travelData;
+    }
+
+    /**
+     Κάνει κράτηση μίας θέσης με σημερινή ημερομηνία.
+     @param customerId Ο κωδικός του πελάτη.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @return Η νέα κράτηση ή το σφάλμα.
+     */
+    public ServiceResult<Booking> book(int customerId, int itineraryId) {
+        return book(customerId, itineraryId, LocalDate.now());
+    }
+
+    /**
+     Κάνει κράτηση μίας θέσης.
+     @param customerId Ο κωδικός του πελάτη.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @param bookingDate Η ημερομηνία της κράτησης.
+     @return Η νέα κράτηση ή το σφάλμα.
+     */
+    public ServiceResult<Booking> book(int customerId, int itineraryId, LocalDate bookingDate) {
+        Customer customer;
+        Itinerary itinerary;
+        synchronized (travelData) {
+            customer = travelData.findCustomer(customerId);
+            itinerary = travelData.findItinerary(itineraryId);
+        }
+        if (customer == null || itinerary == null) {
+            return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Παρακαλώ επιλέξτε πελάτη και δρομολόγιο.");
+        }
+        // Η δέσμευση είναι ατομική (compare-and-set) και γίνεται εκτός του κλειδώματος.
+        Lock reserving = travelData.getSeatInventory().getReservationLock().readLock();
+        reserving.lock();
+        try {
+            if (!itinerary.tryReserveSeats(1)) {
+                return ServiceResult.failure(ServiceResult.Reason.CONFLICT, "Δεν υπάρχουν διαθέσιμες θέσεις.");
+            }
+            Booking booking = new Booking(customer, itinerary, bookingDate);
+            boolean added = false;
+            try {
+                synchronized (travelData) {
+                    if (!isCurrent(customer, itinerary)) {
+                        return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Ο πελάτης ή το δρομολόγιο διαγράφηκε.");
+                    }
+                    travelData.addBooking(booking);
+                    added = true;
+                    return ServiceResult.success(booking, DataManager.submitChange(travelData, ChangeJournal.addBooking(booking)));
+                }
+            } finally {
+                if (!added) {
+                    itinerary.releaseSeats(1);
+                }
+            }
+        } finally {
+            reserving.unlock();
+        }
+    }
+
+    /**
+     Ομαδική κράτηση σε ένα ή περισσότερα δρομολόγια, όλες ή καμία: αν κάποιο δρομολόγιο δεν έχει
+     αρκετές θέσεις δεν γίνεται καμία κράτηση. Όλες οι κρατήσεις γράφονται στο ημερολόγιο ως μία εγγραφή.
+     @param requests Τα σκέλη της κράτησης.
+     @return Οι νέες κρατήσεις ή το σφάλμα.
+     */
+    public ServiceResult<List<Booking>> bookAll(List<Request> requests) {
+        if (requests.isEmpty() || requests.stream().anyMatch(request -> request.seats <= 0)) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID, "Ο αριθμός θέσεων πρέπει να είναι θετικός.");
+        }
+        if (requests.stream().mapToLong(request -> request.seats).sum() > MAX_BATCH_SEATS) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID,
+                    "Μια ομαδική κράτηση μπορεί να έχει έως " + MAX_BATCH_SEATS + " θέσεις.");
+        }
+        LocalDate today = LocalDate.now();
+        List<Booking> bookings = new ArrayList<>();
+        Map<Integer, Integer> seats = new LinkedHashMap<>();
+        synchronized (travelData) {
+            for (Request request : requests) {
+                Customer customer = travelData.findCustomer(request.customerId);
+                Itinerary itinerary = travelData.findItinerary(request.itineraryId);
+                if (customer == null || itinerary == null) {
+                    return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Παρακαλώ επιλέξτε πελάτη και δρομολόγιο.");
+                }
+                for (int i = 0; i < request.seats; i++) {
+                    bookings.add(new Booking(customer, itinerary, today));
+                }
+                seats.merge(request.itineraryId, request.seats, Integer::sum);
+            }
+        }
+        // Οι θέσεις δεσμεύονται όλες ή καμία εκτός του κλειδώματος· το κλείδωμα χρειάζεται μόνο για την προσθήκη.
+        Lock reserving = travelData.getSeatInventory().getReservationLock().readLock();
+        reserving.lock();
+        try {
+            try {
+                if (!travelData.getSeatInventory().tryReserveAll(seats)) {
+                    return ServiceResult.failure(ServiceResult.Reason.CONFLICT, "Δεν υπάρχουν αρκετές διαθέσιμες θέσεις.");
+                }
+            } catch (IllegalArgumentException e) {
+                // Κάποιο δρομολόγιο διαγράφηκε μετά την αναζήτηση.
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Ο πελάτης ή το δρομολόγιο διαγράφηκε.");
+            }
+            boolean added = false;
+            try {
+                synchronized (travelData) {
+                    for (Booking booking : bookings) {
+                        if (!isCurrent(booking.getCustomer(), booking.getItinerary())) {
+                            return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Ο πελάτης ή το δρομολόγιο διαγράφηκε.");
+                        }
+                    }
+                    travelData.addReservedBookings(bookings);
+                    added = true;
+                    List<Booking> result = Collections.unmodifiableList(bookings);
+                    return ServiceResult.success(result, DataManager.submitChange(travelData, ChangeJournal.addBookings(bookings)));
+                }
+            } finally {
+                if (!added) {
+                    // Απευθείας στα δρομολόγια, που μπορεί να έχουν ήδη αφαιρεθεί από το SeatInventory.
+                    bookings.forEach(booking -> booking.getItinerary().releaseSeats(1));
+                }
+            }
+        } finally {
+            reserving.unlock();
+        }
+    }
+
+    // Αν ο πελάτης και το δρομολόγιο υπάρχουν ακόμη στα δεδομένα. Ο καλών κρατά το κλείδωμα.
+    private boolean isCurrent(Customer customer, Itinerary itinerary) {
+        return travelData.findCustomer(customer.getId()) == customer
+                && travelData.findItinerary(itinerary.getId()) == itinerary;
+    }
+
+    /**
+     Ακυρώνει μια κράτηση και επιστρέφει τη θέση της.
+     @param bookingId Ο κωδικός της κράτησης.
+     @return Η ακυρωμένη κράτηση ή το σφάλμα.
+     */
+    public ServiceResult<Booking> cancel(int bookingId) {
+        synchronized (travelData) {
+            Booking booking = travelData.findBooking(bookingId);
+            if (booking == null) {
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Η κράτηση δεν βρέθηκε.");
+            }
+            if (!travelData.cancelBooking(booking)) {
+                return ServiceResult.failure(ServiceResult.Reason.CONFLICT, "Η κράτηση έχει ήδη ακυρωθεί.");
+            }
+            return ServiceResult.success(booking, DataManager.submitChange(travelData, ChangeJournal.cancelBooking(booking)));
+        }
+    }
+}
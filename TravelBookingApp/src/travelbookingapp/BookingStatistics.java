@@ -0,0 +1,298 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ Συγκεντρωτικά στοιχεία κρατήσεων (έσοδα ανά προορισμό, πληρότητα ανά δρομολόγιο, ποσοστό ακυρώσεων,
+ κρατήσεις ανά ημέρα) που διατηρούνται ως τρέχοντα σύνολα. Ενημερώνονται σταδιακά από τις ειδοποιήσεις του
+ TravelData σε κάθε κράτηση, ακύρωση και αλλαγή δρομολογίου, οπότε οι ερωτήσεις δεν σαρώνουν τις κρατήσεις.
+ Τα σύνολα υπολογίζονται πλήρως μία φορά, με παράλληλα streams, όταν ζητηθούν για πρώτη φορά (TravelData.getStatistics).
+ Τα έσοδα κρατούνται σε λεπτά του ευρώ ώστε οι διαδοχικές προσθαφαιρέσεις να μη συσσωρεύουν σφάλματα στρογγυλοποίησης,
+ σε πίνακα με δείκτη τον κωδικό του προορισμού (SymbolTable.DESTINATIONS).
+ Οι κρατήσεις που μεταφέρονται στο αρχείο αφαιρούνται από τα τρέχοντα σύνολα (ειδοποίηση REMOVED) και
+ μετράνε μέσω των συνόλων του αρχείου (setArchived), οπότε τα σύνολα, τα έσοδα και οι κρατήσεις ανά ημέρα
+ καλύπτουν όλο το ιστορικό. Η πληρότητα αφορά μόνο τα ενεργά δρομολόγια.
+ Ασφαλές για ανάγνωση από οποιοδήποτε νήμα.
+ */
+public class BookingStatistics implements TravelData.Listener {
+    // Τα σύνολα ενός δρομολογίου, με τον προορισμό και το κόστος που ίσχυαν όταν υπολογίστηκαν.
+    private static final class ItineraryTotals {
+        int destination;
+        long costCents;
+        int active;
+        int cancelled;
+
+        ItineraryTotals(Itinerary itinerary) {
+            destination = itinerary.getDestinationCode();
+            costCents = cents(itinerary.getCost());
+        }
+    }
+
+    private final Map<Integer, ItineraryTotals> byItinerary = new HashMap<>();
+    // Κωδικός προορισμού -> έσοδα σε λεπτά.
+    private long[] revenueByDestination = new long[16];
+    private final NavigableMap<LocalDate, Integer> bookingsPerDay = new TreeMap<>();
+    // Οι κρατήσεις που έχουν μετρηθεί ως ακυρωμένες (ένα bit ανά κωδικό κράτησης).
+    private final BitSet cancelledIds = new BitSet();
+    private long totalBookings;
+    private long cancelledBookings;
+    // Τα σύνολα των αρχειοθετημένων κρατήσεων.
+    private DataArchive.Totals archived = new DataArchive.Totals();
+
+    /**
+     Υπολογίζει τα σύνολα από την αρχή. Ο καλών πρέπει να κρατά το κλείδωμα των δεδομένων.
+     @param data Τα δεδομένα της εφαρμογής.
+     */
+    BookingStatistics(TravelData data) {
+        rebuild(data);
+    }
+
+    /**
+     Υπολογίζει ξανά όλα τα σύνολα από τα δεδομένα, με παράλληλα streams.
+     Ο καλών πρέπει να κρατά το κλείδωμα των δεδομένων.
+     @param data Τα δεδομένα της εφαρμογής.
+     */
+    public synchronized void rebuild(TravelData data) {
+        byItinerary.clear();
+        Arrays.fill(revenueByDestination, 0);
+        bookingsPerDay.clear();
+        cancelledIds.clear();
+
+        Map<Integer, Map<Boolean, Long>> counts = data.getBookings().parallelStream()
+                .collect(Collectors.groupingByConcurrent(booking -> booking.getItinerary().getId(),
+                        Collectors.partitioningBy(Booking::isCancelled, Collectors.counting())));
+        Map<LocalDate, Long> perDay = data.getBookings().parallelStream()
+                .collect(Collectors.groupingByConcurrent(Booking::getBookingDate, Collectors.counting()));
+        for (int id : data.getBookings().parallelStream().filter(Booking::isCancelled).mapToInt(Booking::getId).toArray()) {
+            cancelledIds.set(id);
+        }
+
+        totalBookings = data.getBookings().size();
+        cancelledBookings = cancelledIds.cardinality();
+        perDay.forEach((day, count) -> bookingsPerDay.put(day, count.intValue()));
+        for (Itinerary itinerary : data.getItineraries()) {
+            ItineraryTotals totals = new ItineraryTotals(itinerary);
+            Map<Boolean, Long> itineraryCounts = counts.get(itinerary.getId());
+            if (itineraryCounts != null) {
+                totals.active = itineraryCounts.get(false).intValue();
+                totals.cancelled = itineraryCounts.get(true).intValue();
+                addRevenue(totals.destination, totals.costCents * totals.active);
+            }
+            byItinerary.put(itinerary.getId(), totals);
+        }
+    }
+
+    @Override
+    public synchronized void changed(TravelData.Change change, Object entity) {
+        if (entity instanceof Booking) {
+            Booking booking = (Booking) entity;
+            switch (change) {
+                case ADDED:
+                    addBooking(booking);
+                    break;
+                case UPDATED:
+                    if (booking.isCancelled() && !cancelledIds.get(booking.getId())) {
+                        cancelBooking(booking);
+                    }
+                    break;
+                case REMOVED:
+                    removeBooking(booking);
+                    break;
+            }
+        } else if (entity instanceof Itinerary) {
+            Itinerary itinerary = (Itinerary) entity;
+            switch (change) {
+                case ADDED:
+                    totalsFor(itinerary);
+                    break;
+                case UPDATED:
+                    updateItinerary(itinerary);
+                    break;
+                case REMOVED:
+                    ItineraryTotals totals = byItinerary.remove(itinerary.getId());
+                    if (totals != null) {
+                        addRevenue(totals.destination, -totals.costCents * totals.active);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     Ορίζει τα σύνολα των αρχειοθετημένων κρατήσεων, που προστίθενται σε αυτά των ενεργών.
+     @param totals Τα σύνολα του αρχείου.
+     */
+    public synchronized void setArchived(DataArchive.Totals totals) {
+        archived = totals.copy();
+    }
+
+    /**
+     Επιστρέφει τα έσοδα (από μη ακυρωμένες κρατήσεις, και αρχειοθετημένες) ανά προορισμό.
+     @return Προορισμός -> έσοδα σε ευρώ, αλφαβητικά.
+     */
+    public synchronized Map<String, Double> getRevenueByDestination() {
+        Map<String, Long> cents = new TreeMap<>(archived.getRevenueCents());
+        for (int destination = 0; destination < revenueByDestination.length; destination++) {
+            if (revenueByDestination[destination] != 0) {
+                cents.merge(SymbolTable.DESTINATIONS.symbol(destination), revenueByDestination[destination], Long::sum);
+            }
+        }
+        Map<String, Double> result = new TreeMap<>();
+        cents.forEach((destination, amount) -> {
+            if (amount != 0) {
+                result.put(destination, amount / 100.0);
+            }
+        });
+        return result;
+    }
+
+    /**
+     Επιστρέφει τα έσοδα ενός προορισμού.
+     @param destination Ο προορισμός (ακριβής τιμή).
+     @return Τα έσοδα σε ευρώ.
+     */
+    public synchronized double getRevenue(String destination) {
+        int code = SymbolTable.DESTINATIONS.find(destination);
+        long cents = code < 0 || code >= revenueByDestination.length ? 0 : revenueByDestination[code];
+        return (cents + archived.getRevenueCents().getOrDefault(destination, 0L)) / 100.0;
+    }
+
+    /**
+     Επιστρέφει τις κρατημένες (μη ακυρωμένες) θέσεις ενός δρομολογίου.
+     @param itinerary Το δρομολόγιο.
+     @return Οι κρατημένες θέσεις.
+     */
+    public synchronized int getBookedSeats(Itinerary itinerary) {
+        ItineraryTotals totals = byItinerary.get(itinerary.getId());
+        return totals == null ? 0 : totals.active;
+    }
+
+    /**
+     Επιστρέφει την πληρότητα ενός δρομολογίου: κρατημένες θέσεις προς κρατημένες και διαθέσιμες.
+     @param itinerary Το δρομολόγιο.
+     @return Η πληρότητα από 0 έως 1.
+     */
+    public synchronized double getOccupancy(Itinerary itinerary) {
+        int booked = getBookedSeats(itinerary);
+        int capacity = booked + itinerary.getAvailableSeats();
+        return capacity == 0 ? 0 : booked / (double) capacity;
+    }
+
+    /**
+     Επιστρέφει το πλήθος όλων των κρατήσεων (και των ακυρωμένων και των αρχειοθετημένων).
+     @return Το πλήθος.
+     */
+    public synchronized long getTotalBookings() {
+        return totalBookings + archived.getBookings();
+    }
+
+    /**
+     Επιστρέφει το πλήθος των ακυρωμένων κρατήσεων.
+     @return Το πλήθος.
+     */
+    public synchronized long getCancelledBookings() {
+        return cancelledBookings + archived.getCancelled();
+    }
+
+    /**
+     Επιστρέφει το ποσοστό ακυρώσεων.
+     @return Ακυρωμένες προς όλες τις κρατήσεις, από 0 έως 1.
+     */
+    public synchronized double getCancellationRate() {
+        long total = getTotalBookings();
+        return total == 0 ? 0 : getCancelledBookings() / (double) total;
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις που έγιναν σε μια ημέρα.
+     @param day Η ημερομηνία κράτησης.
+     @return Το πλήθος.
+     */
+    public synchronized int getBookingsOn(LocalDate day) {
+        return bookingsPerDay.getOrDefault(day, 0) + archived.getBookingsPerDay().getOrDefault(day, 0);
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις ανά ημέρα σε ένα εύρος (συμπεριλαμβανομένων των άκρων).
+     @param from Η αρχή του εύρους.
+     @param to Το τέλος του εύρους.
+     @return Ημερομηνία -> πλήθος, μόνο για ημέρες με κρατήσεις.
+     */
+    public synchronized NavigableMap<LocalDate, Integer> getBookingsPerDay(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, Integer> result = new TreeMap<>(bookingsPerDay.subMap(from, true, to, true));
+        archived.getBookingsPerDay().subMap(from, true, to, true).forEach((day, count) -> result.merge(day, count, Integer::sum));
+        return result;
+    }
+
+    private void addBooking(Booking booking) {
+        ItineraryTotals totals = totalsFor(booking.getItinerary());
+        totalBookings++;
+        bookingsPerDay.merge(booking.getBookingDate(), 1, Integer::sum);
+        if (booking.isCancelled()) {
+            cancelledIds.set(booking.getId());
+            cancelledBookings++;
+            totals.cancelled++;
+        } else {
+            totals.active++;
+            addRevenue(totals.destination, totals.costCents);
+        }
+    }
+
+    private void cancelBooking(Booking booking) {
+        ItineraryTotals totals = totalsFor(booking.getItinerary());
+        cancelledIds.set(booking.getId());
+        cancelledBookings++;
+        totals.active--;
+        totals.cancelled++;
+        addRevenue(totals.destination, -totals.costCents);
+    }
+
+    private void removeBooking(Booking booking) {
+        ItineraryTotals totals = totalsFor(booking.getItinerary());
+        totalBookings--;
+        bookingsPerDay.computeIfPresent(booking.getBookingDate(), (day, count) -> count > 1 ? count - 1 : null);
+        if (cancelledIds.get(booking.getId())) {
+            cancelledIds.clear(booking.getId());
+            cancelledBookings--;
+            totals.cancelled--;
+        } else {
+            totals.active--;
+            addRevenue(totals.destination, -totals.costCents);
+        }
+    }
+
+    // Μεταφέρει τα έσοδα του δρομολογίου αν άλλαξε ο προορισμός ή το κόστος του.
+    private void updateItinerary(Itinerary itinerary) {
+        ItineraryTotals totals = totalsFor(itinerary);
+        long costCents = cents(itinerary.getCost());
+        if (totals.costCents != costCents || totals.destination != itinerary.getDestinationCode()) {
+            addRevenue(totals.destination, -totals.costCents * totals.active);
+            totals.destination = itinerary.getDestinationCode();
+            totals.costCents = costCents;
+            addRevenue(totals.destination, totals.costCents * totals.active);
+        }
+    }
+
+    private ItineraryTotals totalsFor(Itinerary itinerary) {
+        return byItinerary.computeIfAbsent(itinerary.getId(), id -> new ItineraryTotals(itinerary));
+    }
+
+    private void addRevenue(int destination, long cents) {
+        if (destination >= revenueByDestination.length) {
+            revenueByDestination = Arrays.copyOf(revenueByDestination,
+                    Math.max(destination + 1, revenueByDestination.length * 2));
+        }
+        revenueByDestination[destination] += cents;
+    }
+
+    static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,331 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ Αποθήκη κρατήσεων σε στήλες πρωτογενών τύπων, για μεγάλους όγκους κρατήσεων μόνο για ανάγνωση
+ (π.χ. τα τμήματα του αρχείου). Κάθε κράτηση είναι μια γραμμή: κωδικός, κωδικός πελάτη, κωδικός δρομολογίου
+ και ημερομηνία κράτησης (ημέρες από το 1970) σε πίνακες int που μεγαλώνουν όσο χρειάζεται, και ένα bit για
+ την ακύρωση. Έτσι μια κράτηση πιάνει 16 bytes και 1 bit, αντί για ένα αντικείμενο Booking με τις αναφορές
+ του και ένα LocalDate.
+ Για τη διεπαφή, οι γραμμές εμφανίζονται ως ελαφριές όψεις Booking (view, views) που διαβάζουν τις στήλες
+ και δημιουργούνται μόνο όταν ζητηθούν. Οι όψεις είναι μόνο για ανάγνωση.
+ Δεν είναι ασφαλής για ταυτόχρονες προσθήκες· η ανάγνωση μετά τη συμπλήρωση είναι ασφαλής από οποιοδήποτε νήμα.
+ */
+public class BookingStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] ids;
+    private int[] customerIds;
+    private int[] itineraryIds;
+    private int[] bookingDays;
+    private final BitSet cancelled = new BitSet();
+    private int size;
+
+    /**
+     Δημιουργεί μια κενή αποθήκη.
+     */
+    public BookingStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     Δημιουργεί μια κενή αποθήκη με αρχική χωρητικότητα.
+     @param capacity Το αναμενόμενο πλήθος κρατήσεων.
+     */
+    public BookingStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        customerIds = new int[capacity];
+        itineraryIds = new int[capacity];
+        bookingDays = new int[capacity];
+    }
+
+    /**
+     Προσθέτει μια κράτηση.
+     @param booking Η κράτηση (με πελάτη και δρομολόγιο που έχουν κωδικό).
+     @return Η γραμμή της κράτησης.
+     */
+    public int add(Booking booking) {
+        return add(booking.getId(), booking.getCustomer().getId(), booking.getItinerary().getId(),
+                booking.getBookingDate(), booking.isCancelled());
+    }
+
+    /**
+     Προσθέτει μια κράτηση από τα στοιχεία της.
+     @param id Ο κωδικός της κράτησης.
+     @param customerId Ο κωδικός του πελάτη.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @param bookingDate Η ημερομηνία κράτησης.
+     @param isCancelled Αν η κράτηση είναι ακυρωμένη.
+     @return Η γραμμή της κράτησης.
+     */
+    public int add(int id, int customerId, int itineraryId, LocalDate bookingDate, boolean isCancelled) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            itineraryIds = Arrays.copyOf(itineraryIds, capacity);
+            bookingDays = Arrays.copyOf(bookingDays, capacity);
+        }
+        int row = size++;
+        ids[row] = id;
+        customerIds[row] = customerId;
+        itineraryIds[row] = itineraryId;
+        bookingDays[row] = (int) bookingDate.toEpochDay();
+        cancelled.set(row, isCancelled);
+        return row;
+    }
+
+    /**
+     Αποδεσμεύει τη χωρητικότητα που περισσεύει, μετά τη συμπλήρωση της αποθήκης.
+     */
+    public void trimToSize() {
+        if (size < ids.length) {
+            ids = Arrays.copyOf(ids, size);
+            customerIds = Arrays.copyOf(customerIds, size);
+            itineraryIds = Arrays.copyOf(itineraryIds, size);
+            bookingDays = Arrays.copyOf(bookingDays, size);
+        }
+    }
+
+    /**
+     Επιστρέφει το πλήθος των κρατήσεων.
+     @return Το πλήθος.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό μιας κράτησης.
+     @param row Η γραμμή.
+     @return Ο κωδικός.
+     */
+    public int getId(int row) {
+        return ids[check(row)];
+    }
+
+    /**
+     Επιστρέφει τον κωδικό πελάτη μιας κράτησης.
+     @param row Η γραμμή.
+     @return Ο κωδικός του πελάτη.
+     */
+    public int getCustomerId(int row) {
+        return customerIds[check(row)];
+    }
+
+    /**
+     Επιστρέφει τον κωδικό δρομολογίου μιας κράτησης.
+     @param row Η γραμμή.
+     @return Ο κωδικός του δρομολογίου.
+     */
+    public int getItineraryId(int row) {
+        return itineraryIds[check(row)];
+    }
+
+    /**
+     Επιστρέφει την ημερομηνία μιας κράτησης.
+     @param row Η γραμμή.
+     @return Η ημερομηνία κράτησης.
+     */
+    public LocalDate getBookingDate(int row) {
+        return LocalDate.ofEpochDay(bookingDays[check(row)]);
+    }
+
+    /**
+     Επιστρέφει την ημερομηνία μιας κράτησης ως ημέρες από το 1970, για σαρώσεις χωρίς δημιουργία LocalDate.
+     @param row Η γραμμή.
+     @return Η ημερομηνία κράτησης (LocalDate.toEpochDay).
+     */
+    public int getBookingDay(int row) {
+        return bookingDays[check(row)];
+    }
+
+    /**
+     Επιστρέφει αν μια κράτηση είναι ακυρωμένη.
+     @param row Η γραμμή.
+     @return true αν είναι ακυρωμένη.
+     */
+    public boolean isCancelled(int row) {
+        return cancelled.get(check(row));
+    }
+
+    /**
+     Επιστρέφει το πλήθος των ακυρωμένων κρατήσεων.
+     @return Το πλήθος.
+     */
+    public int getCancelledCount() {
+        return cancelled.cardinality();
+    }
+
+    /**
+     Βρίσκει τις γραμμές ενός πελάτη, με σάρωση της στήλης των κωδικών πελατών.
+     @param customerId Ο κωδικός του πελάτη.
+     @return Οι γραμμές, σε σειρά προσθήκης.
+     */
+    public int[] rowsForCustomer(int customerId) {
+        return rowsWith(customerIds, customerId);
+    }
+
+    /**
+     Βρίσκει τις γραμμές ενός δρομολογίου, με σάρωση της στήλης των κωδικών δρομολογίων.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @return Οι γραμμές, σε σειρά προσθήκης.
+     */
+    public int[] rowsForItinerary(int itineraryId) {
+        return rowsWith(itineraryIds, itineraryId);
+    }
+
+    /**
+     Δημιουργεί μια όψη Booking για μια γραμμή. Ο πελάτης και το δρομολόγιο αναζητούνται με τον κωδικό τους
+     όταν ζητηθούν.
+     @param row Η γραμμή.
+     @param customers Επιστρέφει τον πελάτη με έναν κωδικό.
+     @param itineraries Επιστρέφει το δρομολόγιο με έναν κωδικό.
+     @return Η όψη (μόνο για ανάγνωση).
+     */
+    public Booking view(int row, IntFunction<Customer> customers, IntFunction<Itinerary> itineraries) {
+        return new View(check(row), customers, itineraries);
+    }
+
+    /**
+     Επιστρέφει μια λίστα όψεων για κάποιες γραμμές. Κάθε όψη δημιουργείται όταν ζητηθεί το στοιχείο,
+     οπότε π.χ. ένα TableView δημιουργεί όψεις μόνο για τις ορατές γραμμές.
+     @param rows Οι γραμμές.
+     @param customers Επιστρέφει τον πελάτη με έναν κωδικό.
+     @param itineraries Επιστρέφει το δρομολόγιο με έναν κωδικό.
+     @return Η λίστα (μόνο για ανάγνωση).
+     */
+    public List<Booking> views(int[] rows, IntFunction<Customer> customers, IntFunction<Itinerary> itineraries) {
+        return new ViewList(rows, customers, itineraries);
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Γραμμή " + row + ", πλήθος " + size);
+        }
+        return row;
+    }
+
+    private int[] rowsWith(int[] column, int value) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (column[row] == value) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        for (int row = 0, next = 0; next < count; row++) {
+            if (column[row] == value) {
+                rows[next++] = row;
+            }
+        }
+        return rows;
+    }
+
+    private final class ViewList extends AbstractList<Booking> implements RandomAccess {
+        private final int[] rows;
+        private final IntFunction<Customer> customers;
+        private final IntFunction<Itinerary> itineraries;
+
+        ViewList(int[] rows, IntFunction<Customer> customers, IntFunction<Itinerary> itineraries) {
+            this.rows = rows;
+            this.customers = customers;
+            this.itineraries = itineraries;
+        }
+
+        @Override
+        public Booking get(int index) {
+            return view(rows[index], customers, itineraries);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    // Όψη μιας γραμμής ως Booking· τα πεδία της Booking δεν χρησιμοποιούνται και οι αλλαγές απορρίπτονται.
+    private final class View extends Booking {
+        private final int row;
+        private final IntFunction<Customer> customers;
+        private final IntFunction<Itinerary> itineraries;
+
+        View(int row, IntFunction<Customer> customers, IntFunction<Itinerary> itineraries) {
+            this.row = row;
+            this.customers = customers;
+            this.itineraries = itineraries;
+        }
+
+        @Override
+        public int getId() {
+            return ids[row];
+        }
+
+        @Override
+        public Customer getCustomer() {
+            return customers.apply(customerIds[row]);
+        }
+
+        @Override
+        public Itinerary getItinerary() {
+            return itineraries.apply(itineraryIds[row]);
+        }
+
+        @Override
+        public LocalDate getBookingDate() {
+            return LocalDate.ofEpochDay(bookingDays[row]);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get(row);
+        }
+
+        @Override
+        public void setId(int id) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setXmlId(String xmlId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCustomer(Customer customer) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setItinerary(Itinerary itinerary) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setBookingDate(LocalDate bookingDate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCancelled(boolean isCancelled) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean cancel() {
+            throw readOnly();
+        }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Η κράτηση του αρχείου είναι μόνο για ανάγνωση.");
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package travelbookingapp;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ Μαζική εισαγωγή πελατών και δρομολογίων από αρχεία CSV ή XML.
+ Τα αρχεία διαβάζονται σειριακά σε δέσμες· κάθε δέσμη επικυρώνεται παράλληλα με τους ίδιους κανόνες
+ που εφαρμόζουν οι φόρμες, και οι διπλότυποι (μέσα στο αρχείο ή σε σχέση με τα υπάρχοντα δεδομένα)
+ παραλείπονται. Τίποτα δεν αλλάζει στα δεδομένα μέχρι το commit(), που προσθέτει όλες τις εγγραφές
+ μαζί και γράφει ένα μόνο στιγμιότυπο.
+
+ Μορφές:
+ - CSV πελατών: name,email,phone
+ - CSV δρομολογίων: destination,date(YYYY-MM-DD),availableSeats,cost,transportType
+ - XML: στοιχεία customer/itinerary όπως στο travel_data.xml (οι κρατήσεις αγνοούνται)
+ Η πρώτη γραμμή ενός CSV παραλείπεται αν είναι επικεφαλίδα. Υποστηρίζονται πεδία σε εισαγωγικά,
+ όχι όμως αλλαγές γραμμής μέσα σε πεδίο.
+
+ Διπλότυπος πελάτης: ίδιο email (χωρίς διάκριση πεζών/κεφαλαίων).
+ Διπλότυπο δρομολόγιο: ίδιος προορισμός, ημερομηνία και μεταφορικό μέσο.
+ */
+public class BulkImporter {
+    private static final int BATCH_SIZE = 8192;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final String[] CUSTOMER_FIELDS = {"name", "email", "phone"};
+    private static final String[] ITINERARY_FIELDS = {"destination", "date", "availableSeats", "cost", "transportType"};
+
+    private final TravelData travelData;
+    private final Set<String> customerKeys = new HashSet<>();
+    private final Set<String> itineraryKeys = new HashSet<>();
+    private final List<Customer> customers = new ArrayList<>();
+    private final List<Itinerary> itineraries = new ArrayList<>();
+    private final Report report = new Report();
+
+    /**
+     Αποτέλεσμα της εισαγωγής.
+     */
+    public static class Report {
+        private int added;
+        private int duplicates;
+        private int invalid;
+        private final List<String> errors = new ArrayList<>();
+
+        /** @return Πόσες εγγραφές προστέθηκαν (ή θα προστεθούν με το commit). */
+        public int getAdded() {
+            return added;
+        }
+
+        /** @return Πόσες εγγραφές παραλείφθηκαν ως διπλότυπες. */
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        /** @return Πόσες εγγραφές απορρίφθηκαν ως μη έγκυρες. */
+        public int getInvalid() {
+            return invalid;
+        }
+
+        /** @return Τα πρώτα μηνύματα σφάλματος, με αρχείο και γραμμή. */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        private void invalid(String error) {
+            invalid++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Προστέθηκαν: %d, διπλότυπα: %d, μη έγκυρα: %d", added, duplicates, invalid);
+        }
+    }
+
+    // Μία γραμμή/εγγραφή εισόδου πριν από την επικύρωση.
+    private static class Row {
+        final String source;
+        final long line;
+        final String[] fields;
+
+        Row(String source, long line, String[] fields) {
+            this.source = source;
+            this.line = line;
+            this.fields = fields;
+        }
+
+        String where() {
+            return source + ":" + line;
+        }
+    }
+
+    /**
+     Δημιουργεί έναν importer για τα δεδομένα. Οι υπάρχοντες πελάτες και δρομολόγια
+     λαμβάνονται υπόψη στον έλεγχο διπλοτύπων.
+     @param travelData Τα δεδομένα στα οποία θα γίνει η εισαγωγή.
+     */
+    public BulkImporter(TravelData travelData) {
+        this.travelData = travelData;
+        synchronized (travelData) {
+            travelData.getCustomers().forEach(c -> customerKeys.add(customerKey(c)));
+            travelData.getItineraries().forEach(i -> itineraryKeys.add(itineraryKey(i)));
+        }
+    }
+
+    /**
+     Διαβάζει πελάτες από αρχείο CSV.
+     @param file Το αρχείο.
+     @throws IOException Αν αποτύχει η ανάγνωση.
+     */
+    public void importCustomersCsv(Path file) throws IOException {
+        readCsv(file, CUSTOMER_FIELDS, this::addCustomers);
+    }
+
+    /**
+     Διαβάζει δρομολόγια από αρχείο CSV.
+     @param file Το αρχείο.
+     @throws IOException Αν αποτύχει η ανάγνωση.
+     */
+    public void importItinerariesCsv(Path file) throws IOException {
+        readCsv(file, ITINERARY_FIELDS, this::addItineraries);
+    }
+
+    /**
+     Διαβάζει πελάτες και δρομολόγια από αρχείο XML με τη μορφή του travel_data.xml.
+     @param file Το αρχείο.
+     @throws IOException Αν αποτύχει η ανάγνωση.
+     @throws XMLStreamException Αν το XML δεν είναι έγκυρο.
+     */
+    public void importXml(Path file) throws IOException, XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        String source = file.getFileName().toString();
+        List<Row> customerBatch = new ArrayList<>(BATCH_SIZE);
+        List<Row> itineraryBatch = new ArrayList<>(BATCH_SIZE);
+        Map<String, String> fields = new HashMap<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth--;
+                        continue;
+                    }
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    // Μόνο τα άμεσα παιδιά της ρίζας (το <customer> μέσα σε <booking> είναι αναφορά, όχι πελάτης)
+                    String element = reader.getLocalName();
+                    boolean customer = "customer".equals(element);
+                    if (depth != 1 || (!customer && !"itinerary".equals(element))) {
+                        depth++;
+                        continue;
+                    }
+                    long line = reader.getLocation().getLineNumber();
+                    fields.clear();
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        fields.put(name, reader.getElementText());
+                    }
+                    String[] names = customer ? CUSTOMER_FIELDS : ITINERARY_FIELDS;
+                    String[] values = new String[names.length];
+                    for (int i = 0; i < names.length; i++) {
+                        values[i] = fields.get(names[i]);
+                    }
+                    List<Row> batch = customer ? customerBatch : itineraryBatch;
+                    batch.add(new Row(source, line, values));
+                    if (batch.size() == BATCH_SIZE) {
+                        if (customer) {
+                            addCustomers(batch);
+                        } else {
+                            addItineraries(batch);
+                        }
+                        batch.clear();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        addCustomers(customerBatch);
+        addItineraries(itineraryBatch);
+    }
+
+    /**
+     Προσθέτει όλες τις έγκυρες εγγραφές στα δεδομένα, με μία ειδοποίηση για τους πελάτες και μία για τα
+     δρομολόγια, και γράφει ένα στιγμιότυπο.
+     Οι εκκρεμείς αλλαγές του ημερολογίου γράφονται πρώτα, ώστε το στιγμιότυπο να τις περιέχει.
+     @return Το αποτέλεσμα της εισαγωγής.
+     @throws JAXBException Αν αποτύχει η αποθήκευση.
+     */
+    public Report commit() throws JAXBException {
+        synchronized (travelData) {
+            travelData.addCustomers(customers);
+            travelData.addItineraries(itineraries);
+        }
+        customers.clear();
+        itineraries.clear();
+        DataManager.flushAndSave(travelData);
+        return report;
+    }
+
+    /**
+     Επιστρέφει το αποτέλεσμα μέχρι στιγμής.
+     @return Το αποτέλεσμα.
+     */
+    public Report getReport() {
+        return report;
+    }
+
+    private void addCustomers(List<Row> batch) {
+        accept(batch, BulkImporter::toCustomer, BulkImporter::customerKey, customerKeys, customers);
+    }
+
+    private void addItineraries(List<Row> batch) {
+        accept(batch, BulkImporter::toItinerary, BulkImporter::itineraryKey, itineraryKeys, itineraries);
+    }
+
+    /*
+     Επικυρώνει τη δέσμη παράλληλα (η μετατροπή επιστρέφει την οντότητα ή μήνυμα σφάλματος) και μετά
+     εφαρμόζει σειριακά, με τη σειρά του αρχείου, τον έλεγχο διπλοτύπων.
+     */
+    private <T> void accept(List<Row> batch, Function<Row, Object> convert, Function<T, String> key,
+                            Set<String> seen, List<T> accepted) {
+        List<Object> converted = batch.parallelStream().map(convert).collect(Collectors.toList());
+        for (int i = 0; i < converted.size(); i++) {
+            Object result = converted.get(i);
+            if (result instanceof String) {
+                report.invalid(batch.get(i).where() + ": " + result);
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            T entity = (T) result;
+            if (!seen.add(key.apply(entity))) {
+                report.duplicates++;
+                continue;
+            }
+            accepted.add(entity);
+            report.added++;
+        }
+    }
+
+    private static Object toCustomer(Row row) {
+        String[] f = row.fields;
+        if (f.length < 3) {
+            return "Αναμένονται 3 πεδία (name,email,phone).";
+        }
+        String error = CustomerService.validate(f[0], f[1], f[2]);
+        return error != null ? error : new Customer(f[0].trim(), f[1].trim(), f[2].trim());
+    }
+
+    private static Object toItinerary(Row row) {
+        String[] f = row.fields;
+        if (f.length < 5) {
+            return "Αναμένονται 5 πεδία (destination,date,availableSeats,cost,transportType).";
+        }
+        if (f[1] == null || f[2] == null || f[3] == null) {
+            return "Παρακαλώ συμπληρώστε όλα τα πεδία.";
+        }
+        LocalDate date;
+        int seats;
+        double cost;
+        try {
+            date = LocalDate.parse(f[1].trim());
+        } catch (DateTimeParseException e) {
+            return "Μη έγκυρη ημερομηνία: " + f[1];
+        }
+        try {
+            seats = Integer.parseInt(f[2].trim());
+            cost = Double.parseDouble(f[3].trim());
+        } catch (NumberFormatException e) {
+            return "Εισάγετε έγκυρους αριθμούς για θέσεις και κόστος.";
+        }
+        String error = ItineraryService.validate(f[0], date, seats, cost, f[4]);
+        return error != null ? error : new Itinerary(f[0].trim(), date, seats, cost, f[4].trim());
+    }
+
+    private static String customerKey(Customer customer) {
+        return customer.getEmail().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String itineraryKey(Itinerary itinerary) {
+        return itinerary.getDestination().trim().toLowerCase(Locale.ROOT) + '\u0000' + itinerary.getDate()
+                + '\u0000' + itinerary.getTransportType().trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Διαβάζει ένα CSV σε δέσμες και τις παραδίδει στον consumer.
+    private static void readCsv(Path file, String[] header, Consumer<List<Row>> consumer)
+            throws IOException {
+        String source = file.getFileName().toString();
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (number == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] fields = parseCsvLine(line);
+                if (number == 1 && fields.length > 0 && header[0].equalsIgnoreCase(fields[0].trim())) {
+                    continue;
+                }
+                batch.add(new Row(source, number, fields));
+                if (batch.size() == BATCH_SIZE) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        consumer.accept(batch);
+    }
+
+    // Χωρίζει μια γραμμή CSV σε πεδία· τα πεδία σε εισαγωγικά μπορούν να περιέχουν κόμματα και "" για εισαγωγικό.
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     Εισαγωγή από τη γραμμή εντολών στο travel_data.xml του τρέχοντος φακέλου.
+     Χρήση: BulkImporter customers αρχείο.csv | itineraries αρχείο.csv | xml αρχείο.xml  [...]
+     (μπορούν να δοθούν πολλά ζεύγη τύπου/αρχείου· όλα γράφονται μαζί στο τέλος)
+     @param args Ζεύγη τύπου και αρχείου.
+     @throws Exception Αν αποτύχει η ανάγνωση ή η αποθήκευση.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args.length % 2 != 0) {
+            System.err.println("Χρήση: BulkImporter (customers|itineraries|xml) αρχείο [(customers|itineraries|xml) αρχείο ...]");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        TravelData data = DataManager.loadData();
+        BulkImporter importer = new BulkImporter(data);
+        for (int i = 0; i < args.length; i += 2) {
+            Path file = Paths.get(args[i + 1]);
+            switch (args[i]) {
+                case "customers":
+                    importer.importCustomersCsv(file);
+                    break;
+                case "itineraries":
+                    importer.importItinerariesCsv(file);
+                    break;
+                case "xml":
+                    importer.importXml(file);
+                    break;
+                default:
+                    System.err.println("Άγνωστος τύπος: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        Report report = importer.commit();
+        System.out.println(report + String.format(" (%.2f s)", (System.nanoTime() - start) / 1e9));
+        report.getErrors().forEach(System.out::println);
+        if (report.getInvalid() > report.getErrors().size()) {
+            System.out.println("... και " + (report.getInvalid() - report.getErrors().size()) + " ακόμη σφάλματα.");
+        }
+        System.exit(0);
+    }
+}
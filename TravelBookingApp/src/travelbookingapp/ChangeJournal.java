@@ -0,0 +1,432 @@
+package travelbookingapp;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ Ημερολόγιο αλλαγών (append-only) των δεδομένων της εφαρμογής.
+ Κάθε προσθήκη, επεξεργασία, ακύρωση ή διαγραφή γράφεται ως μία μικρή εγγραφή γραμμής,
+ ώστε το κόστος αποθήκευσης να είναι ανάλογο της αλλαγής και όχι του συνόλου των δεδομένων.
+ Το fsync γίνεται ομαδικά από νήμα παρασκηνίου ανά FLUSH_INTERVAL_MS.
+ */
+public class ChangeJournal implements Closeable {
+    private static final long FLUSH_INTERVAL_MS = 200;
+
+    // Τύποι εγγραφών του ημερολογίου.
+    public enum Op {
+        ADD_CUSTOMER, EDIT_CUSTOMER, DELETE_CUSTOMER,
+        ADD_ITINERARY, EDIT_ITINERARY, DELETE_ITINERARY,
+        ADD_BOOKING, CANCEL_BOOKING, ADD_BOOKINGS
+    }
+
+    private final Path path;
+    private final ScheduledExecutorService flusher;
+    private FileChannel channel;
+    private long lastSequence;
+    private int entryCount;
+    private boolean dirty;
+
+    /**
+     Ανοίγει (ή δημιουργεί) το αρχείο ημερολογίου για προσθήκη εγγραφών.
+     @param path Η διαδρομή του αρχείου ημερολογίου.
+     @param lastSequence Ο τελευταίος αύξων αριθμός που έχει ήδη εφαρμοστεί.
+     @throws IOException Αν δεν είναι δυνατό το άνοιγμα του αρχείου.
+     */
+    public ChangeJournal(Path path, long lastSequence) throws IOException {
+        this.path = path;
+        this.lastSequence = lastSequence;
+        this.channel = openChannel(path);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Ανοίγει το αρχείο για προσθήκη, κλείνοντας τυχόν ατελή τελευταία γραμμή ώστε να μην ενωθεί με την επόμενη εγγραφή.
+    private static FileChannel openChannel(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        channel.position(size);
+        if (size > 0) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            if (last.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+            }
+        }
+        return channel;
+    }
+
+    /**
+     Προσθέτει μια εγγραφή στο τέλος του ημερολογίου.
+     Η εγγραφή γίνεται αμέσως στο αρχείο, ενώ το fsync γίνεται ομαδικά στο παρασκήνιο.
+     @param entry Η εγγραφή (τύπος και πεδία) όπως επιστρέφεται από τις μεθόδους κατασκευής.
+     @return Ο αύξων αριθμός της εγγραφής.
+     @throws IOException Αν αποτύχει η εγγραφή.
+     */
+    public synchronized long append(String[] entry) throws IOException {
+        return appendAll(Collections.singletonList(entry));
+    }
+
+    /**
+     Προσθέτει πολλές εγγραφές με μία μόνο εγγραφή στο αρχείο.
+     @param entries Οι εγγραφές, με τη σειρά που έγιναν οι αλλαγές.
+     @return Ο αύξων αριθμός της τελευταίας εγγραφής.
+     @throws IOException Αν αποτύχει η εγγραφή.
+     */
+    public synchronized long appendAll(List<String[]> entries) throws IOException {
+        long sequence = lastSequence;
+        StringBuilder lines = new StringBuilder();
+        for (String[] entry : entries) {
+            StringBuilder line = new StringBuilder().append(++sequence);
+            for (String field : entry) {
+                line.append('\t').append(escape(field));
+            }
+            String checksum = checksum(line);
+            lines.append(line).append('\t').append(checksum).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        lastSequence = sequence;
+        entryCount += entries.size();
+        dirty = true;
+        return sequence;
+    }
+
+    /**
+     Εξαναγκάζει την εγγραφή των εκκρεμών αλλαγών στον δίσκο (fsync).
+     @throws IOException Αν αποτύχει το fsync.
+     */
+    public synchronized void flush() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Σφάλμα κατά το fsync του ημερολογίου: " + e.getMessage());
+        }
+    }
+
+    /**
+     Μεταφέρει τις τρέχουσες εγγραφές σε άλλο αρχείο και ξεκινά νέο κενό ημερολόγιο.
+     Χρησιμοποιείται από τη συμπύκνωση ώστε οι νέες αλλαγές να μη χάνονται όσο αυτή τρέχει.
+     @param target Το αρχείο στο οποίο μεταφέρονται οι εγγραφές.
+     @throws IOException Αν αποτύχει η μετονομασία.
+     */
+    public synchronized void rotate(Path target) throws IOException {
+        flush();
+        channel.close();
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+        channel = openChannel(path);
+        entryCount = 0;
+    }
+
+    /**
+     Αδειάζει το ημερολόγιο, αφού οι εγγραφές του έχουν ενσωματωθεί σε στιγμιότυπο.
+     @throws IOException Αν αποτύχει η περικοπή του αρχείου.
+     */
+    public synchronized void reset() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+        entryCount = 0;
+        dirty = false;
+    }
+
+    /**
+     Επιστρέφει τον αριθμό εγγραφών από την τελευταία συμπύκνωση.
+     @return Ο αριθμός εγγραφών.
+     */
+    public synchronized int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     Επιστρέφει τον αύξοντα αριθμό της τελευταίας εγγραφής.
+     @return Ο τελευταίος αύξων αριθμός.
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flusher.shutdown();
+        flush();
+        channel.close();
+    }
+
+    /**
+     Εφαρμόζει τις εγγραφές ενός αρχείου ημερολογίου πάνω στα δεδομένα.
+     Οι εγγραφές με αύξοντα αριθμό μικρότερο ή ίσο του ήδη εφαρμοσμένου παραλείπονται.
+     Γραμμές με λάθος checksum (π.χ. ατελής εγγραφή από διακοπή ρεύματος) αγνοούνται.
+     @param path Το αρχείο ημερολογίου.
+     @param data Τα δεδομένα πάνω στα οποία εφαρμόζονται οι αλλαγές.
+     @throws IOException Αν αποτύχει η ανάγνωση.
+     */
+    public static void replay(Path path, TravelData data) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int checksumStart = line.lastIndexOf('\t');
+                if (checksumStart < 0 || !line.substring(checksumStart + 1).equals(checksum(line.substring(0, checksumStart)))) {
+                    System.err.println("Αγνοείται κατεστραμμένη εγγραφή ημερολογίου: " + line);
+                    continue;
+                }
+                String[] parts = line.substring(0, checksumStart).split("\t", -1);
+                long sequence;
+                Op op;
+                try {
+                    sequence = Long.parseLong(parts[0]);
+                    op = Op.valueOf(parts[1]);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    System.err.println("Αγνοείται κατεστραμμένη εγγραφή ημερολογίου: " + line);
+                    continue;
+                }
+                if (sequence <= data.getJournalSequence()) {
+                    continue;
+                }
+                String[] fields = new String[parts.length - 2];
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = unescape(parts[i + 2]);
+                }
+                try {
+                    apply(data, op, fields);
+                } catch (RuntimeException e) {
+                    System.err.println("Αγνοείται μη εφαρμόσιμη εγγραφή ημερολογίου: " + line);
+                    continue;
+                }
+                data.setJournalSequence(sequence);
+            }
+        }
+    }
+
+    // Εφαρμόζει μία εγγραφή στα δεδομένα, με την ίδια σημασιολογία που έχει η αντίστοιχη ενέργεια στο UI.
+    private static void apply(TravelData data, Op op, String[] f) {
+        int id = Integer.parseInt(f[0]);
+        switch (op) {
+            case ADD_CUSTOMER: {
+                Customer customer = new Customer(f[1], f[2], f[3]);
+                customer.setId(id);
+                data.addCustomer(customer);
+                break;
+            }
+            case EDIT_CUSTOMER: {
+                data.updateCustomer(require(data.findCustomer(id)), f[1], f[2], f[3]);
+                break;
+            }
+            case DELETE_CUSTOMER:
+                data.removeCustomer(require(data.findCustomer(id)));
+                break;
+            case ADD_ITINERARY: {
+                Itinerary itinerary = new Itinerary(f[1], LocalDate.parse(f[2]), Integer.parseInt(f[3]),
+                        Double.parseDouble(f[4]), f[5]);
+                itinerary.setId(id);
+                data.addItinerary(itinerary);
+                break;
+            }
+            case EDIT_ITINERARY: {
+                data.updateItinerary(require(data.findItinerary(id)), f[1], LocalDate.parse(f[2]),
+                        Integer.parseInt(f[3]), Double.parseDouble(f[4]), f[5]);
+                break;
+            }
+            case DELETE_ITINERARY:
+                data.removeItinerary(require(data.findItinerary(id)));
+                break;
+            case ADD_BOOKING: {
+                Customer customer = require(data.findCustomer(Integer.parseInt(f[1])));
+                Itinerary itinerary = require(data.findItinerary(Integer.parseInt(f[2])));
+                Booking booking = new Booking(customer, itinerary, LocalDate.parse(f[3]));
+                booking.setId(id);
+                if (!data.addBookings(Collections.singletonList(booking))) {
+                    throw new IllegalStateException("Δεν υπάρχουν διαθέσιμες θέσεις στο δρομολόγιο " + itinerary.getId() + ".");
+                }
+                break;
+            }
+            case ADD_BOOKINGS: {
+                // Τετράδες (κωδικός, πελάτης, δρομολόγιο, ημερομηνία)· εφαρμόζονται όλες ή καμία.
+                List<Booking> bookings = new ArrayList<>(f.length / 4);
+                for (int i = 0; i + 3 < f.length; i += 4) {
+                    Booking booking = new Booking(require(data.findCustomer(Integer.parseInt(f[i + 1]))),
+                            require(data.findItinerary(Integer.parseInt(f[i + 2]))), LocalDate.parse(f[i + 3]));
+                    booking.setId(Integer.parseInt(f[i]));
+                    bookings.add(booking);
+                }
+                if (!data.addBookings(bookings)) {
+                    throw new IllegalStateException("Δεν υπάρχουν αρκετές διαθέσιμες θέσεις για την ομαδική κράτηση.");
+                }
+                break;
+            }
+            case CANCEL_BOOKING: {
+                Booking booking = require(data.findBooking(id));
+                data.cancelBooking(booking);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Άγνωστος τύπος εγγραφής: " + op);
+        }
+    }
+
+    private static <T> T require(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Η εγγραφή αναφέρεται σε οντότητα που δεν υπάρχει.");
+        }
+        return entity;
+    }
+
+    /**
+     Εγγραφή προσθήκης πελάτη. Δημιουργείται αφού ο πελάτης προστεθεί στα δεδομένα και πάρει κωδικό.
+     @param customer Ο νέος πελάτης.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] addCustomer(Customer customer) {
+        return entry(Op.ADD_CUSTOMER, customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone());
+    }
+
+    /**
+     Εγγραφή επεξεργασίας πελάτη.
+     @param customer Ο πελάτης μετά την επεξεργασία.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] editCustomer(Customer customer) {
+        return entry(Op.EDIT_CUSTOMER, customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone());
+    }
+
+    /**
+     Εγγραφή διαγραφής πελάτη.
+     @param customer Ο πελάτης που διαγράφηκε.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] deleteCustomer(Customer customer) {
+        return entry(Op.DELETE_CUSTOMER, customer.getId());
+    }
+
+    /**
+     Εγγραφή προσθήκης δρομολογίου. Δημιουργείται αφού το δρομολόγιο προστεθεί στα δεδομένα και πάρει κωδικό.
+     @param itinerary Το νέο δρομολόγιο.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] addItinerary(Itinerary itinerary) {
+        return entry(Op.ADD_ITINERARY, itinerary.getId(), itinerary.getDestination(), itinerary.getDate(),
+                itinerary.getAvailableSeats(), itinerary.getCost(), itinerary.getTransportType());
+    }
+
+    /**
+     Εγγραφή επεξεργασίας δρομολογίου.
+     @param itinerary Το δρομολόγιο μετά την επεξεργασία.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] editItinerary(Itinerary itinerary) {
+        return entry(Op.EDIT_ITINERARY, itinerary.getId(), itinerary.getDestination(), itinerary.getDate(),
+                itinerary.getAvailableSeats(), itinerary.getCost(), itinerary.getTransportType());
+    }
+
+    /**
+     Εγγραφή διαγραφής δρομολογίου.
+     @param itinerary Το δρομολόγιο που διαγράφηκε.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] deleteItinerary(Itinerary itinerary) {
+        return entry(Op.DELETE_ITINERARY, itinerary.getId());
+    }
+
+    /**
+     Εγγραφή νέας κράτησης (περιλαμβάνει και τη μείωση των διαθέσιμων θέσεων).
+     @param booking Η νέα κράτηση, αφού έχει προστεθεί στα δεδομένα.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] addBooking(Booking booking) {
+        return entry(Op.ADD_BOOKING, booking.getId(), booking.getCustomer().getId(),
+                booking.getItinerary().getId(), booking.getBookingDate());
+    }
+
+    /**
+     Μία εγγραφή για ομαδική κράτηση, ώστε κατά την επαναφορά να εφαρμόζεται ολόκληρη ή καθόλου.
+     @param bookings Οι νέες κρατήσεις, αφού έχουν προστεθεί στα δεδομένα.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] addBookings(List<Booking> bookings) {
+        Object[] fields = new Object[bookings.size() * 4];
+        int i = 0;
+        for (Booking booking : bookings) {
+            fields[i++] = booking.getId();
+            fields[i++] = booking.getCustomer().getId();
+            fields[i++] = booking.getItinerary().getId();
+            fields[i++] = booking.getBookingDate();
+        }
+        return entry(Op.ADD_BOOKINGS, fields);
+    }
+
+    /**
+     Εγγραφή ακύρωσης κράτησης (περιλαμβάνει και την επιστροφή της θέσης).
+     @param booking Η κράτηση που ακυρώθηκε.
+     @return Η εγγραφή ημερολογίου.
+     */
+    public static String[] cancelBooking(Booking booking) {
+        return entry(Op.CANCEL_BOOKING, booking.getId());
+    }
+
+    private static String[] entry(Op op, Object... fields) {
+        String[] entry = new String[fields.length + 1];
+        entry[0] = op.name();
+        for (int i = 0; i < fields.length; i++) {
+            entry[i + 1] = String.valueOf(fields[i]);
+        }
+        return entry;
+    }
+
+    private static String checksum(CharSequence content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.toString().getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,10 +1,14 @@
 package travelbookingapp;
 
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlID;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 // Αναπαριστά έναν πελάτη στο σύστημα με όνομα, email και τηλέφωνο.
 @XmlRootElement
 public class Customer {
+    private int id;
     private String name;
     private String email;
     private String phone;
@@ -24,6 +28,40 @@ public class Customer {
         this.phone = phone;
     }
 
+    /**
+     Επιστρέφει τον μοναδικό κωδικό του πελάτη.
+     @return Ο κωδικός (0 αν δεν έχει ακόμη προστεθεί στα δεδομένα).
+     */
+    @XmlTransient
+    public int getId() { return id; }
+
+    /**
+     Ορίζει τον μοναδικό κωδικό του πελάτη. Συνήθως ορίζεται από το TravelData κατά την προσθήκη.
+     Ο κωδικός ορίζεται μία φορά, ώστε η ισότητα και ο κωδικός hash να μην αλλάζουν στη συνέχεια.
+     @param id Ο νέος κωδικός.
+     @throws IllegalStateException Αν ο πελάτης έχει ήδη διαφορετικό κωδικό.
+     */
+    public void setId(int id) {
+        if (this.id != 0 && this.id != id) {
+            throw new IllegalStateException("Ο κωδικός του πελάτη έχει ήδη οριστεί (" + this.id + ").");
+        }
+        this.id = id;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό ως αναγνωριστικό XML, ώστε οι κρατήσεις να αναφέρουν τον πελάτη αντί να τον αντιγράφουν.
+     @return Ο κωδικός με πρόθεμα "c".
+     */
+    @XmlID
+    @XmlAttribute(name = "id")
+    public String getXmlId() { return "c" + id; }
+
+    /**
+     Ορίζει τον κωδικό από το αναγνωριστικό XML (για JAXB).
+     @param xmlId Το αναγνωριστικό XML με πρόθεμα "c".
+     */
+    public void setXmlId(String xmlId) { setId(Integer.parseInt(xmlId.substring(1))); }
+
     /**
      Επιστρέφει το όνομα του πελάτη.
      @return Το όνομα.
@@ -60,6 +98,32 @@ public class Customer {
      */
     public void setPhone(String phone) { this.phone = phone; }
 
+    /**
+     Ελέγχει αν δύο πελάτες είναι ίδιοι με βάση τον κωδικό τους, που διατηρείται και μετά από επαναφόρτωση.
+     Πελάτες χωρίς κωδικό (0) είναι ίσοι μόνο με τον εαυτό τους.
+     @param o Το αντικείμενο προς σύγκριση.
+     @return true αν οι πελάτες είναι ίδιοι, false αλλιώς.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Customer customer = (Customer) o;
+        return id != 0 && id == customer.id;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό hash του πελάτη, που είναι ο κωδικός του και δεν αλλάζει αφού οριστεί.
+     Πελάτης χωρίς κωδικό (που δεν έχει προστεθεί ακόμη στο TravelData) έχει τον κωδικό hash της ταυτότητάς του,
+     συνεπή με την ισότητα, ο οποίος αλλάζει όταν του δοθεί κωδικός· για αυτό ένας νέος πελάτης δεν πρέπει να
+     βρίσκεται σε HashSet/HashMap τη στιγμή που προστίθεται στο TravelData.
+     @return Ο κωδικός hash.
+     */
+    @Override
+    public int hashCode() {
+        return id != 0 ? Integer.hashCode(id) : System.identityHashCode(this);
+    }
+
     @Override
     public String toString() {
         return String.format("%s (%s, %s)", name, email, phone);
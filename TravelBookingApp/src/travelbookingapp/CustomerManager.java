@@ -1,16 +1,16 @@
 package travelbookingapp;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javax.xml.bind.JAXBException;
 
 // Διαχειρίζεται το UI για την προσθήκη, επεξεργασία και διαγραφή πελατών.
 public class CustomerManager {
     private final TravelData travelData;
+    private final CustomerService customerService;
     private final StackPane pane;
     private final TextField nameField;
     private final TextField emailField;
@@ -19,10 +19,11 @@ public class CustomerManager {
 
     /**
      Κατασκευαστής που αρχικοποιεί το UI για τη διαχείριση πελατών.
-     @param travelData Τα δεδομένα της εφαρμογής που περιέχουν τους πελάτες.
+     @param model Το κοινό μοντέλο της εφαρμογής που περιέχει τους πελάτες.
      */
-    public CustomerManager(TravelData travelData) {
-        this.travelData = travelData;
+    public CustomerManager(TravelModel model) {
+        this.travelData = model.getTravelData();
+        this.customerService = new CustomerService(travelData);
 
         // Δημιουργία GridPane για τα στοιχεία UI
         GridPane gridPane = new GridPane();
@@ -30,12 +31,8 @@ public class CustomerManager {
         gridPane.setVgap(10);
         gridPane.setPadding(new Insets(10));
 
-        // Φόρτωση εικόνας φόντου
-        Image image = new Image(getClass().getResourceAsStream("/resources/travel_image.jpg"));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(800);
-        imageView.setFitHeight(600);
-        imageView.setPreserveRatio(true);
+        // Εικόνα φόντου από την κοινή, ήδη αποκωδικοποιημένη εικόνα
+        ImageView imageView = ResourceCache.createBackgroundView();
 
         // Δημιουργία labels και fields
         Label nameLabel = new Label("Όνομα:");
@@ -53,9 +50,8 @@ public class CustomerManager {
         Button editButton = new Button("Επεξεργασία Πελάτη");
         Button deleteButton = new Button("Διαγραφή Πελάτη");
 
-        // Δημιουργία ListView για πελάτες
-        customerListView = new ListView<>();
-        customerListView.getItems().addAll(travelData.getCustomers());
+        // Δημιουργία ListView για πελάτες, πάνω στην κοινή λίστα του μοντέλου
+        customerListView = new ListView<>(model.getCustomers());
 
         // Προσθήκη στοιχείων στο GridPane
         gridPane.add(nameLabel, 0, 0);
@@ -72,17 +68,13 @@ public class CustomerManager {
         // Λογική για τα κουμπιά
         // Προσθήκη Πελάτη
         addButton.setOnAction(event -> {
-            String name = nameField.getText().trim();
-            String email = emailField.getText().trim();
-            String phone = phoneField.getText().trim();
-            if (name.isEmpty() || email.isEmpty() || phone.isEmpty()) {
-                showErrorAlert("Παρακαλώ συμπληρώστε όλα τα πεδία.");
+            ServiceResult<Customer> result = customerService.addCustomer(
+                    nameField.getText(), emailField.getText(), phoneField.getText());
+            if (!result.isSuccess()) {
+                showErrorAlert(result.getError());
                 return;
             }
-            Customer newCustomer = new Customer(name, email, phone);
-            travelData.addCustomer(newCustomer);
-            customerListView.getItems().add(newCustomer);
-            saveData();
+            watchSave(result);
             clearFields();
             showInfoAlert("Ο πελάτης προστέθηκε επιτυχώς.");
         });
@@ -94,18 +86,13 @@ public class CustomerManager {
                 showErrorAlert("Παρακαλώ επιλέξτε έναν πελάτη για επεξεργασία.");
                 return;
             }
-            String name = nameField.getText().trim();
-            String email = emailField.getText().trim();
-            String phone = phoneField.getText().trim();
-            if (name.isEmpty() || email.isEmpty() || phone.isEmpty()) {
-                showErrorAlert("Παρακαλώ συμπληρώστε όλα τα πεδία.");
+            ServiceResult<Customer> result = customerService.updateCustomer(selected.getId(),
+                    nameField.getText(), emailField.getText(), phoneField.getText());
+            if (!result.isSuccess()) {
+                showErrorAlert(result.getError());
                 return;
             }
-            selected.setName(name);
-            selected.setEmail(email);
-            selected.setPhone(phone);
-            customerListView.refresh();
-            saveData();
+            watchSave(result);
             showInfoAlert("Ο πελάτης ενημερώθηκε επιτυχώς.");
         });
 
@@ -113,9 +100,12 @@ public class CustomerManager {
         deleteButton.setOnAction(event -> {
             Customer selected = customerListView.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                travelData.removeCustomer(selected);
-                customerListView.getItems().remove(selected);
-                saveData();
+                ServiceResult<Customer> result = customerService.deleteCustomer(selected.getId());
+                if (!result.isSuccess()) {
+                    showErrorAlert(result.getError());
+                    return;
+                }
+                watchSave(result);
                 showInfoAlert("Ο πελάτης διαγράφηκε επιτυχώς.");
             } else {
                 showErrorAlert("Παρακαλώ επιλέξτε έναν πελάτη για διαγραφή.");
@@ -134,17 +124,14 @@ public class CustomerManager {
         phoneField.clear();
     }
 
-    // Αποθηκεύει τα δεδομένα στο αρχείο.
-    private void saveData() {
-        try {
-            DataManager.saveData(travelData);
-        } catch (JAXBException e) {
-            System.err.println("Σφάλμα JAXB: " + e.getMessage());
-            showErrorAlert("Σφάλμα αποθήκευσης: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Γενικό σφάλμα: " + e.getMessage());
-            showErrorAlert("Απροσδιόριστο σφάλμα: " + e.getMessage());
-        }
+    // Παρακολουθεί την αποθήκευση της αλλαγής στο παρασκήνιο· τα σφάλματα εμφανίζονται στο νήμα του UI.
+    private void watchSave(ServiceResult<?> result) {
+        result.getSaved().whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Σφάλμα ημερολογίου: " + error.getMessage());
+                showErrorAlert("Σφάλμα αποθήκευσης: " + error.getMessage());
+            }
+        }, Platform::runLater);
     }
 
     /**
@@ -0,0 +1,91 @@
+package travelbookingapp;
+
+/**
+ Επιχειρησιακή λογική για τους πελάτες, χωρίς εξάρτηση από το UI.
+ Κάθε επιτυχής αλλαγή εφαρμόζεται στα δεδομένα και υποβάλλεται για αποθήκευση στο ημερολόγιο.
+ Οι μέθοδοι μπορούν να καλούνται από πολλά νήματα· οι αλλαγές σειριοποιούνται στο TravelData.
+ */
+public class CustomerService {
+    private final TravelData travelData;
+
+    /**
+     Κατασκευαστής της υπηρεσίας.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     */
+    public CustomerService(TravelData travelData) {
+        this.travelData = travelData;
+    }
+
+    /**
+     Προσθέτει νέο πελάτη.
+     @param name Το όνομα.
+     @param email Το email.
+     @param phone Το τηλέφωνο.
+     @return Ο νέος πελάτης ή το σφάλμα επικύρωσης.
+     */
+    public ServiceResult<Customer> addCustomer(String name, String email, String phone) {
+        String error = validate(name, email, phone);
+        if (error != null) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID, error);
+        }
+        Customer customer = new Customer(name.trim(), email.trim(), phone.trim());
+        synchronized (travelData) {
+            travelData.addCustomer(customer);
+            return ServiceResult.success(customer, DataManager.submitChange(travelData, ChangeJournal.addCustomer(customer)));
+        }
+    }
+
+    /**
+     Ενημερώνει τα στοιχεία ενός πελάτη.
+     @param customerId Ο κωδικός του πελάτη.
+     @param name Το νέο όνομα.
+     @param email Το νέο email.
+     @param phone Το νέο τηλέφωνο.
+     @return Ο πελάτης ή το σφάλμα.
+     */
+    public ServiceResult<Customer> updateCustomer(int customerId, String name, String email, String phone) {
+        String error = validate(name, email, phone);
+        if (error != null) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID, error);
+        }
+        synchronized (travelData) {
+            Customer customer = travelData.findCustomer(customerId);
+            if (customer == null) {
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Ο πελάτης δεν βρέθηκε.");
+            }
+            travelData.updateCustomer(customer, name.trim(), email.trim(), phone.trim());
+            return ServiceResult.success(customer, DataManager.submitChange(travelData, ChangeJournal.editCustomer(customer)));
+        }
+    }
+
+    /**
+     Διαγράφει έναν πελάτη, εφόσον δεν έχει κρατήσεις.
+     @param customerId Ο κωδικός του πελάτη.
+     @return Ο διαγραμμένος πελάτης ή το σφάλμα.
+     */
+    public ServiceResult<Customer> deleteCustomer(int customerId) {
+        synchronized (travelData) {
+            Customer customer = travelData.findCustomer(customerId);
+            if (customer == null) {
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Ο πελάτης δεν βρέθηκε.");
+            }
+            if (travelData.hasBookings(customer)) {
+                return ServiceResult.failure(ServiceResult.Reason.CONFLICT, "Ο πελάτης έχει κρατήσεις και δεν μπορεί να διαγραφεί.");
+            }
+            travelData.removeCustomer(customer);
+            return ServiceResult.success(customer, DataManager.submitChange(travelData, ChangeJournal.deleteCustomer(customer)));
+        }
+    }
+
+    // Οι κανόνες της φόρμας· χρησιμοποιούνται και από τη μαζική εισαγωγή (BulkImporter).
+    static String validate(String name, String email, String phone) {
+        if (isBlank(name) || isBlank(email) || isBlank(phone)) {
+            return "Παρακαλώ συμπληρώστε όλα τα πεδία.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,378 @@
+package travelbookingapp;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ Αρχείο δρομολογίων που έχουν ήδη αναχωρήσει, χωρισμένο σε τμήματα ανά μήνα αναχώρησης
+ (π.χ. travel_archive/2024-05.xml). Κάθε τμήμα είναι αυτοτελές στιγμιότυπο XML με τα δρομολόγια του μήνα,
+ τις κρατήσεις τους και τους πελάτες αυτών των κρατήσεων, και μετά την εγγραφή του είναι μόνο για ανάγνωση.
+ Έτσι τα ενεργά δεδομένα (και το κόστος κάθε αποθήκευσης) περιορίζονται στα τρέχοντα και μελλοντικά δρομολόγια,
+ όσο κι αν μεγαλώνει το ιστορικό.
+ Τα τμήματα φορτώνονται μόνο όταν τα ζητήσει μια αναφορά και κρατούνται λίγα στη μνήμη, με τις κρατήσεις
+ σε στήλες (BookingStore) αντί για αντικείμενα Booking. Ένας κατάλογος (catalog.txt) δείχνει σε ποιους μήνες
+ έχει κρατήσεις κάθε πελάτης, ώστε να διαβάζονται μόνο αυτά τα τμήματα.
+ Τα σύνολα των αρχειοθετημένων κρατήσεων για τα συγκεντρωτικά στοιχεία (totals.txt) ενημερώνονται σε κάθε
+ αρχειοθέτηση, ώστε οι αναφορές να καλύπτουν το ιστορικό χωρίς να διαβάζονται τα τμήματα.
+ */
+public class DataArchive {
+    // Πόσα τμήματα κρατούνται φορτωμένα στη μνήμη.
+    private static final int CACHED_SEGMENTS = 12;
+    private static final String CATALOG_FILE = "catalog.txt";
+    private static final String TOTALS_FILE = "totals.txt";
+
+    /**
+     Σύνολα αρχειοθετημένων κρατήσεων: πλήθος, ακυρώσεις, έσοδα (σε λεπτά) ανά προορισμό και κρατήσεις ανά ημέρα.
+     Τα έσοδα και ο προορισμός είναι αυτά του δρομολογίου τη στιγμή της αρχειοθέτησης.
+     */
+    public static final class Totals {
+        private long bookings;
+        private long cancelled;
+        private final Map<String, Long> revenueCents = new TreeMap<>();
+        private final NavigableMap<LocalDate, Integer> bookingsPerDay = new TreeMap<>();
+
+        Totals() {
+        }
+
+        // Προσθέτει μια κράτηση που αρχειοθετείται.
+        void add(Booking booking) {
+            bookings++;
+            bookingsPerDay.merge(booking.getBookingDate(), 1, Integer::sum);
+            if (booking.isCancelled()) {
+                cancelled++;
+            } else {
+                Itinerary itinerary = booking.getItinerary();
+                revenueCents.merge(itinerary.getDestination(), BookingStatistics.cents(itinerary.getCost()), Long::sum);
+            }
+        }
+
+        Totals copy() {
+            Totals copy = new Totals();
+            copy.bookings = bookings;
+            copy.cancelled = cancelled;
+            copy.revenueCents.putAll(revenueCents);
+            copy.bookingsPerDay.putAll(bookingsPerDay);
+            return copy;
+        }
+
+        /**
+         Επιστρέφει το πλήθος των αρχειοθετημένων κρατήσεων (και των ακυρωμένων).
+         @return Το πλήθος.
+         */
+        public long getBookings() {
+            return bookings;
+        }
+
+        /**
+         Επιστρέφει το πλήθος των αρχειοθετημένων ακυρωμένων κρατήσεων.
+         @return Το πλήθος.
+         */
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        /**
+         Επιστρέφει τα έσοδα των αρχειοθετημένων κρατήσεων ανά προορισμό.
+         @return Προορισμός -> έσοδα σε λεπτά του ευρώ (μόνο για ανάγνωση).
+         */
+        public Map<String, Long> getRevenueCents() {
+            return Collections.unmodifiableMap(revenueCents);
+        }
+
+        /**
+         Επιστρέφει τις αρχειοθετημένες κρατήσεις ανά ημέρα κράτησης.
+         @return Ημερομηνία -> πλήθος (μόνο για ανάγνωση).
+         */
+        public NavigableMap<LocalDate, Integer> getBookingsPerDay() {
+            return Collections.unmodifiableNavigableMap(bookingsPerDay);
+        }
+    }
+
+    // Ένα τμήμα στη μνήμη: πελάτες και δρομολόγια ως αντικείμενα (είναι λίγα), κρατήσεις σε στήλες.
+    private static final class Segment {
+        final Map<Integer, Customer> customers = new HashMap<>();
+        final Map<Integer, Itinerary> itineraries = new HashMap<>();
+        final BookingStore bookings;
+
+        Segment(TravelData data) {
+            data.getCustomers().forEach(customer -> customers.put(customer.getId(), customer));
+            data.getItineraries().forEach(itinerary -> itineraries.put(itinerary.getId(), itinerary));
+            bookings = new BookingStore(data.getBookings().size());
+            data.getBookings().forEach(bookings::add);
+        }
+
+        List<Booking> getBookingsFor(int customerId) {
+            return bookings.views(bookings.rowsForCustomer(customerId), customers::get, itineraries::get);
+        }
+    }
+
+    private final Path directory;
+    private final Map<YearMonth, Segment> segments = new LinkedHashMap<YearMonth, Segment>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, Segment> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+    // Κωδικός πελάτη -> μήνες με κρατήσεις του· φορτώνεται την πρώτη φορά που χρειάζεται.
+    private Map<Integer, Set<YearMonth>> catalog;
+    // Τα σύνολα των κρατήσεων του αρχείου· φορτώνονται την πρώτη φορά που χρειάζονται.
+    private Totals totals;
+
+    /**
+     @param directory Ο φάκελος του αρχείου (δημιουργείται στην πρώτη αρχειοθέτηση).
+     */
+    public DataArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     Μεταφέρει στο αρχείο τα δρομολόγια που αναχώρησαν πριν από μια ημερομηνία, μαζί με τις κρατήσεις τους,
+     και τα αφαιρεί από τα ενεργά δεδομένα. Τα τμήματα γράφονται πριν από την αφαίρεση, και αν ένα δρομολόγιο
+     υπάρχει ήδη σε τμήμα (π.χ. μετά από διακοπή πριν αποθηκευτούν τα ενεργά δεδομένα) δεν γράφεται ξανά.
+     Πρέπει να καλείται κρατώντας το κλείδωμα των δεδομένων· τα ενεργά δεδομένα πρέπει μετά να αποθηκευτούν.
+     @param data Τα ενεργά δεδομένα.
+     @param cutoff Αρχειοθετούνται τα δρομολόγια με ημερομηνία πριν από αυτήν.
+     @return Το πλήθος των δρομολογίων που αρχειοθετήθηκαν.
+     @throws IOException Αν αποτύχει η εγγραφή κάποιου τμήματος· τα ενεργά δεδομένα τότε δεν αλλάζουν.
+     */
+    public synchronized int archive(TravelData data, LocalDate cutoff) throws IOException {
+        List<Itinerary> past = data.getItinerariesBetween(LocalDate.MIN, cutoff.minusDays(1));
+        if (past.isEmpty()) {
+            return 0;
+        }
+        Map<YearMonth, List<Itinerary>> byMonth = new TreeMap<>();
+        for (Itinerary itinerary : past) {
+            byMonth.computeIfAbsent(YearMonth.from(itinerary.getDate()), m -> new ArrayList<>()).add(itinerary);
+        }
+        Files.createDirectories(directory);
+        Map<Integer, Set<YearMonth>> customerMonths = catalog();
+        Totals archivedTotals = totals().copy();
+        // Αν η αρχειοθέτηση διακοπεί, τα σύνολα υπολογίζονται ξανά από τα τμήματα στην επόμενη ανάγνωση.
+        Files.deleteIfExists(directory.resolve(TOTALS_FILE));
+        totals = null;
+        for (Map.Entry<YearMonth, List<Itinerary>> month : byMonth.entrySet()) {
+            TravelData segment = Files.exists(segmentPath(month.getKey())) ? readSegment(month.getKey()) : new TravelData();
+            for (Itinerary itinerary : month.getValue()) {
+                boolean archived = segment.findItinerary(itinerary.getId()) != null;
+                if (!archived) {
+                    segment.addItinerary(itinerary);
+                }
+                for (Booking booking : data.getBookingsFor(itinerary)) {
+                    Customer customer = booking.getCustomer();
+                    customerMonths.computeIfAbsent(customer.getId(), id -> new TreeSet<>()).add(month.getKey());
+                    if (archived) {
+                        continue;
+                    }
+                    if (segment.findCustomer(customer.getId()) == null) {
+                        segment.addCustomer(customer);
+                    }
+                    segment.addBooking(booking);
+                    archivedTotals.add(booking);
+                }
+            }
+            writeSegment(month.getKey(), segment);
+            // Το τμήμα περιέχει πλέον αντικείμενα των ενεργών δεδομένων· θα ξαναδιαβαστεί από τον δίσκο αν χρειαστεί.
+            segments.remove(month.getKey());
+        }
+        writeCatalog(customerMonths);
+        writeTotals(archivedTotals);
+        totals = archivedTotals;
+
+        for (Itinerary itinerary : past) {
+            new ArrayList<>(data.getBookingsFor(itinerary)).forEach(data::removeBooking);
+            data.removeItinerary(itinerary);
+        }
+        return past.size();
+    }
+
+    /**
+     Επιστρέφει τους μήνες που υπάρχουν στο αρχείο.
+     @return Οι μήνες, σε χρονολογική σειρά.
+     @throws IOException Αν αποτύχει η ανάγνωση του φακέλου.
+     */
+    public synchronized List<YearMonth> getMonths() throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return months;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.xml")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    months.add(YearMonth.parse(name.substring(0, name.length() - ".xml".length())));
+                } catch (DateTimeParseException e) {
+                    // Άλλο αρχείο στον φάκελο
+                }
+            }
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    /**
+     Επιστρέφει τις αρχειοθετημένες κρατήσεις ενός πελάτη, φορτώνοντας μόνο τα τμήματα των μηνών του.
+     Οι κρατήσεις είναι όψεις των στηλών του τμήματος, μόνο για ανάγνωση.
+     @param customerId Ο κωδικός του πελάτη.
+     @return Οι κρατήσεις, σε χρονολογική σειρά μήνα αναχώρησης.
+     @throws IOException Αν αποτύχει η ανάγνωση.
+     */
+    public synchronized List<Booking> getBookingsFor(int customerId) throws IOException {
+        List<Booking> result = new ArrayList<>();
+        for (YearMonth month : catalog().getOrDefault(customerId, Collections.emptySet())) {
+            result.addAll(segment(month).getBookingsFor(customerId));
+        }
+        return result;
+    }
+
+    /**
+     Επιστρέφει τα σύνολα των αρχειοθετημένων κρατήσεων για τα συγκεντρωτικά στοιχεία. Αν λείπει το αρχείο
+     των συνόλων (αρχείο παλαιότερης έκδοσης ή διακοπή αρχειοθέτησης) υπολογίζονται από όλα τα τμήματα και γράφονται.
+     @return Αντίγραφο των συνόλων.
+     @throws IOException Αν αποτύχει η ανάγνωση ή η εγγραφή.
+     */
+    public synchronized Totals getTotals() throws IOException {
+        return totals().copy();
+    }
+
+    // Επιστρέφει ένα τμήμα, φορτώνοντάς το αν δεν είναι ήδη στη μνήμη.
+    private Segment segment(YearMonth month) throws IOException {
+        Segment segment = segments.get(month);
+        if (segment == null) {
+            segment = new Segment(Files.exists(segmentPath(month)) ? readSegment(month) : new TravelData());
+            segments.put(month, segment);
+        }
+        return segment;
+    }
+
+    private Path segmentPath(YearMonth month) {
+        return directory.resolve(month + ".xml");
+    }
+
+    private TravelData readSegment(YearMonth month) throws IOException {
+        try {
+            return StreamingXmlCodec.read(segmentPath(month), progress -> { });
+        } catch (XMLStreamException e) {
+            throw new IOException("Σφάλμα κατά την ανάγνωση του τμήματος " + month + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void writeSegment(YearMonth month, TravelData segment) throws IOException {
+        AtomicFileWriter.write(segmentPath(month), 0,
+                channel -> StreamingXmlCodec.write(segment, Channels.newOutputStream(channel), false));
+    }
+
+    // Μορφή καταλόγου: μία γραμμή ανά πελάτη, "κωδικός=2024-05,2024-06".
+    private Map<Integer, Set<YearMonth>> catalog() throws IOException {
+        if (catalog == null) {
+            catalog = new TreeMap<>();
+            Path file = directory.resolve(CATALOG_FILE);
+            if (Files.exists(file)) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int separator = line.indexOf('=');
+                        if (separator <= 0) {
+                            continue;
+                        }
+                        Set<YearMonth> months = new TreeSet<>();
+                        for (String month : line.substring(separator + 1).split(",")) {
+                            months.add(YearMonth.parse(month.trim()));
+                        }
+                        catalog.put(Integer.parseInt(line.substring(0, separator).trim()), months);
+                    }
+                }
+            }
+        }
+        return catalog;
+    }
+
+    // Μορφή συνόλων: γραμμές "bookings\tπλήθος", "cancelled\tπλήθος", "revenue\tπροορισμός\tλεπτά",
+    // "day\t2024-05-01\tπλήθος".
+    private Totals totals() throws IOException {
+        if (totals == null) {
+            Totals loaded = new Totals();
+            Path file = directory.resolve(TOTALS_FILE);
+            if (Files.exists(file)) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split("\t");
+                        try {
+                            if (fields.length == 2 && fields[0].equals("bookings")) {
+                                loaded.bookings = Long.parseLong(fields[1]);
+                            } else if (fields.length == 2 && fields[0].equals("cancelled")) {
+                                loaded.cancelled = Long.parseLong(fields[1]);
+                            } else if (fields.length == 3 && fields[0].equals("revenue")) {
+                                loaded.revenueCents.put(fields[1], Long.parseLong(fields[2]));
+                            } else if (fields.length == 3 && fields[0].equals("day")) {
+                                loaded.bookingsPerDay.put(LocalDate.parse(fields[1]), Integer.parseInt(fields[2]));
+                            }
+                        } catch (NumberFormatException | DateTimeParseException e) {
+                            throw new IOException("Μη έγκυρη γραμμή στο " + file + ": " + line, e);
+                        }
+                    }
+                }
+            } else {
+                List<YearMonth> months = getMonths();
+                for (YearMonth month : months) {
+                    readSegment(month).getBookings().forEach(loaded::add);
+                }
+                if (!months.isEmpty()) {
+                    writeTotals(loaded);
+                }
+            }
+            totals = loaded;
+        }
+        return totals;
+    }
+
+    private void writeTotals(Totals archivedTotals) throws IOException {
+        AtomicFileWriter.write(directory.resolve(TOTALS_FILE), 0, channel -> {
+            Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), 64 * 1024);
+            writer.write("bookings\t" + archivedTotals.bookings + "\n");
+            writer.write("cancelled\t" + archivedTotals.cancelled + "\n");
+            for (Map.Entry<String, Long> entry : archivedTotals.revenueCents.entrySet()) {
+                writer.write("revenue\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            for (Map.Entry<LocalDate, Integer> entry : archivedTotals.bookingsPerDay.entrySet()) {
+                writer.write("day\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            writer.flush();
+        });
+    }
+
+    private void writeCatalog(Map<Integer, Set<YearMonth>> customerMonths) throws IOException {
+        AtomicFileWriter.write(directory.resolve(CATALOG_FILE), 0, channel -> {
+            Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), 64 * 1024);
+            for (Map.Entry<Integer, Set<YearMonth>> entry : customerMonths.entrySet()) {
+                StringBuilder line = new StringBuilder().append(entry.getKey()).append('=');
+                for (YearMonth month : entry.getValue()) {
+                    line.append(month).append(',');
+                }
+                line.setLength(line.length() - 1);
+                writer.write(line.append('\n').toString());
+            }
+            writer.flush();
+        });
+    }
+}
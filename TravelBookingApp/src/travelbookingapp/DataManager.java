@@ -4,52 +4,455 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.function.DoubleConsumer;
 
-// Διαχειρίζεται την αποθήκευση και φόρτωση δεδομένων σε XML.
+// Διαχειρίζεται την αποθήκευση και φόρτωση δεδομένων σε XML (ή σε δυαδικό στιγμιότυπο, αν επιλεγεί).
+// Οι αλλαγές γράφονται σε ημερολόγιο (ChangeJournal) και συμπυκνώνονται περιοδικά στο XML στιγμιότυπο.
 public class DataManager {
-    private static final String DATA_FILE = "travel_data.xml";
+    // Ο φάκελος των αρχείων δεδομένων (προεπιλογή ο τρέχων φάκελος), π.χ. προσωρινός φάκελος για εκτελέσεις
+    // που δεν πρέπει να αγγίξουν τα δεδομένα του χρήστη.
+    private static final Path DATA_DIR = Paths.get(System.getProperty("travelbooking.data.dir", "."));
+    private static final Path DATA_FILE = DATA_DIR.resolve("travel_data.xml");
+    private static final Path BINARY_FILE = DATA_DIR.resolve("travel_data.bin");
+    private static final Path JOURNAL_FILE = DATA_DIR.resolve("travel_data.journal");
+    private static final Path COMPACTING_FILE = DATA_DIR.resolve("travel_data.journal.compacting");
+    private static final Path ARCHIVE_DIR = DATA_DIR.resolve("travel_archive");
+    private static final int COMPACTION_THRESHOLD = 500;
+    // Πόσες προηγούμενες γενιές του στιγμιότυπου κρατούνται (travel_data.xml.1, .2, ...).
+    private static final int backupGenerations = Integer.getInteger("travelbooking.backups", 3);
+
+    private static final Object SNAPSHOT_LOCK = new Object();
+    private static final AtomicBoolean compactionRunning = new AtomicBoolean();
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ChangeJournal journal;
+
+    // Ένα μόνο νήμα κάνει όλες τις εγγραφές, ώστε να μην μπλοκάρει το νήμα του JavaFX.
+    private static final ExecutorService persistence = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<PendingChange> pendingChanges = new ArrayList<>();
+    private static boolean drainScheduled;
+
+    // Το JAXBContext είναι thread-safe και ακριβό στη δημιουργία, οπότε δημιουργείται μία φορά.
+    // Οι Marshaller/Unmarshaller δεν είναι thread-safe· κάθε νήμα δανείζεται έναν από τη δεξαμενή.
+    private static JAXBContext context;
+    private static final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+    private static final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+    private static volatile boolean formattedOutput =
+            Boolean.parseBoolean(System.getProperty("travelbooking.xml.formatted", "true"));
+    // Με StAX (προεπιλογή) το XML διαβάζεται/γράφεται εγγραφή προς εγγραφή· με false χρησιμοποιείται το JAXB.
+    private static final boolean streamingXml =
+            Boolean.parseBoolean(System.getProperty("travelbooking.xml.streaming", "true"));
+    // Μορφή στιγμιότυπου: "xml" (προεπιλογή) ή "binary". Με binary το XML μένει ως μορφή εισαγωγής/εξαγωγής.
+    private static final boolean binarySnapshot =
+            "binary".equalsIgnoreCase(System.getProperty("travelbooking.snapshot.format", "xml"));
+    // Αρχειοθέτηση δρομολογίων προηγούμενων μηνών (απενεργοποιείται με travelbooking.archive=false).
+    private static final boolean archiveEnabled =
+            Boolean.parseBoolean(System.getProperty("travelbooking.archive", "true"));
+    private static final DataArchive archive = new DataArchive(ARCHIVE_DIR);
+
+    /**
+     Ορίζει αν το XML θα γράφεται με εσοχές (ευανάγνωστο) ή συμπαγές (μικρότερο και ταχύτερο).
+     Η προεπιλογή ορίζεται από την ιδιότητα συστήματος travelbooking.xml.formatted.
+     @param formatted true για μορφοποιημένο XML, false για συμπαγές.
+     */
+    public static void setFormattedOutput(boolean formatted) {
+        formattedOutput = formatted;
+    }
 
     /**
-     Αποθηκεύει τα δεδομένα της εφαρμογής σε αρχείο XML.
+     Επιστρέφει αν το XML γράφεται μορφοποιημένο.
+     @return true αν το XML γράφεται με εσοχές.
+     */
+    public static boolean isFormattedOutput() {
+        return formattedOutput;
+    }
+
+    private static synchronized JAXBContext getContext() throws JAXBException {
+        if (context == null) {
+            context = JAXBContext.newInstance(TravelData.class);
+        }
+        return context;
+    }
+
+    private static Marshaller borrowMarshaller() throws JAXBException {
+        Marshaller marshaller = marshallers.poll();
+        if (marshaller == null) {
+            marshaller = getContext().createMarshaller();
+        }
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+        return marshaller;
+    }
+
+    private static Unmarshaller borrowUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        return unmarshaller != null ? unmarshaller : getContext().createUnmarshaller();
+    }
+
+    /**
+     Αποθηκεύει πλήρες στιγμιότυπο των δεδομένων σε αρχείο XML και αδειάζει το ημερολόγιο.
+     Πρώτα γράφονται στο ημερολόγιο οι αλλαγές που εκκρεμούν. Το κλείδωμα των δεδομένων (synchronized (data))
+     κρατιέται σε όλη την εγγραφή, ώστε καμία αλλαγή να μη γίνει ενώ διατρέχονται οι συλλογές ή να γραφτεί και στο
+     στιγμιότυπο και στο ημερολόγιο μετά την εκκαθάρισή του (βλ. flushAndSave).
      @param data Το αντικείμενο TravelData που θα αποθηκευτεί.
      @throws JAXBException Αν προκύψει σφάλμα κατά την αποθήκευση.
+     @throws IllegalStateException Αν το τρέχον νήμα κρατά το κλείδωμα των δεδομένων.
      */
     public static void saveData(TravelData data) throws JAXBException {
+        requireUnlocked(data);
+        // Περιμένει τις δεσμεύσεις θέσεων που δεν έχουν γίνει ακόμη κρατήσεις (βλ. SeatInventory.getReservationLock).
+        Lock reservations = data.getSeatInventory().getReservationLock().writeLock();
+        reservations.lock();
         try {
-            System.out.println("Προσπάθεια αποθήκευσης στο αρχείο: " + DATA_FILE);
-            JAXBContext context = JAXBContext.newInstance(TravelData.class);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(data, new File(DATA_FILE));
-            System.out.println("Η αποθήκευση ολοκληρώθηκε επιτυχώς!");
-        } catch (JAXBException e) {
-            System.err.println("Σφάλμα JAXB κατά την αποθήκευση: " + e.getMessage());
-            e.printStackTrace();
-            throw new JAXBException("Σφάλμα κατά την αποθήκευση δεδομένων: " + e.getMessage(), e);
+            synchronized (data) {
+                drainPendingChanges(data);
+                snapshotAndResetJournal(data);
+            }
+        } finally {
+            reservations.unlock();
+        }
+    }
+
+    private static void requireUnlocked(TravelData data) {
+        if (Thread.holdsLock(data)) {
+            throw new IllegalStateException("Η αποθήκευση δεν καλείται μέσα σε synchronized (data).");
+        }
+    }
+
+    // Γράφει το στιγμιότυπο και αδειάζει το ημερολόγιο. Ο καλών κρατά το κλείδωμα των δεδομένων.
+    // Σειρά κλειδωμάτων σε όλη την κλάση: δεσμεύσεις θέσεων, data, DataManager.class, SNAPSHOT_LOCK ή pendingChanges.
+    private static synchronized void snapshotAndResetJournal(TravelData data) throws JAXBException {
+        synchronized (SNAPSHOT_LOCK) {
+            if (journal != null) {
+                data.setJournalSequence(journal.getLastSequence());
+            }
+            writeSnapshot(data);
+            try {
+                Files.deleteIfExists(COMPACTING_FILE);
+                if (journal != null) {
+                    journal.reset();
+                }
+            } catch (IOException e) {
+                System.err.println("Σφάλμα κατά τον καθαρισμό του ημερολογίου: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     Καταγράφει μία αλλαγή στο ημερολόγιο, χωρίς να ξαναγράφεται όλο το αρχείο XML.
+     Όταν οι εγγραφές ξεπεράσουν το όριο, ξεκινά συμπύκνωση στο παρασκήνιο.
+     @param data Τα δεδομένα της εφαρμογής (όπως έχουν μετά την αλλαγή).
+     @param entry Η εγγραφή, όπως δημιουργείται από τις μεθόδους του ChangeJournal.
+     @throws IOException Αν αποτύχει η εγγραφή στο ημερολόγιο.
+     */
+    public static void recordChange(TravelData data, String[] entry) throws IOException {
+        recordChanges(data, Collections.singletonList(entry));
+    }
+
+    /**
+     Καταγράφει πολλές αλλαγές στο ημερολόγιο με μία εγγραφή αρχείου.
+     @param data Τα δεδομένα της εφαρμογής.
+     @param entries Οι εγγραφές, με τη σειρά που έγιναν οι αλλαγές.
+     @throws IOException Αν αποτύχει η εγγραφή στο ημερολόγιο.
+     */
+    public static synchronized void recordChanges(TravelData data, List<String[]> entries) throws IOException {
+        ChangeJournal current = openJournal(data);
+        current.appendAll(entries);
+        if (current.getEntryCount() >= COMPACTION_THRESHOLD && compactionRunning.compareAndSet(false, true)) {
+            compactor.execute(DataManager::compact);
+        }
+    }
+
+    /**
+     Υποβάλλει μια αλλαγή για ασύγχρονη καταγραφή, ώστε το νήμα του UI να μην περιμένει τον δίσκο.
+     Οι αλλαγές που συσσωρεύονται όσο γίνεται μια εγγραφή γράφονται όλες μαζί στην επόμενη.
+     @param data Τα δεδομένα της εφαρμογής.
+     @param entry Η εγγραφή, όπως δημιουργείται από τις μεθόδους του ChangeJournal.
+     @return Ολοκληρώνεται όταν η αλλαγή γραφτεί ή αποτυγχάνει με το σφάλμα εγγραφής.
+     */
+    public static CompletableFuture<Void> submitChange(TravelData data, String[] entry) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (pendingChanges) {
+            pendingChanges.add(new PendingChange(entry, done));
+            if (!drainScheduled) {
+                drainScheduled = true;
+                persistence.execute(() -> drainPendingChanges(data));
+            }
+        }
+        return done;
+    }
+
+    // Γράφει όλες τις εκκρεμείς αλλαγές ως μία δέσμη (τρέχει στο νήμα αποθήκευσης ή στο saveData).
+    // Η δέσμη παίρνεται και γράφεται μέσα στο κλείδωμα της κλάσης, ώστε το saveData να μη βρει δέσμη που έχει
+    // αφαιρεθεί από την ουρά αλλά δεν έχει γραφτεί ακόμη.
+    private static synchronized void drainPendingChanges(TravelData data) {
+        List<PendingChange> batch;
+        synchronized (pendingChanges) {
+            batch = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            drainScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String[]> entries = new ArrayList<>(batch.size());
+        batch.forEach(change -> entries.add(change.entry));
+        try {
+            recordChanges(data, entries);
+            batch.forEach(change -> change.done.complete(null));
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(change -> change.done.completeExceptionally(e));
         }
     }
 
     /**
-     Φορτώνει τα δεδομένα της εφαρμογής από αρχείο XML.
+     Γράφει όσες αλλαγές εκκρεμούν και αποθηκεύει πλήρες στιγμιότυπο, περιμένοντας να ολοκληρωθούν.
+     Καλείται κατά το κλείσιμο της εφαρμογής.
+     Κανόνας κλειδώματος: οι υπηρεσίες αλλάζουν τα δεδομένα και υποβάλλουν την εγγραφή του ημερολογίου μέσα
+     στο synchronized (data), και όσες δεσμεύουν θέσεις εκτός αυτού κρατούν το κοινό κλείδωμα δεσμεύσεων του
+     SeatInventory μέχρι να προσθέσουν την κράτηση. Το νήμα αποθήκευσης κρατά το αποκλειστικό κλείδωμα δεσμεύσεων
+     και το κλείδωμα των δεδομένων από την εγγραφή των εκκρεμών αλλαγών μέχρι την εκκαθάριση του ημερολογίου,
+     οπότε το στιγμιότυπο περιέχει ακριβώς τις αλλαγές που καταγράφηκαν και αλλαγές από άλλα νήματα (HTTP,
+     εισαγωγή, UI) περιμένουν μέχρι να τελειώσει. Η μέθοδος δεν καλείται ενώ ο καλών κρατά το κλείδωμα των
+     δεδομένων, αφού θα περίμενε νήματα που χρειάζονται το ίδιο κλείδωμα.
+     @param data Τα δεδομένα της εφαρμογής.
+     @throws JAXBException Αν αποτύχει η αποθήκευση.
+     @throws IllegalStateException Αν το τρέχον νήμα κρατά το κλείδωμα των δεδομένων.
+     */
+    public static void flushAndSave(TravelData data) throws JAXBException {
+        requireUnlocked(data);
+        Future<?> done = persistence.submit(() -> {
+            saveData(data);
+            return null;
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JAXBException("Η αποθήκευση διακόπηκε.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JAXBException) {
+                throw (JAXBException) cause;
+            }
+            throw new JAXBException("Σφάλμα κατά την αποθήκευση δεδομένων: " + cause.getMessage(), cause);
+        }
+    }
+
+    // Μια αλλαγή που περιμένει να γραφτεί από το νήμα αποθήκευσης.
+    private static class PendingChange {
+        final String[] entry;
+        final CompletableFuture<Void> done;
+
+        PendingChange(String[] entry, CompletableFuture<Void> done) {
+            this.entry = entry;
+            this.done = done;
+        }
+    }
+
+    private static ChangeJournal openJournal(TravelData data) throws IOException {
+        if (journal == null) {
+            journal = new ChangeJournal(JOURNAL_FILE, data.getJournalSequence());
+        }
+        return journal;
+    }
+
+    /*
+     Συμπυκνώνει το ημερολόγιο στο στιγμιότυπο χωρίς να αγγίζει τα ζωντανά δεδομένα του UI:
+     διαβάζει το στιγμιότυπο από τον δίσκο, εφαρμόζει τις εγγραφές και το ξαναγράφει.
+     */
+    private static void compact() {
+        try {
+            synchronized (DataManager.class) {
+                if (!Files.exists(COMPACTING_FILE)) {
+                    journal.rotate(COMPACTING_FILE);
+                }
+            }
+            synchronized (SNAPSHOT_LOCK) {
+                TravelData snapshot = readSnapshot(progress -> { });
+                ChangeJournal.replay(COMPACTING_FILE, snapshot);
+                writeSnapshot(snapshot);
+                Files.deleteIfExists(COMPACTING_FILE);
+            }
+        } catch (IOException | JAXBException e) {
+            System.err.println("Σφάλμα κατά τη συμπύκνωση του ημερολογίου: " + e.getMessage());
+        } finally {
+            compactionRunning.set(false);
+        }
+    }
+
+    /**
+     Φορτώνει τα δεδομένα της εφαρμογής από το στιγμιότυπο XML και εφαρμόζει το ημερολόγιο αλλαγών.
      @return Το αντικείμενο TravelData με τα φορτωμένα δεδομένα ή νέο αντικείμενο αν το αρχείο δεν υπάρχει.
      @throws JAXBException Αν προκύψει σφάλμα κατά τη φόρτωση.
      */
     public static TravelData loadData() throws JAXBException {
-        File file = new File(DATA_FILE);
+        return loadData(progress -> { });
+    }
+
+    /**
+     Φορτώνει τα δεδομένα της εφαρμογής, αναφέροντας την πρόοδο ανάγνωσης του στιγμιότυπου.
+     @param progress Δέχεται την πρόοδο ως κλάσμα από 0 έως 1.
+     @return Το αντικείμενο TravelData με τα φορτωμένα δεδομένα ή νέο αντικείμενο αν το αρχείο δεν υπάρχει.
+     @throws JAXBException Αν προκύψει σφάλμα κατά τη φόρτωση.
+     */
+    public static TravelData loadData(DoubleConsumer progress) throws JAXBException {
+        TravelData data = readSnapshot(progress);
+        try {
+            ChangeJournal.replay(COMPACTING_FILE, data);
+            ChangeJournal.replay(JOURNAL_FILE, data);
+        } catch (IOException e) {
+            System.err.println("Σφάλμα κατά την ανάγνωση του ημερολογίου: " + e.getMessage());
+            throw new JAXBException("Σφάλμα κατά τη φόρτωση δεδομένων: " + e.getMessage(), e);
+        }
+        return data;
+    }
+
+    /**
+     Επιστρέφει το αρχείο των δρομολογίων που έχουν αναχωρήσει.
+     @return Το αρχείο ανά μήνα.
+     */
+    public static DataArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     Μεταφέρει στο αρχείο τα δρομολόγια που αναχώρησαν πριν από τον τρέχοντα μήνα, μαζί με τις κρατήσεις τους,
+     και αποθηκεύει τα ενεργά δεδομένα ώστε να μην τα περιέχουν πια. Τα σύνολα του αρχείου περνούν στα
+     συγκεντρωτικά στοιχεία των δεδομένων. Καλείται μετά τη φόρτωση.
+     @param data Τα ενεργά δεδομένα.
+     @return Το πλήθος των δρομολογίων που αρχειοθετήθηκαν.
+     @throws JAXBException Αν αποτύχει η αρχειοθέτηση ή η αποθήκευση.
+     */
+    public static int archivePastDepartures(TravelData data) throws JAXBException {
+        if (!archiveEnabled) {
+            return 0;
+        }
+        int archived;
+        try {
+            synchronized (data) {
+                archived = archive.archive(data, LocalDate.now().withDayOfMonth(1));
+                data.setArchivedTotals(archive.getTotals());
+            }
+        } catch (IOException e) {
+            System.err.println("Σφάλμα κατά την αρχειοθέτηση: " + e.getMessage());
+            throw new JAXBException("Σφάλμα κατά την αρχειοθέτηση: " + e.getMessage(), e);
+        }
+        if (archived > 0) {
+            System.out.println("Αρχειοθετήθηκαν " + archived + " δρομολόγια στο " + ARCHIVE_DIR);
+            flushAndSave(data);
+        }
+        return archived;
+    }
+
+    // Γράφει το στιγμιότυπο στη μορφή που έχει επιλεγεί.
+    private static void writeSnapshot(TravelData data) throws JAXBException {
+        if (binarySnapshot) {
+            try {
+                AtomicFileWriter.write(BINARY_FILE, backupGenerations, channel -> BinarySnapshotCodec.write(data, channel));
+                return;
+            } catch (IOException e) {
+                System.err.println("Σφάλμα κατά την αποθήκευση του δυαδικού στιγμιότυπου: " + e.getMessage());
+                throw new JAXBException("Σφάλμα κατά την αποθήκευση δεδομένων: " + e.getMessage(), e);
+            }
+        }
+        try {
+            System.out.println("Προσπάθεια αποθήκευσης στο αρχείο: " + DATA_FILE);
+            AtomicFileWriter.write(DATA_FILE, backupGenerations, channel -> {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                if (streamingXml) {
+                    StreamingXmlCodec.write(data, out, formattedOutput);
+                } else {
+                    Marshaller marshaller = borrowMarshaller();
+                    marshaller.marshal(data, out);
+                    marshallers.offer(marshaller);
+                }
+                out.flush();
+            });
+            System.out.println("Η αποθήκευση ολοκληρώθηκε επιτυχώς!");
+        } catch (IOException e) {
+            System.err.println("Σφάλμα κατά την αποθήκευση: " + e.getMessage());
+            e.printStackTrace();
+            throw new JAXBException("Σφάλμα κατά την αποθήκευση δεδομένων: " + e.getMessage(), e);
+        }
+    }
+
+    // Διαβάζει το στιγμιότυπο ή επιστρέφει νέο TravelData αν δεν υπάρχει.
+    // Αν έχει επιλεγεί δυαδική μορφή αλλά υπάρχει μόνο XML, εισάγεται το XML και η επόμενη αποθήκευση γράφει δυαδικό.
+    private static TravelData readSnapshot(DoubleConsumer progress) throws JAXBException {
+        if (binarySnapshot && Files.exists(BINARY_FILE)) {
+            try {
+                System.out.println("Φόρτωση δεδομένων από: " + BINARY_FILE);
+                TravelData data = BinarySnapshotCodec.read(BINARY_FILE);
+                progress.accept(1.0);
+                return data;
+            } catch (IOException e) {
+                System.err.println("Σφάλμα κατά τη φόρτωση του δυαδικού στιγμιότυπου: " + e.getMessage());
+                throw new JAXBException("Σφάλμα κατά τη φόρτωση δεδομένων: " + e.getMessage(), e);
+            }
+        }
+        File file = DATA_FILE.toFile();
         if (!file.exists()) {
             System.out.println("Το αρχείο δεν υπάρχει, επιστρέφεται νέο TravelData.");
             return new TravelData();
         }
         try {
             System.out.println("Φόρτωση δεδομένων από: " + DATA_FILE);
-            JAXBContext context = JAXBContext.newInstance(TravelData.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            return (TravelData) unmarshaller.unmarshal(file);
+            if (streamingXml) {
+                return readStreaming(file, progress);
+            }
+            Unmarshaller unmarshaller = borrowUnmarshaller();
+            TravelData data = (TravelData) unmarshaller.unmarshal(file);
+            unmarshallers.offer(unmarshaller);
+            if (!data.resolveAfterLoad()) {
+                // Κρατήσεις χωρίς πελάτη ή δρομολόγιο: το αρχείο έχει την αρχική μορφή με εμφωλευμένα αντίγραφα.
+                // Το διαβάζει ο StreamingXmlCodec, που αντιστοιχίζει τα αντίγραφα στις οντότητες με βάση τις τιμές
+                // τους, ή απορρίπτει το αρχείο αν περιέχει αναφορές σε οντότητες που δεν υπάρχουν.
+                System.out.println("Μετατροπή αρχείου παλαιότερης μορφής: " + DATA_FILE);
+                return readStreaming(file, progress);
+            }
+            progress.accept(1.0);
+            return data;
         } catch (JAXBException e) {
             System.err.println("Σφάλμα JAXB κατά τη φόρτωση: " + e.getMessage());
             e.printStackTrace();
             throw new JAXBException("Σφάλμα κατά τη φόρτωση δεδομένων: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private static TravelData readStreaming(File file, DoubleConsumer progress) throws JAXBException {
+        try {
+            return StreamingXmlCodec.read(file.toPath(), progress);
+        } catch (IOException | XMLStreamException e) {
+            throw new JAXBException(e.getMessage(), e);
+        }
+    }
+}
@@ -1,23 +1,40 @@
 package travelbookingapp;
 
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlID;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import java.time.LocalDate;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  Αναπαριστά ένα δρομολόγιο στο σύστημα ταξιδιωτικών κρατήσεων.
  Περιλαμβάνει πληροφορίες για τον προορισμό, την ημερομηνία, τις διαθέσιμες θέσεις,
  το κόστος και τον τύπο μεταφορικού μέσου.
+ Ο προορισμός και ο τύπος μέσου κρατούνται ως κωδικοί των κοινών λεξικών (SymbolTable), ώστε κάθε
+ διαφορετική τιμή να υπάρχει μία φορά στη μνήμη και οι ομαδοποιήσεις να συγκρίνουν ακεραίους.
  */
 @XmlRootElement
 public class Itinerary {
-    private String destination;
+    /**
+     Οι τυπικοί τύποι μεταφορικού μέσου, όπως εμφανίζονται στις λίστες επιλογής.
+     */
+    public static final List<String> STANDARD_TRANSPORT_TYPES =
+            Collections.unmodifiableList(Arrays.asList("Αεροπλάνο", "Τρένο", "Λεωφορείο"));
+
+    private int id;
+    // Κωδικός στο SymbolTable.DESTINATIONS (-1 αν δεν έχει οριστεί).
+    private int destination = -1;
     private LocalDate date;
-    private int availableSeats;
+    private final AtomicInteger availableSeats = new AtomicInteger();
     private double cost;
-    private String transportType;
+    // Κωδικός στο SymbolTable.TRANSPORT_TYPES (-1 αν δεν έχει οριστεί).
+    private byte transportType = -1;
 
     /**
      Προεπιλεγμένος κατασκευαστής για JAXB.
@@ -51,11 +68,51 @@ public class Itinerary {
             throw new IllegalArgumentException("Ο τύπος μεταφορικού μέσου δεν μπορεί να είναι κενός ή null.");
         }
 
-        this.destination = destination;
+        this.destination = SymbolTable.DESTINATIONS.code(destination);
         this.date = date;
-        this.availableSeats = availableSeats;
+        this.availableSeats.set(availableSeats);
         this.cost = cost;
-        this.transportType = transportType;
+        this.transportType = (byte) SymbolTable.TRANSPORT_TYPES.code(transportType);
+    }
+
+    /**
+     Επιστρέφει τον μοναδικό κωδικό του δρομολογίου.
+     @return Ο κωδικός (0 αν δεν έχει ακόμη προστεθεί στα δεδομένα).
+     */
+    @XmlTransient
+    public int getId() {
+        return id;
+    }
+
+    /**
+     Ορίζει τον μοναδικό κωδικό του δρομολογίου. Συνήθως ορίζεται από το TravelData κατά την προσθήκη.
+     Ο κωδικός ορίζεται μία φορά, ώστε η ισότητα και ο κωδικός hash να μην αλλάζουν στη συνέχεια.
+     @param id Ο νέος κωδικός.
+     @throws IllegalStateException Αν το δρομολόγιο έχει ήδη διαφορετικό κωδικό.
+     */
+    public void setId(int id) {
+        if (this.id != 0 && this.id != id) {
+            throw new IllegalStateException("Ο κωδικός του δρομολογίου έχει ήδη οριστεί (" + this.id + ").");
+        }
+        this.id = id;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό ως αναγνωριστικό XML, ώστε οι κρατήσεις να αναφέρουν το δρομολόγιο αντί να το αντιγράφουν.
+     @return Ο κωδικός με πρόθεμα "i".
+     */
+    @XmlID
+    @XmlAttribute(name = "id")
+    public String getXmlId() {
+        return "i" + id;
+    }
+
+    /**
+     Ορίζει τον κωδικό από το αναγνωριστικό XML (για JAXB).
+     @param xmlId Το αναγνωριστικό XML με πρόθεμα "i".
+     */
+    public void setXmlId(String xmlId) {
+        setId(Integer.parseInt(xmlId.substring(1)));
     }
 
     /**
@@ -64,6 +121,15 @@ public class Itinerary {
      */
     @XmlElement
     public String getDestination() {
+        return destination < 0 ? null : SymbolTable.DESTINATIONS.symbol(destination);
+    }
+
+    /**
+     Επιστρέφει τον κωδικό του προορισμού στο SymbolTable.DESTINATIONS, για συγκρίσεις και ομαδοποιήσεις.
+     @return Ο κωδικός (-1 αν δεν έχει οριστεί προορισμός).
+     */
+    @XmlTransient
+    public int getDestinationCode() {
         return destination;
     }
 
@@ -76,7 +142,7 @@ public class Itinerary {
         if (destination == null || destination.trim().isEmpty()) {
             throw new IllegalArgumentException("Ο προορισμός δεν μπορεί να είναι κενός ή null.");
         }
-        this.destination = destination;
+        this.destination = SymbolTable.DESTINATIONS.code(destination);
     }
 
     /**
@@ -107,7 +173,7 @@ public class Itinerary {
      */
     @XmlElement
     public int getAvailableSeats() {
-        return availableSeats;
+        return availableSeats.get();
     }
 
     /**
@@ -119,7 +185,41 @@ public class Itinerary {
         if (availableSeats < 0) {
             throw new IllegalArgumentException("Οι διαθέσιμες θέσεις δεν μπορούν να είναι αρνητικές.");
         }
-        this.availableSeats = availableSeats;
+        this.availableSeats.set(availableSeats);
+    }
+
+    /**
+     Δεσμεύει ατομικά θέσεις, μόνο αν επαρκούν οι διαθέσιμες. Ασφαλές για ταυτόχρονη χρήση από πολλά νήματα:
+     ο έλεγχος και η αφαίρεση γίνονται με compare-and-set, οπότε δεν γίνεται ποτέ υπερκράτηση.
+     @param seats Ο αριθμός θέσεων (θετικός).
+     @return true αν οι θέσεις δεσμεύτηκαν, false αν δεν επαρκούν.
+     @throws IllegalArgumentException Αν ο αριθμός θέσεων δεν είναι θετικός.
+     */
+    public boolean tryReserveSeats(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Ο αριθμός θέσεων πρέπει να είναι θετικός.");
+        }
+        while (true) {
+            int current = availableSeats.get();
+            if (current < seats) {
+                return false;
+            }
+            if (availableSeats.compareAndSet(current, current - seats)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     Επιστρέφει ατομικά θέσεις που είχαν δεσμευτεί (π.χ. μετά από ακύρωση).
+     @param seats Ο αριθμός θέσεων (θετικός).
+     @throws IllegalArgumentException Αν ο αριθμός θέσεων δεν είναι θετικός.
+     */
+    public void releaseSeats(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Ο αριθμός θέσεων πρέπει να είναι θετικός.");
+        }
+        availableSeats.addAndGet(seats);
     }
 
     /**
@@ -149,6 +249,15 @@ public class Itinerary {
      */
     @XmlElement
     public String getTransportType() {
+        return transportType < 0 ? null : SymbolTable.TRANSPORT_TYPES.symbol(transportType);
+    }
+
+    /**
+     Επιστρέφει τον κωδικό του τύπου μέσου στο SymbolTable.TRANSPORT_TYPES, για συγκρίσεις και ομαδοποιήσεις.
+     @return Ο κωδικός (-1 αν δεν έχει οριστεί τύπος).
+     */
+    @XmlTransient
+    public int getTransportCode() {
         return transportType;
     }
 
@@ -161,7 +270,7 @@ public class Itinerary {
         if (transportType == null || transportType.trim().isEmpty()) {
             throw new IllegalArgumentException("Ο τύπος μεταφορικού μέσου δεν μπορεί να είναι κενός ή null.");
         }
-        this.transportType = transportType;
+        this.transportType = (byte) SymbolTable.TRANSPORT_TYPES.code(transportType);
     }
 
     /**
@@ -171,32 +280,33 @@ public class Itinerary {
     @Override
     public String toString() {
         return String.format("%s - %s (%d θέσεις, %.2f ευρώ, %s)",
-                destination, date, availableSeats, cost, transportType);
+                getDestination(), date, availableSeats.get(), cost, getTransportType());
     }
 
     /**
-     Ελέγχει αν δύο δρομολόγια είναι ίδια με βάση τα στοιχεία τους.
-     param o Το αντικείμενο προς σύγκριση.
-     return true αν τα δρομολόγια είναι ίδια, false αλλιώς.
+     Ελέγχει αν δύο δρομολόγια είναι ίδια με βάση τον κωδικό τους, που διατηρείται και μετά από επαναφόρτωση.
+     Δρομολόγια χωρίς κωδικό (0) είναι ίσα μόνο με τον εαυτό τους. Οι αλλαγές στα στοιχεία (π.χ. στις
+     διαθέσιμες θέσεις) δεν επηρεάζουν την ισότητα.
+     @param o Το αντικείμενο προς σύγκριση.
+     @return true αν τα δρομολόγια είναι ίδια, false αλλιώς.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Itinerary itinerary = (Itinerary) o;
-        return availableSeats == itinerary.availableSeats &&
-                Double.compare(itinerary.cost, cost) == 0 &&
-                Objects.equals(destination, itinerary.destination) &&
-                Objects.equals(date, itinerary.date) &&
-                Objects.equals(transportType, itinerary.transportType);
+        return id != 0 && id == itinerary.id;
     }
 
     /**
-     Επιστρέφει τον κωδικό hash του δρομολογίου.
+     Επιστρέφει τον κωδικό hash του δρομολογίου, που είναι ο κωδικός του και δεν αλλάζει αφού οριστεί.
+     Δρομολόγιο χωρίς κωδικό (που δεν έχει προστεθεί ακόμη στο TravelData) έχει τον κωδικό hash της ταυτότητάς
+     του, συνεπή με την ισότητα, ο οποίος αλλάζει όταν του δοθεί κωδικός· για αυτό ένα νέο δρομολόγιο δεν πρέπει
+     να βρίσκεται σε HashSet/HashMap τη στιγμή που προστίθεται στο TravelData.
      @return Ο κωδικός hash.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(destination, date, availableSeats, cost, transportType);
+        return id != 0 ? Integer.hashCode(id) : System.identityHashCode(this);
     }
 }
\ No newline at end of file
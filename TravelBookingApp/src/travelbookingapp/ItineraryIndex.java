@@ -0,0 +1,252 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ Ευρετήρια για την αναζήτηση δρομολογίων με πολλά κριτήρια (ItineraryQuery): ταξινομημένα ευρετήρια
+ για προορισμό (κανονικοποιημένο, για αναζήτηση με πρόθεμα), ημερομηνία και κόστος, και ένα bitmap
+ ανά τύπο μεταφορικού μέσου (ένα bit ανά κωδικό δρομολογίου).
+ Για κάθε ερώτημα εκτιμάται πόσα δρομολόγια δίνει κάθε κριτήριο και διατρέχεται μόνο το πιο επιλεκτικό·
+ τα υπόλοιπα κριτήρια ελέγχονται σε O(1) για κάθε υποψήφιο, και η αναζήτηση σταματά στο όριο αποτελεσμάτων.
+ Οι διαθέσιμες θέσεις αλλάζουν ατομικά εκτός του κλειδώματος, οπότε ελέγχονται μόνο ως φίλτρο.
+ Δεν είναι ασφαλές για ταυτόχρονη χρήση· το διατηρεί το TravelData.
+ */
+class ItineraryIndex {
+    private final Map<Integer, Itinerary> itineraries;
+    private final NavigableMap<LocalDate, Map<Integer, Itinerary>> byDate;
+    private final NavigableMap<String, Map<Integer, Itinerary>> byDestination = new TreeMap<>();
+    private final NavigableMap<Double, Map<Integer, Itinerary>> byCost = new TreeMap<>();
+    private final Map<String, BitSet> byTransport = new HashMap<>();
+    // Κανονικοποιημένες μορφές των προορισμών και τύπων μέσων που υπάρχουν στο ευρετήριο, με το πλήθος των
+    // χρήσεων τους. Συμπληρώνεται μόνο από τα add/remove· τα κείμενα των ερωτημάτων δεν αποθηκεύονται.
+    private final Map<String, Key> keys = new HashMap<>();
+
+    private static final class Key {
+        final String normalized;
+        int uses;
+
+        Key(String text) {
+            normalized = PrefixIndex.normalize(text);
+        }
+    }
+
+    /**
+     @param itineraries Όλα τα δρομολόγια ανά κωδικό (του TravelData).
+     @param byDate Το ευρετήριο ημερομηνιών του TravelData, που χρησιμοποιείται κοινά.
+     */
+    ItineraryIndex(Map<Integer, Itinerary> itineraries, NavigableMap<LocalDate, Map<Integer, Itinerary>> byDate) {
+        this.itineraries = itineraries;
+        this.byDate = byDate;
+    }
+
+    void add(Itinerary itinerary) {
+        TravelData.index(byDestination, acquire(itinerary.getDestination()), itinerary.getId(), itinerary);
+        TravelData.index(byCost, itinerary.getCost(), itinerary.getId(), itinerary);
+        byTransport.computeIfAbsent(acquire(itinerary.getTransportType()), t -> new BitSet()).set(itinerary.getId());
+    }
+
+    void remove(Itinerary itinerary) {
+        TravelData.unindex(byDestination, release(itinerary.getDestination()), itinerary.getId());
+        TravelData.unindex(byCost, itinerary.getCost(), itinerary.getId());
+        String transport = release(itinerary.getTransportType());
+        BitSet ids = byTransport.get(transport);
+        if (ids != null) {
+            ids.clear(itinerary.getId());
+            if (ids.isEmpty()) {
+                byTransport.remove(transport);
+            }
+        }
+    }
+
+    /**
+     Βρίσκει δρομολόγια που ικανοποιούν όλα τα κριτήρια.
+     @param query Τα κριτήρια.
+     @param limit Το μέγιστο πλήθος αποτελεσμάτων.
+     @return Τα δρομολόγια, με τη σειρά του ευρετηρίου που χρησιμοποιήθηκε (π.χ. κατά ημερομηνία).
+     */
+    List<Itinerary> search(ItineraryQuery query, int limit) {
+        Matcher matcher = new Matcher(query, limit);
+
+        // Εκτίμηση του πλήθους για κάθε κριτήριο, ξεκινώντας από όλα τα δρομολόγια.
+        long best = itineraries.size();
+        Collection<Map<Integer, Itinerary>> driver = Collections.singletonList(itineraries);
+        BitSet transportDriver = null;
+        if (matcher.destinations != null) {
+            Collection<Map<Integer, Itinerary>> groups = new ArrayList<>();
+            matcher.destinations.forEach(key -> groups.add(byDestination.get(key)));
+            long count = count(groups, best);
+            if (count < best) {
+                best = count;
+                driver = groups;
+            }
+        }
+        if (query.getFrom() != null || query.getTo() != null) {
+            Collection<Map<Integer, Itinerary>> groups = range(byDate, query.getFrom(), query.getTo()).values();
+            long count = count(groups, best);
+            if (count < best) {
+                best = count;
+                driver = groups;
+            }
+        }
+        if (query.getMaxCost() != null) {
+            Collection<Map<Integer, Itinerary>> groups = byCost.headMap(query.getMaxCost(), true).values();
+            long count = count(groups, best);
+            if (count < best) {
+                best = count;
+                driver = groups;
+            }
+        }
+        if (matcher.transportIds != null && matcher.transportIds.cardinality() < best) {
+            transportDriver = matcher.transportIds;
+        }
+
+        if (transportDriver != null) {
+            for (int id = transportDriver.nextSetBit(0); id >= 0; id = transportDriver.nextSetBit(id + 1)) {
+                if (matcher.offer(itineraries.get(id))) {
+                    break;
+                }
+            }
+        } else {
+            outer:
+            for (Map<Integer, Itinerary> group : driver) {
+                for (Itinerary itinerary : group.values()) {
+                    if (matcher.offer(itinerary)) {
+                        break outer;
+                    }
+                }
+            }
+        }
+        return matcher.result;
+    }
+
+    // Ελέγχει κάθε υποψήφιο με όλα τα κριτήρια και συγκεντρώνει τα αποτελέσματα.
+    private final class Matcher {
+        final ItineraryQuery query;
+        final int limit;
+        final Set<String> destinations;
+        final BitSet transportIds;
+        final List<Itinerary> result = new ArrayList<>();
+
+        Matcher(ItineraryQuery query, int limit) {
+            this.query = query;
+            this.limit = limit;
+            this.destinations = query.getDestination() == null ? null : matchingDestinations(normalize(query.getDestination()));
+            this.transportIds = query.getTransportType() == null ? null
+                    : byTransport.getOrDefault(normalize(query.getTransportType()), new BitSet());
+        }
+
+        // Επιστρέφει true όταν συμπληρωθεί το όριο.
+        boolean offer(Itinerary itinerary) {
+            if (itinerary == null
+                    || (destinations != null && !destinations.contains(normalize(itinerary.getDestination())))
+                    || (query.getFrom() != null && itinerary.getDate().isBefore(query.getFrom()))
+                    || (query.getTo() != null && itinerary.getDate().isAfter(query.getTo()))
+                    || (query.getMaxCost() != null && itinerary.getCost() > query.getMaxCost())
+                    || (transportIds != null && !transportIds.get(itinerary.getId()))
+                    || itinerary.getAvailableSeats() < query.getMinSeats()) {
+                return false;
+            }
+            result.add(itinerary);
+            return result.size() >= limit;
+        }
+    }
+
+    // Προορισμοί που ξεκινούν με το κείμενο· αν δεν υπάρχει κανένας, όσοι διαφέρουν λίγο στην αρχή τους.
+    private Set<String> matchingDestinations(String prefix) {
+        Set<String> keys = new TreeSet<>(byDestination.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet());
+        if (keys.isEmpty()) {
+            int maxEdits = prefix.length() <= 4 ? 1 : 2;
+            for (String key : byDestination.keySet()) {
+                if (distance(key.substring(0, Math.min(key.length(), prefix.length())), prefix) <= maxEdits) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Η κανονικοποιημένη μορφή, από την κοινή καταχώριση αν το κείμενο υπάρχει στο ευρετήριο.
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        Key key = keys.get(text);
+        return key != null ? key.normalized : PrefixIndex.normalize(text);
+    }
+
+    // Η κανονικοποιημένη μορφή ενός κειμένου που προστίθεται στο ευρετήριο.
+    private String acquire(String text) {
+        if (text == null) {
+            return "";
+        }
+        Key key = keys.computeIfAbsent(text, Key::new);
+        key.uses++;
+        return key.normalized;
+    }
+
+    // Η κανονικοποιημένη μορφή ενός κειμένου που αφαιρείται από το ευρετήριο.
+    private String release(String text) {
+        Key key = text == null ? null : keys.get(text);
+        if (key == null) {
+            return normalize(text);
+        }
+        if (--key.uses == 0) {
+            keys.remove(text);
+        }
+        return key.normalized;
+    }
+
+    private static NavigableMap<LocalDate, Map<Integer, Itinerary>> range(
+            NavigableMap<LocalDate, Map<Integer, Itinerary>> index, LocalDate from, LocalDate to) {
+        if (from == null) {
+            return index.headMap(to, true);
+        }
+        if (to == null) {
+            return index.tailMap(from, true);
+        }
+        return from.isAfter(to) ? Collections.emptyNavigableMap() : index.subMap(from, true, to, true);
+    }
+
+    // Αθροίζει τα μεγέθη των ομάδων, σταματώντας μόλις φτάσει το όριο.
+    private static long count(Collection<Map<Integer, Itinerary>> groups, long cap) {
+        long count = 0;
+        for (Map<Integer, Itinerary> group : groups) {
+            count += group.size();
+            if (count >= cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // Απόσταση Levenshtein δύο σύντομων κειμένων.
+    private static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
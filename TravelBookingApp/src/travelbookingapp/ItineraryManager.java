@@ -1,17 +1,23 @@
 package travelbookingapp;
 
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
+import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import java.time.LocalDate;
-import javax.xml.bind.JAXBException;
 
 // Διαχειρίζεται το UI για την προσθήκη, επεξεργασία και διαγραφή δρομολογίων.
 public class ItineraryManager {
+    // Το μέγιστο πλήθος δρομολογίων που εμφανίζει το φίλτρο αναζήτησης.
+    private static final int FILTER_LIMIT = 1000;
+
     private final TravelData travelData;
+    private final ItineraryService itineraryService;
     private final StackPane pane;
     private final TextField destinationField;
     private final DatePicker datePicker;
@@ -19,13 +25,22 @@ public class ItineraryManager {
     private final TextField costField;
     private final ComboBox<String> transportCombo;
     private final ListView<Itinerary> itineraryList;
+    private final TextField filterDestinationField;
+    private final DatePicker filterFromPicker;
+    private final DatePicker filterToPicker;
+    private final TextField filterCostField;
+    private final ComboBox<String> filterTransportCombo;
+    private final TextField filterSeatsField;
+    // Το ενεργό φίλτρο ή null όταν εμφανίζονται όλα τα δρομολόγια.
+    private ItineraryQuery activeQuery;
 
     /**
      Κατασκευαστής που αρχικοποιεί το UI για τη διαχείριση δρομολογίων.
-     @param travelData Τα δεδομένα της εφαρμογής που περιέχουν τα δρομολόγια.
+     @param model Το κοινό μοντέλο της εφαρμογής που περιέχει τα δρομολόγια.
      */
-    public ItineraryManager(TravelData travelData) {
-        this.travelData = travelData;
+    public ItineraryManager(TravelModel model) {
+        this.travelData = model.getTravelData();
+        this.itineraryService = new ItineraryService(travelData);
 
         // Δημιουργία GridPane για τη διάταξη των στοιχείων UI
         GridPane gridPane = new GridPane();
@@ -33,12 +48,8 @@ public class ItineraryManager {
         gridPane.setVgap(10);
         gridPane.setPadding(new Insets(10));
 
-        // Φόρτωση εικόνας φόντου
-        Image image = new Image(getClass().getResourceAsStream("/resources/travel_image.jpg"));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(800);
-        imageView.setFitHeight(600);
-        imageView.setPreserveRatio(true);
+        // Εικόνα φόντου από την κοινή, ήδη αποκωδικοποιημένη εικόνα
+        ImageView imageView = ResourceCache.createBackgroundView();
 
         // Δημιουργία ετικετών και πεδίων εισαγωγής
         Label destinationLabel = new Label("Προορισμός:");
@@ -54,7 +65,7 @@ public class ItineraryManager {
         costField.setPromptText("Εισάγετε κόστος");
         Label transportLabel = new Label("Τύπος Μεταφορικού Μέσου:");
         transportCombo = new ComboBox<>();
-        transportCombo.getItems().addAll("Αεροπλάνο", "Τρένο", "Λεωφορείο");
+        transportCombo.getItems().addAll(Itinerary.STANDARD_TRANSPORT_TYPES);
         transportCombo.setPromptText("Επιλέξτε μέσο");
 
         // Δημιουργία κουμπιών
@@ -62,9 +73,27 @@ public class ItineraryManager {
         Button editButton = new Button("Επεξεργασία Δρομολογίου");
         Button deleteButton = new Button("Διαγραφή Δρομολογίου");
 
-        // Δημιουργία λίστας δρομολογίων
-        itineraryList = new ListView<>();
-        itineraryList.getItems().addAll(travelData.getItineraries());
+        // Δημιουργία λίστας δρομολογίων, πάνω στην κοινή λίστα του μοντέλου
+        itineraryList = new ListView<>(model.getItineraries());
+
+        // Φίλτρο αναζήτησης δρομολογίων (όλα τα κριτήρια είναι προαιρετικά)
+        filterDestinationField = new TextField();
+        filterDestinationField.setPromptText("Προορισμός");
+        filterFromPicker = new DatePicker();
+        filterFromPicker.setPromptText("Από");
+        filterToPicker = new DatePicker();
+        filterToPicker.setPromptText("Έως");
+        filterCostField = new TextField();
+        filterCostField.setPromptText("Μέγιστο κόστος");
+        filterTransportCombo = new ComboBox<>();
+        filterTransportCombo.getItems().addAll(Itinerary.STANDARD_TRANSPORT_TYPES);
+        filterTransportCombo.setPromptText("Μέσο");
+        filterSeatsField = new TextField();
+        filterSeatsField.setPromptText("Ελάχιστες θέσεις");
+        Button filterButton = new Button("Αναζήτηση");
+        Button showAllButton = new Button("Όλα");
+        FlowPane filterPane = new FlowPane(5, 5, filterDestinationField, filterFromPicker, filterToPicker,
+                filterCostField, filterTransportCombo, filterSeatsField, filterButton, showAllButton);
 
         // Προσθήκη στοιχείων στο GridPane
         gridPane.add(destinationLabel, 0, 0);
@@ -80,7 +109,40 @@ public class ItineraryManager {
         gridPane.add(addButton, 0, 5);
         gridPane.add(editButton, 1, 5);
         gridPane.add(deleteButton, 2, 5);
-        gridPane.add(itineraryList, 0, 6, 3, 1);
+        gridPane.add(filterPane, 0, 6, 3, 1);
+        gridPane.add(itineraryList, 0, 7, 3, 1);
+
+        // Λογική φίλτρου: η αναζήτηση γίνεται στα ευρετήρια του TravelData, όχι στη λίστα
+        filterButton.setOnAction(event -> {
+            try {
+                activeQuery = new ItineraryQuery()
+                        .destination(filterDestinationField.getText())
+                        .between(filterFromPicker.getValue(), filterToPicker.getValue())
+                        .maxCost(filterCostField.getText().trim().isEmpty() ? null : Double.valueOf(filterCostField.getText().trim()))
+                        .transportType(filterTransportCombo.getValue())
+                        .minSeats(filterSeatsField.getText().trim().isEmpty() ? 0 : Integer.parseInt(filterSeatsField.getText().trim()));
+            } catch (NumberFormatException e) {
+                showErrorAlert("Εισάγετε έγκυρους αριθμούς για κόστος και θέσεις.");
+                return;
+            }
+            applyFilter();
+        });
+        showAllButton.setOnAction(event -> {
+            activeQuery = null;
+            filterDestinationField.clear();
+            filterFromPicker.setValue(null);
+            filterToPicker.setValue(null);
+            filterCostField.clear();
+            filterTransportCombo.setValue(null);
+            filterSeatsField.clear();
+            itineraryList.setItems(model.getItineraries());
+        });
+        // Με ενεργό φίλτρο, οι αλλαγές στα δρομολόγια (και από άλλες οθόνες) επαναλαμβάνουν την αναζήτηση
+        model.getItineraries().addListener((ListChangeListener<Itinerary>) change -> {
+            if (activeQuery != null) {
+                applyFilter();
+            }
+        });
 
         // Λογική προσθήκης δρομολογίου με χειρισμό σφαλμάτων
         addButton.setOnAction(event -> {
@@ -98,14 +160,12 @@ public class ItineraryManager {
             try {
                 int seats = Integer.parseInt(seatsText);
                 double cost = Double.parseDouble(costText);
-                if (seats <= 0 || cost < 0) {
-                    showErrorAlert("Οι θέσεις πρέπει να είναι θετικές και το κόστος μη αρνητικό.");
+                ServiceResult<Itinerary> result = itineraryService.addItinerary(destination, date, seats, cost, transport);
+                if (!result.isSuccess()) {
+                    showErrorAlert(result.getError());
                     return;
                 }
-                Itinerary newItinerary = new Itinerary(destination, date, seats, cost, transport);
-                travelData.addItinerary(newItinerary);
-                itineraryList.getItems().add(newItinerary);
-                saveData();
+                watchSave(result);
                 clearFields();
                 showInfoAlert("Το δρομολόγιο προστέθηκε επιτυχώς.");
             } catch (NumberFormatException e) {
@@ -134,17 +194,13 @@ public class ItineraryManager {
             try {
                 int seats = Integer.parseInt(seatsText);
                 double cost = Double.parseDouble(costText);
-                if (seats <= 0 || cost < 0) {
-                    showErrorAlert("Οι θέσεις πρέπει να είναι θετικές και το κόστος μη αρνητικό.");
+                ServiceResult<Itinerary> result = itineraryService.updateItinerary(selected.getId(),
+                        destination, date, seats, cost, transport);
+                if (!result.isSuccess()) {
+                    showErrorAlert(result.getError());
                     return;
                 }
-                selected.setDestination(destination);
-                selected.setDate(date);
-                selected.setAvailableSeats(seats);
-                selected.setCost(cost);
-                selected.setTransportType(transport);
-                itineraryList.refresh();
-                saveData();
+                watchSave(result);
                 showInfoAlert("Το δρομολόγιο ενημερώθηκε επιτυχώς.");
             } catch (NumberFormatException e) {
                 showErrorAlert("Εισάγετε έγκυρους αριθμούς για θέσεις και κόστος.");
@@ -155,9 +211,12 @@ public class ItineraryManager {
         deleteButton.setOnAction(event -> {
             Itinerary selected = itineraryList.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                travelData.removeItinerary(selected);
-                itineraryList.getItems().remove(selected);
-                saveData();
+                ServiceResult<Itinerary> result = itineraryService.deleteItinerary(selected.getId());
+                if (!result.isSuccess()) {
+                    showErrorAlert(result.getError());
+                    return;
+                }
+                watchSave(result);
                 showInfoAlert("Το δρομολόγιο διαγράφηκε επιτυχώς.");
             } else {
                 showErrorAlert("Παρακαλώ επιλέξτε ένα δρομολόγιο για διαγραφή.");
@@ -169,6 +228,13 @@ public class ItineraryManager {
         pane.getChildren().addAll(imageView, gridPane);
     }
 
+    // Εμφανίζει τα δρομολόγια που ικανοποιούν το ενεργό φίλτρο.
+    private void applyFilter() {
+        synchronized (travelData) {
+            itineraryList.setItems(FXCollections.observableArrayList(travelData.searchItineraries(activeQuery, FILTER_LIMIT)));
+        }
+    }
+
     // Καθαρίζει τα πεδία εισαγωγής μετά από επιτυχή προσθήκη.
     private void clearFields() {
         destinationField.clear();
@@ -178,17 +244,14 @@ public class ItineraryManager {
         transportCombo.setValue(null);
     }
 
-    // Αποθηκεύει τα δεδομένα στο XML αρχείο.
-    private void saveData() {
-        try {
-            DataManager.saveData(travelData);
-        } catch (JAXBException e) {
-            System.err.println("Σφάλμα JAXB: " + e.getMessage());
-            showErrorAlert("Σφάλμα αποθήκευσης: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Γενικό σφάλμα: " + e.getMessage());
-            showErrorAlert("Απροσδιόριστο σφάλμα: " + e.getMessage());
-        }
+    // Παρακολουθεί την αποθήκευση της αλλαγής στο παρασκήνιο· τα σφάλματα εμφανίζονται στο νήμα του UI.
+    private void watchSave(ServiceResult<?> result) {
+        result.getSaved().whenCompleteAsync((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Σφάλμα ημερολογίου: " + error.getMessage());
+                showErrorAlert("Σφάλμα αποθήκευσης: " + error.getMessage());
+            }
+        }, Platform::runLater);
     }
 
     /**
@@ -0,0 +1,118 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+
+/**
+ Κριτήρια αναζήτησης δρομολογίων. Όλα τα κριτήρια είναι προαιρετικά και συνδυάζονται με "και".
+ Οι μέθοδοι επιστρέφουν το ίδιο αντικείμενο ώστε να γράφονται αλυσιδωτά, π.χ.
+ new ItineraryQuery().destination("αθη").between(from, to).maxCost(100).
+ */
+public class ItineraryQuery {
+    private String destination;
+    private LocalDate from;
+    private LocalDate to;
+    private Double maxCost;
+    private String transportType;
+    private int minSeats;
+
+    /**
+     Προορισμός που ξεκινά με το κείμενο (χωρίς διάκριση πεζών/τόνων). Αν κανένας δεν ταιριάζει,
+     χρησιμοποιούνται προορισμοί με μικρή ορθογραφική απόκλιση (π.χ. "Αθινα" για "Αθήνα").
+     @param destination Το κείμενο ή null.
+     @return Το ίδιο ερώτημα.
+     */
+    public ItineraryQuery destination(String destination) {
+        this.destination = destination == null || destination.trim().isEmpty() ? null : destination;
+        return this;
+    }
+
+    /**
+     Εύρος ημερομηνιών (συμπεριλαμβανομένων των άκρων)· κάθε άκρο μπορεί να είναι null.
+     @param from Η αρχή του εύρους ή null.
+     @param to Το τέλος του εύρους ή null.
+     @return Το ίδιο ερώτημα.
+     */
+    public ItineraryQuery between(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    /**
+     Μέγιστο κόστος (συμπεριλαμβάνεται).
+     @param maxCost Το κόστος ή null.
+     @return Το ίδιο ερώτημα.
+     */
+    public ItineraryQuery maxCost(Double maxCost) {
+        this.maxCost = maxCost;
+        return this;
+    }
+
+    /**
+     Τύπος μεταφορικού μέσου (χωρίς διάκριση πεζών/τόνων).
+     @param transportType Ο τύπος ή null.
+     @return Το ίδιο ερώτημα.
+     */
+    public ItineraryQuery transportType(String transportType) {
+        this.transportType = transportType == null || transportType.trim().isEmpty() ? null : transportType;
+        return this;
+    }
+
+    /**
+     Ελάχιστες διαθέσιμες θέσεις.
+     @param minSeats Ο αριθμός θέσεων (0 για καμία απαίτηση).
+     @return Το ίδιο ερώτημα.
+     */
+    public ItineraryQuery minSeats(int minSeats) {
+        this.minSeats = minSeats;
+        return this;
+    }
+
+    /**
+     Επιστρέφει το κείμενο προορισμού.
+     @return Το κείμενο ή null.
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     Επιστρέφει την αρχή του εύρους ημερομηνιών.
+     @return Η ημερομηνία ή null.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     Επιστρέφει το τέλος του εύρους ημερομηνιών.
+     @return Η ημερομηνία ή null.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     Επιστρέφει το μέγιστο κόστος.
+     @return Το κόστος ή null.
+     */
+    public Double getMaxCost() {
+        return maxCost;
+    }
+
+    /**
+     Επιστρέφει τον τύπο μεταφορικού μέσου.
+     @return Ο τύπος ή null.
+     */
+    public String getTransportType() {
+        return transportType;
+    }
+
+    /**
+     Επιστρέφει τις ελάχιστες διαθέσιμες θέσεις.
+     @return Ο αριθμός θέσεων.
+     */
+    public int getMinSeats() {
+        return minSeats;
+    }
+}
@@ -0,0 +1,104 @@
+package travelbookingapp;
+
+import java.time.LocalDate;
+
+/**
+ Επιχειρησιακή λογική για τα δρομολόγια, χωρίς εξάρτηση από το UI.
+ Κάθε επιτυχής αλλαγή εφαρμόζεται στα δεδομένα και υποβάλλεται για αποθήκευση στο ημερολόγιο.
+ Οι μέθοδοι μπορούν να καλούνται από πολλά νήματα· οι αλλαγές σειριοποιούνται στο TravelData.
+ */
+public class ItineraryService {
+    private final TravelData travelData;
+
+    /**
+     Κατασκευαστής της υπηρεσίας.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     */
+    public ItineraryService(TravelData travelData) {
+        this.travelData = travelData;
+    }
+
+    /**
+     Προσθέτει νέο δρομολόγιο.
+     @param destination Ο προορισμός.
+     @param date Η ημερομηνία.
+     @param seats Οι διαθέσιμες θέσεις.
+     @param cost Το κόστος.
+     @param transportType Ο τύπος μεταφορικού μέσου.
+     @return Το νέο δρομολόγιο ή το σφάλμα επικύρωσης.
+     */
+    public ServiceResult<Itinerary> addItinerary(String destination, LocalDate date, int seats, double cost,
+                                                 String transportType) {
+        String error = validate(destination, date, seats, cost, transportType);
+        if (error != null) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID, error);
+        }
+        Itinerary itinerary = new Itinerary(destination.trim(), date, seats, cost, transportType.trim());
+        synchronized (travelData) {
+            travelData.addItinerary(itinerary);
+            return ServiceResult.success(itinerary, DataManager.submitChange(travelData, ChangeJournal.addItinerary(itinerary)));
+        }
+    }
+
+    /**
+     Ενημερώνει τα στοιχεία ενός δρομολογίου.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @param destination Ο νέος προορισμός.
+     @param date Η νέα ημερομηνία.
+     @param seats Οι νέες διαθέσιμες θέσεις.
+     @param cost Το νέο κόστος.
+     @param transportType Ο νέος τύπος μεταφορικού μέσου.
+     @return Το δρομολόγιο ή το σφάλμα.
+     */
+    public ServiceResult<Itinerary> updateItinerary(int itineraryId, String destination, LocalDate date, int seats,
+                                                    double cost, String transportType) {
+        String error = validate(destination, date, seats, cost, transportType);
+        if (error != null) {
+            return ServiceResult.failure(ServiceResult.Reason.INVALID, error);
+        }
+        synchronized (travelData) {
+            Itinerary itinerary = travelData.findItinerary(itineraryId);
+            if (itinerary == null) {
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Το δρομολόγιο δεν βρέθηκε.");
+            }
+            travelData.updateItinerary(itinerary, destination.trim(), date, seats, cost, transportType.trim());
+            return ServiceResult.success(itinerary, DataManager.submitChange(travelData, ChangeJournal.editItinerary(itinerary)));
+        }
+    }
+
+    /**
+     Διαγράφει ένα δρομολόγιο, εφόσον δεν έχει κρατήσεις.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @return Το διαγραμμένο δρομολόγιο ή το σφάλμα.
+     */
+    public ServiceResult<Itinerary> deleteItinerary(int itineraryId) {
+        synchronized (travelData) {
+            Itinerary itinerary = travelData.findItinerary(itineraryId);
+            if (itinerary == null) {
+                return ServiceResult.failure(ServiceResult.Reason.NOT_FOUND, "Το δρομολόγιο δεν βρέθηκε.");
+            }
+            if (travelData.hasBookings(itinerary)) {
+                return ServiceResult.failure(ServiceResult.Reason.CONFLICT, "Το δρομολόγιο έχει κρατήσεις και δεν μπορεί να διαγραφεί.");
+            }
+            travelData.removeItinerary(itinerary);
+            return ServiceResult.success(itinerary, DataManager.submitChange(travelData, ChangeJournal.deleteItinerary(itinerary)));
+        }
+    }
+
+    // Οι κανόνες της φόρμας· χρησιμοποιούνται και από τη μαζική εισαγωγή (BulkImporter).
+    static String validate(String destination, LocalDate date, int seats, double cost, String transportType) {
+        if (destination == null || destination.trim().isEmpty() || date == null
+                || transportType == null || transportType.trim().isEmpty()) {
+            return "Παρακαλώ συμπληρώστε όλα τα πεδία.";
+        }
+        if (seats <= 0 || cost < 0) {
+            return "Οι θέσεις πρέπει να είναι θετικές και το κόστος μη αρνητικό.";
+        }
+        // Ελέγχεται πριν δημιουργηθεί το δρομολόγιο, ώστε άγνωστες τιμές να μη γεμίζουν το SymbolTable.TRANSPORT_TYPES.
+        if (!Itinerary.STANDARD_TRANSPORT_TYPES.contains(transportType.trim())) {
+            return "Άγνωστος τύπος μεταφορικού μέσου: " + transportType.trim() + " (επιτρέπονται: "
+                    + String.join(", ", Itinerary.STANDARD_TRANSPORT_TYPES) + ").";
+        }
+        return null;
+    }
+}
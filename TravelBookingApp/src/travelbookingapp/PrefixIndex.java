@@ -0,0 +1,144 @@
+package travelbookingapp;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ Ευρετήριο αναζήτησης με πρόθεμα λέξης. Κάθε οντότητα δεικτοδοτείται με τις λέξεις των πεδίων της
+ (π.χ. όνομα, email), κανονικοποιημένες σε πεζά χωρίς τόνους, ώστε το "αθη" να βρίσκει την "Αθήνα".
+ Η αναζήτηση κοστίζει O(log n + k) για k αποτελέσματα, αντί για σάρωση όλων των οντοτήτων.
+ Δεν είναι ασφαλές για ταυτόχρονη χρήση· το διατηρεί το TravelData.
+ @param <T> Ο τύπος της οντότητας.
+ */
+public class PrefixIndex<T> {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Map<Integer, T>> terms = new TreeMap<>();
+    private final ToIntFunction<T> idOf;
+    private final Function<T, List<String>> fieldsOf;
+
+    /**
+     @param idOf Επιστρέφει τον κωδικό της οντότητας.
+     @param fieldsOf Επιστρέφει τα πεδία της οντότητας που δεικτοδοτούνται.
+     */
+    public PrefixIndex(ToIntFunction<T> idOf, Function<T, List<String>> fieldsOf) {
+        this.idOf = idOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    /**
+     Προσθέτει μια οντότητα με τις τρέχουσες τιμές των πεδίων της.
+     @param value Η οντότητα.
+     */
+    public void add(T value) {
+        int id = idOf.applyAsInt(value);
+        for (String term : termsOf(value)) {
+            terms.computeIfAbsent(term, t -> new LinkedHashMap<>()).put(id, value);
+        }
+    }
+
+    /**
+     Αφαιρεί μια οντότητα. Πρέπει να καλείται πριν αλλάξουν τα πεδία της.
+     @param value Η οντότητα.
+     */
+    public void remove(T value) {
+        int id = idOf.applyAsInt(value);
+        for (String term : termsOf(value)) {
+            Map<Integer, T> byId = terms.get(term);
+            if (byId != null) {
+                byId.remove(id);
+                if (byId.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     Βρίσκει οντότητες που έχουν, για κάθε λέξη του ερωτήματος, μια λέξη που ξεκινά με αυτή.
+     @param query Το ερώτημα (π.χ. "μαρ παπ" ή "αθηνα 2025-06").
+     @param limit Το μέγιστο πλήθος αποτελεσμάτων.
+     @return Τα αποτελέσματα, ταξινομημένα αλφαβητικά κατά τη λέξη που ταίριαξε.
+     */
+    public List<T> search(String query, int limit) {
+        List<String> tokens = split(query, WHITESPACE);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Η μεγαλύτερη λέξη είναι συνήθως η πιο επιλεκτική· οι υπόλοιπες ελέγχονται ως φίλτρο.
+        String lead = Collections.max(tokens, (a, b) -> Integer.compare(a.length(), b.length()));
+        List<T> result = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Map<Integer, T> byId : terms.subMap(lead, true, lead + Character.MAX_VALUE, false).values()) {
+            for (Map.Entry<Integer, T> entry : byId.entrySet()) {
+                if (!seen.add(entry.getKey()) || (tokens.size() > 1 && !matchesAll(entry.getValue(), tokens))) {
+                    continue;
+                }
+                result.add(entry.getValue());
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesAll(T value, List<String> tokens) {
+        Set<String> valueTerms = termsOf(value);
+        for (String token : tokens) {
+            if (valueTerms.stream().noneMatch(term -> term.startsWith(token))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> termsOf(T value) {
+        Set<String> result = new HashSet<>();
+        for (String field : fieldsOf.apply(value)) {
+            if (field != null) {
+                String normalized = normalize(field);
+                result.addAll(split(normalized, SEPARATORS));
+                // Και ολόκληρο το πεδίο, ώστε να ταιριάζουν προθέματα όπως "maria.p@" ή "2025-06".
+                if (!normalized.isEmpty()) {
+                    result.add(normalized);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Πεζά, χωρίς τόνους/διαλυτικά, με το τελικό σίγμα ως σ.
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").replace('ς', 'σ');
+    }
+
+    // Οι λέξεις του ερωτήματος χωρίζονται μόνο με κενά, ώστε να ταιριάζουν και ολόκληρα πεδία (π.χ. "2025-06").
+    private static List<String> split(String text, Pattern separator) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : separator.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,26 +1,76 @@
 package travelbookingapp;
 
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import java.util.stream.Collectors;
+import javafx.stage.FileChooser;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
-// Διαχειρίζεται το UI για την προβολή αναφορών, εμφανίζοντας το ιστορικό κρατήσεων ενός επιλεγμένου πελάτη.
+// Διαχειρίζεται το UI για την προβολή αναφορών, εμφανίζοντας το ιστορικό κρατήσεων ενός επιλεγμένου πελάτη
+// και συγκεντρωτικά στοιχεία (έσοδα, πληρότητα, ακυρώσεις, κρατήσεις ανά ημέρα).
+// Το ιστορικό εμφανίζεται σε TableView, που δημιουργεί κελιά μόνο για τις ορατές γραμμές, ώστε πελάτες
+// με δεκάδες χιλιάδες κρατήσεις να μη δημιουργούν ένα τεράστιο κείμενο· η εξαγωγή σε αρχείο γράφει τις
+// γραμμές μία προς μία.
 public class ReportManager {
+    // Πόσοι προορισμοί εμφανίζονται στα έσοδα και πόσες ημέρες στις κρατήσεις ανά ημέρα.
+    private static final int TOP_DESTINATIONS = 10;
+    private static final int RECENT_DAYS = 7;
+
     private final TravelData travelData;
+    private final BookingStatistics statistics;
     private final StackPane pane;
-    private final ComboBox<Customer> customerCombo;
-    private final TextArea reportArea;
+    private final SearchablePicker<Customer> customerPicker;
+    private final TableView<Booking> reportTable;
+    private final Label reportPlaceholder;
+    private final CheckBox archiveCheck;
+    private final Button exportButton;
+    private final Label reportStatus;
+    private final SearchablePicker<Itinerary> itineraryPicker;
+    private final Label occupancyLabel;
+    private final TextArea statsArea;
+
+    // Οι αρχειοθετημένες κρατήσεις διαβάζονται στο παρασκήνιο, μία φόρτωση τη φορά· όσες αντικατασταθούν πριν
+    // ξεκινήσουν (π.χ. με γρήγορη αλλαγή πελάτη) ακυρώνονται χωρίς να διαβαστούν.
+    private final ExecutorService archiveLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Οι αρχειοθετημένες κρατήσεις του πελάτη archivedCustomerId (0: κανένας), η φόρτωση σε εξέλιξη και το σφάλμα της.
+    private int archivedCustomerId;
+    private List<Booking> archivedRows = Collections.emptyList();
+    private Task<List<Booking>> archiveLoad;
+    private String archiveError;
 
     /**
      Κατασκευαστής που αρχικοποιεί το UI για τις αναφορές.
-     @param travelData Τα δεδομένα της εφαρμογής που περιέχουν πελάτες και κρατήσεις.
+     @param model Το κοινό μοντέλο της εφαρμογής που περιέχει πελάτες και κρατήσεις.
      */
-    public ReportManager(TravelData travelData) {
-        this.travelData = travelData;
+    public ReportManager(TravelModel model) {
+        this.travelData = model.getTravelData();
+        this.statistics = travelData.getStatistics();
 
         // Δημιουργία GridPane για τη διάταξη των στοιχείων UI
         GridPane gridPane = new GridPane();
@@ -28,49 +78,288 @@ public class ReportManager {
         gridPane.setVgap(10);
         gridPane.setPadding(new Insets(10));
 
-        // Φόρτωση εικόνας φόντου
-        Image image = new Image(getClass().getResourceAsStream("/resources/travel_image.jpg"));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(800);
-        imageView.setFitHeight(600);
-        imageView.setPreserveRatio(true);
+        // Εικόνα φόντου από την κοινή, ήδη αποκωδικοποιημένη εικόνα
+        ImageView imageView = ResourceCache.createBackgroundView();
 
-        // Δημιουργία ετικέτας και ComboBox για επιλογή πελάτη
+        // Δημιουργία ετικέτας και λίστας αναζήτησης για επιλογή πελάτη
         Label customerLabel = new Label("Επιλέξτε Πελάτη για Ιστορικό Κρατήσεων:");
-        customerCombo = new ComboBox<>();
-        customerCombo.getItems().addAll(travelData.getCustomers());
-        customerCombo.setPromptText("Επιλέξτε πελάτη");
+        customerPicker = new SearchablePicker<>("Αναζήτηση πελάτη (όνομα, email, τηλέφωνο)", query -> {
+            synchronized (travelData) {
+                return travelData.searchCustomers(query, SearchablePicker.MAX_RESULTS);
+            }
+        });
+        customerPicker.watch(model.getCustomers());
+
+        // Προαιρετικά και οι κρατήσεις παλαιών ταξιδιών, από το αρχείο ανά μήνα (φορτώνεται μόνο όταν ζητηθεί)
+        archiveCheck = new CheckBox("Με τα αρχειοθετημένα ταξίδια");
+        archiveCheck.setOnAction(event -> {
+            resetArchive();
+            showReport();
+        });
 
-        // Δημιουργία TextArea για την εμφάνιση των αναφορών
-        reportArea = new TextArea();
-        reportArea.setEditable(false);
-        reportArea.setPromptText("Επιλέξτε έναν πελάτη για να δείτε το ιστορικό κρατήσεων.");
-        reportArea.setPrefRowCount(10); // Ρύθμιση ύψους για καλύτερη εμφάνιση
+        // Πίνακας για την εμφάνιση των αναφορών· οι τιμές των κελιών υπολογίζονται μόνο για τις ορατές γραμμές
+        reportTable = new TableView<>();
+        reportPlaceholder = new Label("Επιλέξτε έναν πελάτη για να δείτε το ιστορικό κρατήσεων.");
+        reportTable.setPlaceholder(reportPlaceholder);
+        reportTable.setPrefHeight(220); // Ρύθμιση ύψους για καλύτερη εμφάνιση
+        reportTable.getColumns().addAll(Arrays.asList(
+                column("Κωδικός", Booking::getId),
+                column("Προορισμός", booking -> booking.getItinerary().getDestination()),
+                column("Αναχώρηση", booking -> booking.getItinerary().getDate()),
+                column("Μέσο", booking -> booking.getItinerary().getTransportType()),
+                column("Κόστος", booking -> String.format("%.2f", booking.getItinerary().getCost())),
+                column("Ημ/νία Κράτησης", Booking::getBookingDate),
+                column("Κατάσταση", ReportManager::status)));
+
+        // Εξαγωγή των γραμμών της αναφοράς σε αρχείο CSV
+        exportButton = new Button("Εξαγωγή σε αρχείο...");
+        exportButton.setDisable(true);
+        exportButton.setOnAction(event -> exportReport());
+        reportStatus = new Label();
 
         // Λογική εμφάνισης αναφορών κατά την επιλογή πελάτη
-        customerCombo.setOnAction(event -> {
-            Customer selectedCustomer = customerCombo.getValue();
-            if (selectedCustomer != null) {
-                String report = travelData.getBookings().stream()
-                        .filter(booking -> booking.getCustomer().equals(selectedCustomer))
-                        .map(Booking::toString)
-                        .collect(Collectors.joining("\n"));
-                reportArea.setText(report.isEmpty() ? "Δεν υπάρχουν κρατήσεις για αυτόν τον πελάτη." : report);
-            } else {
-                reportArea.setText("");
+        customerPicker.valueProperty().addListener((obs, oldCustomer, selectedCustomer) -> showReport());
+        // Νέες ή ακυρωμένες κρατήσεις του πελάτη (από οποιαδήποτε οθόνη) ενημερώνουν την αναφορά που εμφανίζεται
+        model.getBookings().addListener((ListChangeListener<Booking>) change -> {
+            if (concernsSelectedCustomer(change)) {
+                showReport();
             }
         });
 
+        // Συγκεντρωτικά στοιχεία: τρέχοντα σύνολα, οπότε η ανανέωση σε κάθε αλλαγή δεν σαρώνει τις κρατήσεις
+        Label itineraryLabel = new Label("Πληρότητα Δρομολογίου:");
+        itineraryPicker = new SearchablePicker<>("Αναζήτηση δρομολογίου (προορισμός, μέσο, ημερομηνία)", query -> {
+            synchronized (travelData) {
+                return travelData.searchItineraries(query, SearchablePicker.MAX_RESULTS);
+            }
+        });
+        itineraryPicker.watch(model.getItineraries());
+        itineraryPicker.valueProperty().addListener((obs, oldItinerary, selectedItinerary) -> showStatistics());
+        occupancyLabel = new Label();
+        statsArea = new TextArea();
+        statsArea.setEditable(false);
+        statsArea.setPrefRowCount(8);
+        model.getBookings().addListener((ListChangeListener<Booking>) change -> showStatistics());
+        model.getItineraries().addListener((ListChangeListener<Itinerary>) change -> showStatistics());
+        showStatistics();
+
         // Προσθήκη στοιχείων στο GridPane
         gridPane.add(customerLabel, 0, 0);
-        gridPane.add(customerCombo, 1, 0);
-        gridPane.add(reportArea, 0, 1, 2, 1);
+        gridPane.add(customerPicker, 1, 0);
+        gridPane.add(new HBox(10, archiveCheck, exportButton, reportStatus), 1, 1);
+        gridPane.add(reportTable, 0, 2, 2, 1);
+        gridPane.add(itineraryLabel, 0, 3);
+        gridPane.add(itineraryPicker, 1, 3);
+        gridPane.add(occupancyLabel, 1, 4);
+        gridPane.add(statsArea, 0, 5, 2, 1);
 
         // Συνδυασμός εικόνας και GridPane σε StackPane
         pane = new StackPane();
         pane.getChildren().addAll(imageView, gridPane);
     }
 
+    // Εμφανίζει το ιστορικό κρατήσεων του επιλεγμένου πελάτη. Οι ενεργές κρατήσεις εμφανίζονται αμέσως· οι
+    // αρχειοθετημένες, αν ζητηθούν, προστίθενται όταν τελειώσει η φόρτωσή τους στο παρασκήνιο και κρατιούνται για
+    // τις επόμενες ανανεώσεις του ίδιου πελάτη.
+    private void showReport() {
+        Customer selectedCustomer = customerPicker.getValue();
+        if (selectedCustomer == null) {
+            resetArchive();
+            reportTable.getItems().clear();
+            reportPlaceholder.setText("Επιλέξτε έναν πελάτη για να δείτε το ιστορικό κρατήσεων.");
+            reportStatus.setText("");
+            exportButton.setDisable(true);
+            return;
+        }
+        // Ο πίνακας κρατά μόνο αναφορές στις κρατήσεις, από το ευρετήριο ανά πελάτη (και το αρχείο, αν ζητηθεί)
+        List<Booking> rows = new ArrayList<>();
+        if (archiveCheck.isSelected()) {
+            if (archivedCustomerId != selectedCustomer.getId()) {
+                loadArchive(selectedCustomer.getId());
+            }
+            rows.addAll(archivedRows);
+        }
+        synchronized (travelData) {
+            rows.addAll(travelData.getBookingsFor(selectedCustomer));
+        }
+        reportPlaceholder.setText("Δεν υπάρχουν κρατήσεις για αυτόν τον πελάτη.");
+        reportTable.setItems(FXCollections.observableList(rows));
+        if (archiveLoad != null) {
+            reportStatus.setText(rows.size() + " κρατήσεις, φόρτωση αρχείου...");
+        } else {
+            reportStatus.setText(archiveError != null ? archiveError : rows.size() + " κρατήσεις");
+        }
+        // Η εξαγωγή περιμένει τις αρχειοθετημένες κρατήσεις, ώστε το αρχείο να έχει όλο το ιστορικό.
+        exportButton.setDisable(rows.isEmpty() || archiveLoad != null);
+    }
+
+    // Ξεκινά τη φόρτωση των αρχειοθετημένων κρατήσεων ενός πελάτη, αντικαθιστώντας όποια είναι σε εξέλιξη.
+    private void loadArchive(int customerId) {
+        resetArchive();
+        archivedCustomerId = customerId;
+        Task<List<Booking>> task = new Task<List<Booking>>() {
+            @Override
+            protected List<Booking> call() throws IOException {
+                return DataManager.getArchive().getBookingsFor(customerId);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (archiveLoad == task) {
+                archiveLoad = null;
+                archivedRows = task.getValue();
+                showReport();
+            }
+        });
+        task.setOnFailed(event -> {
+            if (archiveLoad == task) {
+                archiveLoad = null;
+                archiveError = "Σφάλμα κατά την ανάγνωση του αρχείου: " + task.getException().getMessage();
+                showReport();
+            }
+        });
+        archiveLoad = task;
+        archiveLoader.execute(task);
+    }
+
+    // Ακυρώνει τη φόρτωση σε εξέλιξη και ξεχνά τις αρχειοθετημένες κρατήσεις που είχαν φορτωθεί.
+    private void resetArchive() {
+        if (archiveLoad != null) {
+            archiveLoad.cancel();
+            archiveLoad = null;
+        }
+        archivedCustomerId = 0;
+        archivedRows = Collections.emptyList();
+        archiveError = null;
+    }
+
+    // Ελέγχει αν μια αλλαγή στη λίστα κρατήσεων αφορά τον επιλεγμένο πελάτη.
+    private boolean concernsSelectedCustomer(ListChangeListener.Change<? extends Booking> change) {
+        Customer selectedCustomer = customerPicker.getValue();
+        if (selectedCustomer == null) {
+            return false;
+        }
+        while (change.next()) {
+            for (Booking booking : change.getRemoved()) {
+                if (booking.getCustomer() == selectedCustomer) {
+                    return true;
+                }
+            }
+            for (Booking booking : change.getAddedSubList()) {
+                if (booking.getCustomer() == selectedCustomer) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Εξάγει τις γραμμές της αναφοράς σε αρχείο CSV, στο παρασκήνιο.
+    private void exportReport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Εξαγωγή Ιστορικού Κρατήσεων");
+        chooser.setInitialFileName("kratiseis_" + customerPicker.getValue().getId() + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showSaveDialog(pane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        List<Booking> rows = new ArrayList<>(reportTable.getItems());
+        Task<Void> exportTask = new Task<Void>() {
+            @Override
+            protected Void call() throws IOException {
+                writeCsv(rows, file.toPath());
+                return null;
+            }
+        };
+        exportTask.setOnSucceeded(event -> reportStatus.setText(rows.size() + " κρατήσεις εξήχθησαν στο " + file.getName()));
+        exportTask.setOnFailed(event -> {
+            reportStatus.setText("");
+            Alert alert = new Alert(Alert.AlertType.ERROR,
+                    "Σφάλμα κατά την εξαγωγή: " + exportTask.getException().getMessage());
+            alert.showAndWait();
+        });
+        reportStatus.setText("Εξαγωγή...");
+        Thread exporter = new Thread(exportTask, "report-export");
+        exporter.setDaemon(true);
+        exporter.start();
+    }
+
+    // Γράφει τις κρατήσεις σε CSV (με επικεφαλίδα), μία γραμμή τη φορά, χωρίς να συγκεντρώνει το κείμενο στη μνήμη.
+    private static void writeCsv(List<Booking> rows, Path file) throws IOException {
+        AtomicFileWriter.write(file, 0, channel -> {
+            BufferedWriter writer = new BufferedWriter(
+                    Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), 64 * 1024));
+            writer.write("id,destination,date,transportType,cost,bookingDate,cancelled\n");
+            for (Booking booking : rows) {
+                Itinerary itinerary = booking.getItinerary();
+                writer.write(String.valueOf(booking.getId()));
+                writer.write(',');
+                writer.write(csvField(itinerary.getDestination()));
+                writer.write(',');
+                writer.write(String.valueOf(itinerary.getDate()));
+                writer.write(',');
+                writer.write(csvField(itinerary.getTransportType()));
+                writer.write(',');
+                writer.write(String.valueOf(itinerary.getCost()));
+                writer.write(',');
+                writer.write(String.valueOf(booking.getBookingDate()));
+                writer.write(',');
+                writer.write(String.valueOf(booking.isCancelled()));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+    }
+
+    // Πεδίο CSV· σε εισαγωγικά αν περιέχει κόμμα, εισαγωγικό ή αλλαγή γραμμής (όπως τα διαβάζει ο BulkImporter).
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Στήλη του πίνακα αναφορών με τιμή που υπολογίζεται από την κράτηση.
+    private static TableColumn<Booking, Object> column(String title, Function<Booking, Object> value) {
+        TableColumn<Booking, Object> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String status(Booking booking) {
+        return booking.isCancelled() ? "Ακυρωμένη" : "Ενεργή";
+    }
+
+    // Εμφανίζει τα συγκεντρωτικά στοιχεία και την πληρότητα του επιλεγμένου δρομολογίου.
+    private void showStatistics() {
+        Itinerary selectedItinerary = itineraryPicker.getValue();
+        if (selectedItinerary != null) {
+            occupancyLabel.setText(String.format("%.0f%% (%d κρατημένες, %d διαθέσιμες θέσεις)",
+                    statistics.getOccupancy(selectedItinerary) * 100, statistics.getBookedSeats(selectedItinerary),
+                    selectedItinerary.getAvailableSeats()));
+        } else {
+            occupancyLabel.setText("");
+        }
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Κρατήσεις (μαζί με το αρχείο): %d, ακυρώσεις: %d (%.1f%%)%n", statistics.getTotalBookings(),
+                statistics.getCancelledBookings(), statistics.getCancellationRate() * 100));
+        text.append("\nΈσοδα ανά προορισμό:\n");
+        statistics.getRevenueByDestination().entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_DESTINATIONS)
+                .forEach(entry -> text.append(String.format("  %s: %.2f €%n", entry.getKey(), entry.getValue())));
+        text.append("\nΚρατήσεις ανά ημέρα:\n");
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(RECENT_DAYS - 1); !day.isAfter(today); day = day.plusDays(1)) {
+            text.append(String.format("  %s: %d%n", day, statistics.getBookingsOn(day)));
+        }
+        statsArea.setText(text.toString());
+    }
+
     /**
      Επιστρέφει το StackPane που περιέχει το UI των αναφορών.
      @return Το StackPane με την εικόνα φόντου και τα στοιχεία UI.
@@ -0,0 +1,67 @@
+package travelbookingapp;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ Κοινόχρηστοι πόροι της διεπαφής (εικόνα φόντου και φύλλο στυλ).
+ Η εικόνα φόντου αποκωδικοποιείται μία φορά, απευθείας στο μέγεθος εμφάνισης (800x600 με διατήρηση
+ αναλογιών), σε νήμα παρασκηνίου του JavaFX· όλες οι οθόνες μοιράζονται το ίδιο Image και δημιουργούν
+ μόνο το δικό τους ελαφρύ ImageView.
+ */
+public final class ResourceCache {
+    // Το μέγεθος εμφάνισης της εικόνας φόντου.
+    static final double BACKGROUND_WIDTH = 800;
+    static final double BACKGROUND_HEIGHT = 600;
+
+    private static final String BACKGROUND_URL =
+            ResourceCache.class.getResource("/resources/travel_image.jpg").toExternalForm();
+    private static final String STYLESHEET_URL =
+            ResourceCache.class.getResource("/resources/styles.css").toExternalForm();
+
+    private static Image background;
+
+    private ResourceCache() {
+    }
+
+    /**
+     Ξεκινά την αποκωδικοποίηση της εικόνας φόντου στο παρασκήνιο. Καλείται κατά την εκκίνηση,
+     ώστε η εικόνα να είναι έτοιμη μέχρι να ανοίξει η πρώτη οθόνη.
+     */
+    public static void preload() {
+        getBackground();
+    }
+
+    /**
+     Επιστρέφει την κοινή εικόνα φόντου. Αν η αποκωδικοποίηση δεν έχει τελειώσει ακόμη,
+     η εικόνα εμφανίζεται μόλις τελειώσει.
+     @return Η εικόνα φόντου.
+     */
+    public static synchronized Image getBackground() {
+        if (background == null) {
+            // Ζητούμενο μέγεθος, διατήρηση αναλογιών, ομαλή κλιμάκωση, φόρτωση στο παρασκήνιο.
+            background = new Image(BACKGROUND_URL, BACKGROUND_WIDTH, BACKGROUND_HEIGHT, true, true, true);
+        }
+        return background;
+    }
+
+    /**
+     Δημιουργεί ένα ImageView για την κοινή εικόνα φόντου, στο μέγεθος εμφάνισης.
+     @return Το νέο ImageView.
+     */
+    public static ImageView createBackgroundView() {
+        ImageView imageView = new ImageView(getBackground());
+        imageView.setFitWidth(BACKGROUND_WIDTH);
+        imageView.setFitHeight(BACKGROUND_HEIGHT);
+        imageView.setPreserveRatio(true);
+        return imageView;
+    }
+
+    /**
+     Επιστρέφει τη διεύθυνση του φύλλου στυλ της εφαρμογής.
+     @return Η διεύθυνση του styles.css.
+     */
+    public static String getStylesheet() {
+        return STYLESHEET_URL;
+    }
+}
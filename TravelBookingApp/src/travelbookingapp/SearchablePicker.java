@@ -0,0 +1,101 @@
+package travelbookingapp;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ Λίστα επιλογής με πεδίο αναζήτησης, για καταλόγους με πολλές χιλιάδες εγγραφές.
+ Αντί να φορτώνει όλες τις οντότητες (όπως ένα ComboBox), εμφανίζει μόνο τα πρώτα
+ MAX_RESULTS αποτελέσματα της αναζήτησης, που προέρχονται από ευρετήριο του TravelData.
+ Το ListView σχεδιάζει μόνο τις ορατές γραμμές.
+ @param <T> Ο τύπος της οντότητας.
+ */
+public class SearchablePicker<T> extends VBox {
+    // Το μέγιστο πλήθος αποτελεσμάτων που εμφανίζονται.
+    public static final int MAX_RESULTS = 200;
+
+    private final Function<String, List<T>> search;
+    private final TextField filterField;
+    private final ListView<T> listView;
+
+    /**
+     Δημιουργεί τη λίστα επιλογής και εμφανίζει τα αποτελέσματα για κενό κείμενο.
+     @param promptText Το κείμενο υπόδειξης του πεδίου αναζήτησης.
+     @param search Επιστρέφει έως MAX_RESULTS οντότητες για ένα κείμενο αναζήτησης.
+     */
+    public SearchablePicker(String promptText, Function<String, List<T>> search) {
+        super(5);
+        this.search = search;
+
+        filterField = new TextField();
+        filterField.setPromptText(promptText);
+        listView = new ListView<>();
+        listView.setPrefHeight(120);
+
+        // Νέα αναζήτηση σε κάθε αλλαγή του κειμένου· το ευρετήριο επιστρέφει μόνο όσα θα εμφανιστούν.
+        filterField.textProperty().addListener((obs, oldText, newText) -> reload());
+        getChildren().addAll(filterField, listView);
+        reload();
+    }
+
+    /**
+     Επιστρέφει την επιλεγμένη οντότητα.
+     @return Η επιλεγμένη οντότητα ή null.
+     */
+    public T getValue() {
+        return listView.getSelectionModel().getSelectedItem();
+    }
+
+    /**
+     Επιστρέφει την ιδιότητα της επιλεγμένης οντότητας, για παρακολούθηση αλλαγών.
+     @return Η ιδιότητα της επιλογής.
+     */
+    public ReadOnlyObjectProperty<T> valueProperty() {
+        return listView.getSelectionModel().selectedItemProperty();
+    }
+
+    /**
+     Παρακολουθεί μια λίστα του TravelModel: σε προσθήκες/διαγραφές επαναλαμβάνεται η αναζήτηση,
+     ενώ σε ενημερώσεις οντοτήτων ξανασχεδιάζονται μόνο οι ορατές γραμμές.
+     @param source Η λίστα με όλες τις οντότητες του τύπου.
+     */
+    public void watch(ObservableList<T> source) {
+        source.addListener((ListChangeListener<T>) change -> {
+            boolean structural = false;
+            while (change.next()) {
+                structural |= !change.wasReplaced() && (change.wasAdded() || change.wasRemoved());
+            }
+            if (structural) {
+                reload();
+            } else {
+                refresh();
+            }
+        });
+    }
+
+    /**
+     Ξανασχεδιάζει τις ορατές γραμμές, π.χ. όταν άλλαξαν οι διαθέσιμες θέσεις ενός δρομολογίου.
+     Δεν ξαναφορτώνει τη λίστα, οπότε η επιλογή και η θέση κύλισης διατηρούνται.
+     */
+    public void refresh() {
+        listView.refresh();
+    }
+
+    /**
+     Επαναλαμβάνει την τρέχουσα αναζήτηση, π.χ. μετά από προσθήκη ή διαγραφή οντοτήτων,
+     διατηρώντας την επιλογή αν η οντότητα εξακολουθεί να ταιριάζει.
+     */
+    public void reload() {
+        T selected = getValue();
+        listView.getItems().setAll(search.apply(filterField.getText()));
+        if (selected != null && listView.getItems().contains(selected)) {
+            listView.getSelectionModel().select(selected);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package travelbookingapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ Διαθεσιμότητα θέσεων ανά δρομολόγιο, ασφαλής για ταυτόχρονη χρήση από πολλά νήματα.
+ Κάθε δέσμευση ή επιστροφή είναι μία ατομική πράξη compare-and-set στον μετρητή θέσεων
+ του δρομολογίου, χωρίς κλειδώματα, οπότε κρατήσεις σε διαφορετικά δρομολόγια δεν
+ εμποδίζουν η μία την άλλη και δεν γίνεται ποτέ υπερκράτηση.
+ Τα δρομολόγια καταχωρούνται αυτόματα από το TravelData κατά την προσθήκη/αφαίρεσή τους.
+ */
+public class SeatInventory {
+    private final ConcurrentMap<Integer, Itinerary> itineraries = new ConcurrentHashMap<>();
+    private final ReadWriteLock reservations = new ReentrantReadWriteLock();
+
+    void register(Itinerary itinerary) {
+        itineraries.put(itinerary.getId(), itinerary);
+    }
+
+    void unregister(Itinerary itinerary) {
+        itineraries.remove(itinerary.getId(), itinerary);
+    }
+
+    /**
+     Δεσμεύει θέσεις σε ένα δρομολόγιο, μόνο αν επαρκούν.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @param seats Ο αριθμός θέσεων (θετικός).
+     @return true αν οι θέσεις δεσμεύτηκαν, false αν δεν επαρκούν.
+     @throws IllegalArgumentException Αν το δρομολόγιο δεν υπάρχει ή ο αριθμός θέσεων δεν είναι θετικός.
+     */
+    public boolean tryReserve(int itineraryId, int seats) {
+        return require(itineraryId).tryReserveSeats(seats);
+    }
+
+    /**
+     Δεσμεύει θέσεις σε πολλά δρομολόγια, όλες ή καμία: αν κάποιο δρομολόγιο δεν έχει αρκετές θέσεις,
+     οι δεσμεύσεις που έγιναν ήδη στα υπόλοιπα επιστρέφονται. Κάθε δρομολόγιο δεσμεύεται ατομικά,
+     οπότε κανένα δεν υπερκρατείται· άλλα νήματα μπορεί όμως να δουν προσωρινά μειωμένες θέσεις
+     σε ένα δρομολόγιο μιας δέσμης που τελικά αναιρείται.
+     @param seatsByItinerary Κωδικός δρομολογίου -> αριθμός θέσεων (θετικός).
+     @return true αν δεσμεύτηκαν όλες οι θέσεις, false αν δεν δεσμεύτηκε καμία.
+     @throws IllegalArgumentException Αν κάποιο δρομολόγιο δεν υπάρχει ή κάποιος αριθμός θέσεων δεν είναι θετικός.
+     */
+    public boolean tryReserveAll(Map<Integer, Integer> seatsByItinerary) {
+        List<Itinerary> legs = new ArrayList<>(seatsByItinerary.size());
+        for (Integer itineraryId : seatsByItinerary.keySet()) {
+            legs.add(require(itineraryId));
+        }
+        for (int i = 0; i < legs.size(); i++) {
+            Itinerary leg = legs.get(i);
+            if (!leg.tryReserveSeats(seatsByItinerary.get(leg.getId()))) {
+                for (int j = 0; j < i; j++) {
+                    legs.get(j).releaseSeats(seatsByItinerary.get(legs.get(j).getId()));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     Επιστρέφει θέσεις σε ένα δρομολόγιο.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @param seats Ο αριθμός θέσεων (θετικός).
+     @throws IllegalArgumentException Αν το δρομολόγιο δεν υπάρχει ή ο αριθμός θέσεων δεν είναι θετικός.
+     */
+    public void release(int itineraryId, int seats) {
+        require(itineraryId).releaseSeats(seats);
+    }
+
+    /**
+     Ακυρώνει μια κράτηση και επιστρέφει τη θέση της, μία μόνο φορά ακόμη και με ταυτόχρονες ακυρώσεις.
+     @param booking Η κράτηση.
+     @return true αν η κράτηση ακυρώθηκε τώρα, false αν ήταν ήδη ακυρωμένη.
+     */
+    public boolean cancel(Booking booking) {
+        if (!booking.cancel()) {
+            return false;
+        }
+        booking.getItinerary().releaseSeats(1);
+        return true;
+    }
+
+    /**
+     Επιστρέφει τις τρέχουσες διαθέσιμες θέσεις ενός δρομολογίου.
+     @param itineraryId Ο κωδικός του δρομολογίου.
+     @return Οι διαθέσιμες θέσεις.
+     @throws IllegalArgumentException Αν το δρομολόγιο δεν υπάρχει.
+     */
+    public int getAvailableSeats(int itineraryId) {
+        return require(itineraryId).getAvailableSeats();
+    }
+
+    /**
+     Επιστρέφει το κλείδωμα των δεσμεύσεων που γίνονται εκτός του κλειδώματος των δεδομένων.
+     Όποιος δεσμεύει θέσεις πριν προσθέσει την κράτηση κρατά το κοινό (read) κλείδωμα από τη δέσμευση μέχρι την
+     προσθήκη ή την επιστροφή των θέσεων· οι δεσμεύσεις δεν εμποδίζουν η μία την άλλη. Η αποθήκευση κρατά το
+     αποκλειστικό (write) κλείδωμα, ώστε το στιγμιότυπο να μη γράψει θέσεις δεσμευμένες για κράτηση που δεν έχει
+     προστεθεί ακόμη (και θα δεσμευόταν ξανά κατά την εφαρμογή του ημερολογίου).
+     Σειρά: πρώτα αυτό το κλείδωμα και μετά το κλείδωμα των δεδομένων.
+     @return Το κλείδωμα.
+     */
+    public ReadWriteLock getReservationLock() {
+        return reservations;
+    }
+
+    private Itinerary require(int itineraryId) {
+        Itinerary itinerary = itineraries.get(itineraryId);
+        if (itinerary == null) {
+            throw new IllegalArgumentException("Άγνωστο δρομολόγιο: " + itineraryId);
+        }
+        return itinerary;
+    }
+}
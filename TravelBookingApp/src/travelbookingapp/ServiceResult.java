@@ -0,0 +1,87 @@
+package travelbookingapp;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ Αποτέλεσμα μιας ενέργειας των υπηρεσιών (BookingService, CustomerService, ItineraryService).
+ Σε επιτυχία περιέχει την οντότητα που επηρεάστηκε και ένα future που ολοκληρώνεται όταν η αλλαγή
+ γραφτεί στο ημερολόγιο· σε αποτυχία περιέχει μήνυμα σφάλματος κατάλληλο για τον χρήστη και
+ τα δεδομένα δεν έχουν αλλάξει.
+ @param <T> Ο τύπος της οντότητας.
+ */
+public final class ServiceResult<T> {
+    /**
+     Η αιτία μιας αποτυχίας.
+     */
+    public enum Reason {
+        /** Μη έγκυρα ή ελλιπή στοιχεία. */
+        INVALID,
+        /** Η οντότητα δεν υπάρχει. */
+        NOT_FOUND,
+        /** Η ενέργεια συγκρούεται με την τρέχουσα κατάσταση (π.χ. δεν υπάρχουν θέσεις). */
+        CONFLICT
+    }
+
+    private static final CompletableFuture<Void> NOTHING_TO_SAVE = CompletableFuture.completedFuture(null);
+
+    private final T value;
+    private final Reason reason;
+    private final String error;
+    private final CompletableFuture<Void> saved;
+
+    private ServiceResult(T value, Reason reason, String error, CompletableFuture<Void> saved) {
+        this.value = value;
+        this.reason = reason;
+        this.error = error;
+        this.saved = saved;
+    }
+
+    static <T> ServiceResult<T> success(T value, CompletableFuture<Void> saved) {
+        return new ServiceResult<>(value, null, null, saved);
+    }
+
+    static <T> ServiceResult<T> failure(Reason reason, String error) {
+        return new ServiceResult<>(null, reason, error, NOTHING_TO_SAVE);
+    }
+
+    /**
+     Ελέγχει αν η ενέργεια πέτυχε.
+     @return true σε επιτυχία.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     Επιστρέφει την οντότητα που επηρεάστηκε.
+     @return Η οντότητα ή null σε αποτυχία.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     Επιστρέφει την αιτία της αποτυχίας.
+     @return Η αιτία ή null σε επιτυχία.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     Επιστρέφει το μήνυμα σφάλματος.
+     @return Το μήνυμα ή null σε επιτυχία.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     Επιστρέφει το future της αποθήκευσης της αλλαγής στο ημερολόγιο.
+     Σε αποτυχία της ενέργειας είναι ήδη ολοκληρωμένο.
+     @return Το future.
+     */
+    public CompletableFuture<Void> getSaved() {
+        return saved;
+    }
+}
@@ -0,0 +1,351 @@
+package travelbookingapp;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ Ανάγνωση και εγγραφή του travel_data.xml με StAX, εγγραφή προς εγγραφή.
+ Η μορφή είναι ίδια με αυτή που παράγει το JAXB για το TravelData, οπότε τα δύο είναι εναλλάξιμα.
+ Δεν δημιουργείται ενδιάμεσο δέντρο στη μνήμη: κάθε customer/itinerary/booking μετατρέπεται
+ σε αντικείμενο μόλις διαβαστεί, με σταθερό buffer ανάγνωσης.
+ Διαβάζει και τη μορφή των παλαιότερων αρχείων, όπου κάθε booking περιέχει αντίγραφα του πελάτη και του
+ δρομολογίου αντί για αναφορές: τα αντίγραφα αντιστοιχίζονται με βάση τις τιμές τους (πελάτης με το email,
+ δρομολόγιο με προορισμό, ημερομηνία και μέσο) στις οντότητες του αρχείου, ή προστίθενται αν δεν υπάρχουν.
+ */
+public class StreamingXmlCodec {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     Διαβάζει τα δεδομένα από αρχείο XML, αναφέροντας την πρόοδο.
+     @param file Το αρχείο XML.
+     @param progress Δέχεται την πρόοδο ως κλάσμα από 0 έως 1.
+     @return Τα δεδομένα που διαβάστηκαν.
+     @throws IOException Αν αποτύχει η ανάγνωση του αρχείου.
+     @throws XMLStreamException Αν το XML δεν είναι έγκυρο.
+     */
+    public static TravelData read(Path file, DoubleConsumer progress) throws IOException, XMLStreamException {
+        long size = Math.max(1, Files.size(file));
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                TravelData data = read(reader, () -> progress.accept(Math.min(1.0, in.count / (double) size)));
+                progress.accept(1.0);
+                return data;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static TravelData read(XMLStreamReader reader, Runnable reportProgress) throws XMLStreamException {
+        reader.nextTag();
+        reader.require(XMLStreamConstants.START_ELEMENT, null, "travelData");
+        TravelData data = new TravelData();
+        String sequence = reader.getAttributeValue(null, "journalSequence");
+        if (sequence != null) {
+            data.setJournalSequence(Long.parseLong(sequence));
+        }
+        String nextId = reader.getAttributeValue(null, "nextId");
+        if (nextId != null) {
+            data.setNextId(Integer.parseInt(nextId));
+        }
+
+        Map<String, Customer> customers = new HashMap<>();
+        Map<String, Itinerary> itineraries = new HashMap<>();
+        Map<String, Customer> customersByEmail = new HashMap<>();
+        List<String[]> pendingBookings = new ArrayList<>();
+        List<Map<String, String>> legacyBookings = new ArrayList<>();
+        Map<String, String> fields = new HashMap<>();
+        int records = 0;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String element = reader.getLocalName();
+            String id = reader.getAttributeValue(null, "id");
+            readFields(reader, fields);
+            try {
+                switch (element) {
+                    case "customer": {
+                        Customer customer = new Customer(fields.get("name"), fields.get("email"), fields.get("phone"));
+                        setXmlId(id, customer::setXmlId);
+                        data.addCustomer(customer);
+                        customers.put(id, customer);
+                        customersByEmail.putIfAbsent(customer.getEmail(), customer);
+                        break;
+                    }
+                    case "itinerary": {
+                        Itinerary itinerary = new Itinerary(fields.get("destination"), LocalDate.parse(fields.get("date")),
+                                Integer.parseInt(fields.get("availableSeats")), Double.parseDouble(fields.get("cost")),
+                                fields.get("transportType"));
+                        setXmlId(id, itinerary::setXmlId);
+                        data.addItinerary(itinerary);
+                        itineraries.put(id, itinerary);
+                        break;
+                    }
+                    case "booking": {
+                        if (!fields.containsKey("customer") || !fields.containsKey("itinerary")) {
+                            // Παλαιότερη μορφή με εμφωλευμένα αντίγραφα· αντιστοιχίζονται αφού διαβαστούν όλες οι οντότητες.
+                            Map<String, String> legacy = new HashMap<>(fields);
+                            legacy.put("id", id);
+                            legacyBookings.add(legacy);
+                            break;
+                        }
+                        Customer customer = customers.get(fields.get("customer"));
+                        Itinerary itinerary = itineraries.get(fields.get("itinerary"));
+                        if (customer != null && itinerary != null) {
+                            data.addBooking(createBooking(id, customer, itinerary, fields));
+                        } else {
+                            // Αναφορά σε οντότητα που εμφανίζεται αργότερα στο αρχείο· επιλύεται στο τέλος.
+                            pendingBookings.add(new String[] {id, fields.get("customer"), fields.get("itinerary"),
+                                    fields.get("bookingDate"), fields.get("cancelled")});
+                        }
+                        break;
+                    }
+                    default:
+                        System.err.println("Αγνοείται άγνωστο στοιχείο XML: " + element);
+                }
+            } catch (RuntimeException e) {
+                throw new XMLStreamException("Μη έγκυρη εγγραφή " + element + ": " + e.getMessage(), reader.getLocation(), e);
+            }
+            if (++records % PROGRESS_INTERVAL == 0) {
+                reportProgress.run();
+            }
+        }
+
+        for (String[] pending : pendingBookings) {
+            Customer customer = customers.get(pending[1]);
+            Itinerary itinerary = itineraries.get(pending[2]);
+            if (customer == null || itinerary == null) {
+                // Το αρχείο δεν διαβάζεται, ώστε να μη χαθεί η κράτηση με την επόμενη αποθήκευση.
+                throw new XMLStreamException("Η κράτηση " + pending[0] + " αναφέρεται σε πελάτη ("
+                        + pending[1] + ") ή δρομολόγιο (" + pending[2] + ") που δεν υπάρχει στο αρχείο.");
+            }
+            fields.clear();
+            fields.put("bookingDate", pending[3]);
+            fields.put("cancelled", pending[4]);
+            data.addBooking(createBooking(pending[0], customer, itinerary, fields));
+        }
+
+        for (Map<String, String> legacy : legacyBookings) {
+            try {
+                Customer customer = legacyCustomer(data, customersByEmail, legacy);
+                Itinerary itinerary = legacyItinerary(data, legacy);
+                data.addBooking(createBooking(legacy.get("id"), customer, itinerary, legacy));
+            } catch (RuntimeException e) {
+                throw new XMLStreamException("Μη έγκυρη εγγραφή booking (παλαιότερη μορφή): " + e.getMessage(), e);
+            }
+        }
+        return data;
+    }
+
+    // Ο πελάτης με το email του εμφωλευμένου αντιγράφου, ή το αντίγραφο ως νέος πελάτης αν δεν υπάρχει.
+    private static Customer legacyCustomer(TravelData data, Map<String, Customer> customersByEmail,
+                                           Map<String, String> fields) {
+        Customer customer = customersByEmail.get(fields.get("customer.email"));
+        if (customer == null) {
+            customer = new Customer(fields.get("customer.name"), fields.get("customer.email"), fields.get("customer.phone"));
+            data.addCustomer(customer);
+            customersByEmail.put(customer.getEmail(), customer);
+        }
+        return customer;
+    }
+
+    // Το δρομολόγιο με τον προορισμό, την ημερομηνία και το μέσο του εμφωλευμένου αντιγράφου,
+    // ή το αντίγραφο ως νέο δρομολόγιο αν δεν υπάρχει.
+    private static Itinerary legacyItinerary(TravelData data, Map<String, String> fields) {
+        String destination = fields.get("itinerary.destination");
+        LocalDate date = LocalDate.parse(fields.get("itinerary.date"));
+        String transportType = fields.get("itinerary.transportType");
+        for (Itinerary itinerary : data.getItinerariesOn(date)) {
+            if (Objects.equals(itinerary.getDestination(), destination)
+                    && Objects.equals(itinerary.getTransportType(), transportType)) {
+                return itinerary;
+            }
+        }
+        Itinerary itinerary = new Itinerary(destination, date, Integer.parseInt(fields.get("itinerary.availableSeats")),
+                Double.parseDouble(fields.get("itinerary.cost")), transportType);
+        data.addItinerary(itinerary);
+        return itinerary;
+    }
+
+    private static Booking createBooking(String id, Customer customer, Itinerary itinerary, Map<String, String> fields) {
+        Booking booking = new Booking(customer, itinerary, LocalDate.parse(fields.get("bookingDate")));
+        booking.setCancelled(Boolean.parseBoolean(fields.get("cancelled")));
+        setXmlId(id, booking::setXmlId);
+        return booking;
+    }
+
+    private static void setXmlId(String id, Consumer<String> setter) {
+        if (id != null) {
+            setter.accept(id);
+        }
+    }
+
+    // Διαβάζει τα υποστοιχεία μιας εγγραφής (όνομα -> κείμενο) μέχρι το κλείσιμό της.
+    // Τα εμφωλευμένα στοιχεία (παλαιότερη μορφή) καταχωρούνται με πρόθεμα, π.χ. "customer.email".
+    private static void readFields(XMLStreamReader reader, Map<String, String> fields) throws XMLStreamException {
+        fields.clear();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            readField(reader, fields, reader.getLocalName());
+        }
+    }
+
+    private static void readField(XMLStreamReader reader, Map<String, String> fields, String name) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        boolean nested = false;
+        for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                nested = true;
+                readField(reader, fields, name + "." + reader.getLocalName());
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+            }
+        }
+        if (!nested) {
+            fields.put(name, text.toString());
+        }
+    }
+
+    /**
+     Γράφει τα δεδομένα σε ροή XML, μία εγγραφή τη φορά.
+     @param data Τα δεδομένα.
+     @param out Η ροή εξόδου (δεν κλείνει).
+     @param formatted true για εσοχές και αλλαγές γραμμής.
+     @throws XMLStreamException Αν αποτύχει η εγγραφή.
+     */
+    public static void write(TravelData data, OutputStream out, boolean formatted) throws XMLStreamException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(buffered, "UTF-8");
+        String indent = formatted ? "\n    " : "";
+        String childIndent = formatted ? "\n        " : "";
+
+        writer.writeStartDocument("UTF-8", "1.0");
+        if (formatted) {
+            writer.writeCharacters("\n");
+        }
+        writer.writeStartElement("travelData");
+        writer.writeAttribute("journalSequence", Long.toString(data.getJournalSequence()));
+        writer.writeAttribute("nextId", Integer.toString(data.getNextId()));
+        for (Customer customer : data.getCustomers()) {
+            writer.writeCharacters(indent);
+            writer.writeStartElement("customer");
+            writer.writeAttribute("id", customer.getXmlId());
+            writeField(writer, childIndent, "email", customer.getEmail());
+            writeField(writer, childIndent, "name", customer.getName());
+            writeField(writer, childIndent, "phone", customer.getPhone());
+            writer.writeCharacters(indent);
+            writer.writeEndElement();
+        }
+        for (Itinerary itinerary : data.getItineraries()) {
+            writer.writeCharacters(indent);
+            writer.writeStartElement("itinerary");
+            writer.writeAttribute("id", itinerary.getXmlId());
+            writeField(writer, childIndent, "availableSeats", Integer.toString(itinerary.getAvailableSeats()));
+            writeField(writer, childIndent, "cost", Double.toString(itinerary.getCost()));
+            writeField(writer, childIndent, "date", itinerary.getDate().toString());
+            writeField(writer, childIndent, "destination", itinerary.getDestination());
+            writeField(writer, childIndent, "transportType", itinerary.getTransportType());
+            writer.writeCharacters(indent);
+            writer.writeEndElement();
+        }
+        for (Booking booking : data.getBookings()) {
+            writer.writeCharacters(indent);
+            writer.writeStartElement("booking");
+            writer.writeAttribute("id", booking.getXmlId());
+            writeField(writer, childIndent, "bookingDate", booking.getBookingDate().toString());
+            writeField(writer, childIndent, "cancelled", Boolean.toString(booking.isCancelled()));
+            writeField(writer, childIndent, "customer", booking.getCustomer().getXmlId());
+            writeField(writer, childIndent, "itinerary", booking.getItinerary().getXmlId());
+            writer.writeCharacters(indent);
+            writer.writeEndElement();
+        }
+        if (formatted) {
+            writer.writeCharacters("\n");
+        }
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+        try {
+            buffered.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException("Σφάλμα κατά την εγγραφή XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeField(XMLStreamWriter writer, String indent, String name, String value) throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        writer.writeCharacters(indent);
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    // Μετρά τα bytes που έχουν διαβαστεί, για την αναφορά προόδου.
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
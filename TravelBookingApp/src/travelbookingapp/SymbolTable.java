@@ -0,0 +1,100 @@
+package travelbookingapp;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ Λεξικό συμβόλων: αντιστοιχίζει κάθε διαφορετική τιμή ενός πεδίου που επαναλαμβάνεται πολύ (π.χ. προορισμός,
+ τύπος μέσου) σε έναν μικρό ακέραιο κωδικό, με τη σειρά που εμφανίζεται πρώτη φορά. Τα δρομολόγια κρατούν
+ μόνο τον κωδικό, οπότε κάθε τιμή υπάρχει μία φορά στη μνήμη όσα δρομολόγια κι αν τη χρησιμοποιούν
+ (και όσα αντίγραφά της κι αν δημιουργήσει ο αναγνώστης XML), και οι συγκρίσεις/ομαδοποιήσεις γίνονται με int.
+ Οι κωδικοί δεν αφαιρούνται ποτέ· το λεξικό προορίζεται για πεδία με περιορισμένο πλήθος διαφορετικών τιμών.
+ Τα λεξικά είναι κοινά για όλη την εφαρμογή, οπότε κρατούν κάθε τιμή που εμφανίστηκε (και σε τμήματα του αρχείου)
+ μέχρι τον τερματισμό· για τους προορισμούς αυτό είναι μία συμβολοσειρά ανά διαφορετικό προορισμό.
+ Ασφαλές για ταυτόχρονη χρήση· η ανάγνωση ενός συμβόλου δεν κλειδώνει.
+ */
+public final class SymbolTable {
+    /**
+     Οι προορισμοί των δρομολογίων.
+     */
+    public static final SymbolTable DESTINATIONS = new SymbolTable(Integer.MAX_VALUE);
+
+    /**
+     Οι τύποι μεταφορικού μέσου (κωδικοί έως 127, ώστε να χωρούν σε byte), με πρώτους τους τυπικούς τύπους.
+     Νέα δρομολόγια (φόρμα, μαζική εισαγωγή) δέχονται μόνο τους τυπικούς τύπους (ItineraryService.validate)·
+     άλλες τιμές προστίθενται μόνο από αρχεία παλαιότερων εκδόσεων.
+     */
+    public static final SymbolTable TRANSPORT_TYPES = new SymbolTable(Byte.MAX_VALUE + 1);
+
+    static {
+        Itinerary.STANDARD_TRANSPORT_TYPES.forEach(TRANSPORT_TYPES::code);
+    }
+
+    private final int capacity;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[16];
+    private int size;
+
+    private SymbolTable(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     Επιστρέφει τον κωδικό μιας τιμής, προσθέτοντάς την στο λεξικό αν δεν υπάρχει.
+     @param symbol Η τιμή (όχι null).
+     @return Ο κωδικός.
+     @throws IllegalArgumentException Αν το λεξικό έχει γεμίσει.
+     */
+    public int code(String symbol) {
+        Integer code = codes.get(symbol);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(symbol);
+            if (code != null) {
+                return code;
+            }
+            if (size == capacity) {
+                throw new IllegalArgumentException("Πάρα πολλές διαφορετικές τιμές (έως " + capacity + ").");
+            }
+            String[] current = symbols;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, (int) Math.min((long) size * 2, capacity));
+            }
+            // Η τιμή αποθηκεύεται πριν δημοσιευτεί ο κωδικός της.
+            current[size] = symbol;
+            symbols = current;
+            codes.put(symbol, size);
+            return size++;
+        }
+    }
+
+    /**
+     Επιστρέφει τον κωδικό μιας τιμής χωρίς να την προσθέσει.
+     @param symbol Η τιμή.
+     @return Ο κωδικός ή -1 αν η τιμή δεν υπάρχει στο λεξικό.
+     */
+    public int find(String symbol) {
+        Integer code = symbol == null ? null : codes.get(symbol);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     Επιστρέφει την τιμή ενός κωδικού.
+     @param code Ο κωδικός.
+     @return Η κοινή (μοναδική) παρουσία της τιμής.
+     */
+    public String symbol(int code) {
+        return symbols[code];
+    }
+
+    /**
+     Επιστρέφει το πλήθος των τιμών του λεξικού.
+     @return Το πλήθος (οι κωδικοί είναι 0 έως πλήθος - 1).
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
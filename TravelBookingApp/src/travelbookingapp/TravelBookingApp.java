@@ -1,14 +1,21 @@
 package travelbookingapp;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.image.Image;
+import javafx.scene.layout.VBox;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 import javax.xml.bind.JAXBException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
 Κύρια κλάση της εφαρμογής Σύστημα Ταξιδιωτικών Κρατήσεων.
@@ -16,53 +23,122 @@ import javax.xml.bind.JAXBException;
  */
 public class TravelBookingApp extends Application {
     private TravelData travelData;
+    private TravelModel model;
+    // Οι οθόνες δημιουργούνται την πρώτη φορά που ζητούνται και επαναχρησιμοποιούνται.
+    private final Map<String, javafx.scene.Node> views = new HashMap<>();
     private BorderPane root;
+    private MenuBar menuBar;
     private StackPane centerPane;
+    private BookingHttpServer httpServer;
 
     /**
-     Ξεκινά την εφαρμογή, ρυθμίζοντας το UI και φορτώνοντας τα δεδομένα.
+     Ξεκινά την εφαρμογή: εμφανίζει αμέσως το παράθυρο και φορτώνει τα δεδομένα στο παρασκήνιο.
+     Τα μενού ενεργοποιούνται μόλις τα δεδομένα είναι έτοιμα.
      @param primaryStage Το κύριο stage της εφαρμογής.
      */
     @Override
     public void start(Stage primaryStage) {
-        // Φόρτωση δεδομένων με χειρισμό σφαλμάτων
-        try {
-            travelData = DataManager.loadData();
-        } catch (JAXBException e) {
-            travelData = new TravelData();
-            showErrorAlert("Σφάλμα κατά τη φόρτωση δεδομένων. Ξεκινάμε με κενά δεδομένα.");
-        }
+        // Η εικόνα φόντου αποκωδικοποιείται στο παρασκήνιο όσο φορτώνονται τα δεδομένα
+        ResourceCache.preload();
 
         // Ρύθμιση βασικής διάταξης με BorderPane
         root = new BorderPane();
-        MenuBar menuBar = createMenuBar();
+        menuBar = createMenuBar();
+        menuBar.getMenus().forEach(menu -> menu.setDisable(true)); // Μέχρι να φορτωθούν τα δεδομένα
         root.setTop(menuBar);
 
         // Ρύθμιση StackPane για εικόνα φόντου και κεντρικό περιεχόμενο
         centerPane = new StackPane();
         setupBackgroundImage();
 
-        // Αρχικό κεντρικό περιεχόμενο
-        Label welcomeLabel = new Label("Καλώς ήρθατε στο Σύστημα Ταξιδιωτικών Κρατήσεων");
-        centerPane.getChildren().add(welcomeLabel);
+        // Ένδειξη προόδου όσο φορτώνονται τα δεδομένα
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(300);
+        Label loadingLabel = new Label("Φόρτωση δεδομένων...");
+        VBox loadingBox = new VBox(10, loadingLabel, progressBar);
+        loadingBox.setAlignment(Pos.CENTER);
+        centerPane.getChildren().add(loadingBox);
         root.setCenter(centerPane);
 
         // Ρύθμιση σκηνής με CSS
         Scene scene = new Scene(root, 800, 600);
-        scene.getStylesheets().add(getClass().getResource("/resources/styles.css").toExternalForm());
+        scene.getStylesheets().add(ResourceCache.getStylesheet());
         primaryStage.setScene(scene);
         primaryStage.setTitle("Σύστημα Ταξιδιωτικών Κρατήσεων");
 
-        // Χειρισμός κλεισίματος παραθύρου
+        // Χειρισμός κλεισίματος παραθύρου: γράφονται οι εκκρεμείς αλλαγές και πλήρες στιγμιότυπο.
+        // Αν τα δεδομένα δεν έχουν φορτωθεί (ακόμη ή λόγω σφάλματος) δεν αποθηκεύεται τίποτα, ώστε να μη χαθούν.
         primaryStage.setOnCloseRequest(event -> {
+            if (httpServer != null) {
+                httpServer.stop();
+            }
+            if (travelData == null) {
+                return;
+            }
             try {
-                DataManager.saveData(travelData);
+                DataManager.flushAndSave(travelData);
             } catch (JAXBException e) {
                 showErrorAlert("Σφάλμα κατά την αποθήκευση δεδομένων.");
             }
         });
 
         primaryStage.show();
+
+        // Φόρτωση δεδομένων στο παρασκήνιο, με αναφορά προόδου
+        Task<TravelData> loadTask = new Task<TravelData>() {
+            @Override
+            protected TravelData call() throws JAXBException {
+                TravelData data = DataManager.loadData(progress -> updateProgress(progress, 1.0));
+                // Τα δρομολόγια προηγούμενων μηνών μεταφέρονται στο αρχείο ανά μήνα
+                DataManager.archivePastDepartures(data);
+                // Τα συγκεντρωτικά στοιχεία των αναφορών υπολογίζονται εδώ, όχι όταν ανοίξει η οθόνη
+                data.getStatistics();
+                return data;
+            }
+        };
+        progressBar.progressProperty().bind(loadTask.progressProperty());
+        loadTask.setOnSucceeded(event -> onDataLoaded(loadTask.getValue()));
+        // Αν η φόρτωση αποτύχει η εφαρμογή τερματίζει χωρίς να αποθηκεύσει: η εκκίνηση με κενά δεδομένα
+        // θα αντικαθιστούσε το αρχείο του χρήστη με κενό στιγμιότυπο στο κλείσιμο.
+        loadTask.setOnFailed(event -> {
+            System.err.println("Σφάλμα κατά τη φόρτωση δεδομένων: " + loadTask.getException().getMessage());
+            showErrorAlert("Σφάλμα κατά τη φόρτωση δεδομένων: " + loadTask.getException().getMessage()
+                    + "\nΗ εφαρμογή θα τερματιστεί χωρίς να αλλάξει τα αρχεία δεδομένων.");
+            Platform.exit();
+        });
+        Thread loader = new Thread(loadTask, "travel-data-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Καλείται στο νήμα του JavaFX όταν τα δεδομένα είναι έτοιμα: ξεκινά τον προαιρετικό HTTP server,
+    // δημιουργεί το κοινό μοντέλο και ενεργοποιεί τα μενού.
+    private void onDataLoaded(TravelData data) {
+        travelData = data;
+
+        // Προαιρετικός HTTP server πάνω στα ίδια δεδομένα (-Dtravelbooking.http.port=...)
+        String httpPort = System.getProperty("travelbooking.http.port");
+        if (httpPort != null) {
+            try {
+                httpServer = new BookingHttpServer(travelData, Integer.parseInt(httpPort));
+                httpServer.start();
+            } catch (IOException | NumberFormatException e) {
+                showErrorAlert("Δεν ήταν δυνατή η εκκίνηση του HTTP server: " + e.getMessage());
+            }
+        }
+
+        // Κοινό μοντέλο για όλες τις οθόνες, ενημερώνεται από τις αλλαγές του TravelData
+        model = new TravelModel(travelData);
+
+        // Αρχικό κεντρικό περιεχόμενο
+        Label welcomeLabel = new Label("Καλώς ήρθατε στο Σύστημα Ταξιδιωτικών Κρατήσεων");
+        updateCenterPane(welcomeLabel);
+        menuBar.getMenus().forEach(menu -> menu.setDisable(false));
+
+        // Για τη δημιουργία αρχείου AppCDS (βλ. στόχο cds-archive στο build.xml): έξοδος μόλις ξεκινήσει η εφαρμογή
+        if (Boolean.getBoolean("travelbooking.exitAfterStartup")) {
+            Platform.exit();
+        }
     }
 
     /**
@@ -75,38 +151,47 @@ public class TravelBookingApp extends Application {
         // Μενού Πελατών
         Menu customerMenu = new Menu("Πελάτες");
         MenuItem manageCustomers = new MenuItem("Διαχείριση Πελατών");
-        manageCustomers.setOnAction(event -> updateCenterPane(new CustomerManager(travelData).getPane()));
+        manageCustomers.setOnAction(event -> showView("customers", () -> new CustomerManager(model).getPane()));
         customerMenu.getItems().add(manageCustomers);
 
         // Μενού Δρομολογίων
         Menu itineraryMenu = new Menu("Δρομολόγια");
         MenuItem manageItineraries = new MenuItem("Διαχείριση Δρομολογίων");
-        manageItineraries.setOnAction(event -> updateCenterPane(new ItineraryManager(travelData).getPane()));
+        manageItineraries.setOnAction(event -> showView("itineraries", () -> new ItineraryManager(model).getPane()));
         itineraryMenu.getItems().add(manageItineraries);
 
         // Μενού Κρατήσεων
         Menu bookingMenu = new Menu("Κρατήσεις");
         MenuItem manageBookings = new MenuItem("Διαχείριση Κρατήσεων");
-        manageBookings.setOnAction(event -> updateCenterPane(new BookingManager(travelData).getPane()));
+        manageBookings.setOnAction(event -> showView("bookings", () -> new BookingManager(model).getPane()));
         bookingMenu.getItems().add(manageBookings);
 
         // Μενού Αναφορών
         Menu reportMenu = new Menu("Αναφορές");
         MenuItem viewReports = new MenuItem("Προβολή Αναφορών");
-        viewReports.setOnAction(event -> updateCenterPane(new ReportManager(travelData).getPane()));
+        viewReports.setOnAction(event -> showView("reports", () -> new ReportManager(model).getPane()));
         reportMenu.getItems().add(viewReports);
 
         menuBar.getMenus().addAll(customerMenu, itineraryMenu, bookingMenu, reportMenu);
         return menuBar;
     }
 
+    // Εμφανίζει μια οθόνη, δημιουργώντας την μόνο την πρώτη φορά· οι λίστες της ενημερώνονται από το μοντέλο.
+    private void showView(String name, Supplier<javafx.scene.Node> factory) {
+        updateCenterPane(views.computeIfAbsent(name, key -> createView(factory)));
+    }
+
+    // Δημιουργεί μια οθόνη κρατώντας το κλείδωμα των δεδομένων, ώστε οι λίστες να διαβάζονται
+    // συνεπείς ακόμη και όταν ο HTTP server κάνει ταυτόχρονα αλλαγές.
+    private javafx.scene.Node createView(Supplier<javafx.scene.Node> factory) {
+        synchronized (travelData) {
+            return factory.get();
+        }
+    }
+
     //Ρυθμίζει την εικόνα φόντου στο StackPane
     private void setupBackgroundImage() {
-        Image image = new Image(getClass().getResourceAsStream("/resources/travel_image.jpg"));
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(800);
-        imageView.setFitHeight(600);
-        imageView.setPreserveRatio(true);
+        ImageView imageView = ResourceCache.createBackgroundView();
         centerPane.getChildren().add(0, imageView); // Προσθήκη στο index 0 για να είναι φόντο
     }
 
@@ -116,6 +201,9 @@ public class TravelBookingApp extends Application {
      */
     private void updateCenterPane(javafx.scene.Node newContent) {
         if (centerPane.getChildren().size() > 1) {
+            if (centerPane.getChildren().get(1) == newContent) {
+                return; // Η οθόνη εμφανίζεται ήδη
+            }
             centerPane.getChildren().set(1, newContent); // Αντικατάσταση του περιεχομένου
         } else {
             centerPane.getChildren().add(newContent); // Προσθήκη αν δεν υπάρχει
@@ -1,113 +1,794 @@
 package travelbookingapp;
 
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlType;
 
-//Συγκεντρώνει όλα τα δεδομένα της εφαρμογής, όπως πελάτες, δρομολόγια και κρατήσεις
+/**
+ Συγκεντρώνει όλα τα δεδομένα της εφαρμογής, όπως πελάτες, δρομολόγια και κρατήσεις.
+ Λειτουργεί ως αποθετήριο με ευρετήρια: κάθε οντότητα βρίσκεται σε O(1) με βάση τον κωδικό της,
+ και διατηρούνται δευτερεύοντα ευρετήρια (κρατήσεις ανά πελάτη και ανά δρομολόγιο,
+ δρομολόγια ανά προορισμό και ανά ημερομηνία, καθώς και ευρετήρια αναζήτησης με πρόθεμα για πελάτες
+ και δρομολόγια). Όλες οι αλλαγές πρέπει να γίνονται μέσω των
+ μεθόδων της κλάσης ώστε τα ευρετήρια να μένουν συνεπή· οι λίστες που επιστρέφονται είναι μόνο για ανάγνωση.
+ Οι αλλαγές γνωστοποιούνται σε όσους έχουν εγγραφεί με addListener (π.χ. το TravelModel της διεπαφής).
+ */
 @XmlRootElement
+@XmlAccessorType(XmlAccessType.NONE)
+@XmlType(propOrder = {"xmlCustomers", "xmlItineraries", "xmlBookings"})
 public class TravelData {
-    private List<Customer> customers = new ArrayList<>();
-    private List<Itinerary> itineraries = new ArrayList<>();
-    private List<Booking> bookings = new ArrayList<>();
+    /**
+     Το είδος μιας αλλαγής στο αποθετήριο.
+     */
+    public enum Change {ADDED, UPDATED, REMOVED}
+
+    /**
+     Ειδοποιείται για κάθε αλλαγή σε πελάτη, δρομολόγιο ή κράτηση. Καλείται στο νήμα που κάνει την αλλαγή
+     και ενώ αυτό κρατά το κλείδωμα των δεδομένων, οπότε πρέπει να είναι σύντομος και να μην τα αλλάζει.
+     */
+    public interface Listener {
+        /**
+         @param change Το είδος της αλλαγής.
+         @param entity Ο πελάτης, το δρομολόγιο ή η κράτηση που άλλαξε.
+         */
+        void changed(Change change, Object entity);
+
+        /**
+         Ειδοποιείται με μία κλήση για πολλές οντότητες που προστέθηκαν μαζί (μαζική εισαγωγή, ομαδική κράτηση),
+         ώστε π.χ. η διεπαφή να τις προσθέσει με μία ενημέρωση. Η προεπιλογή καλεί το changed(ADDED) για καθεμία.
+         @param entities Οι οντότητες, με τη σειρά προσθήκης (μόνο για ανάγνωση).
+         */
+        default void addedAll(List<?> entities) {
+            entities.forEach(entity -> changed(Change.ADDED, entity));
+        }
+    }
+
+    // Κύρια αποθήκευση: κωδικός -> οντότητα, με σειρά εισαγωγής.
+    private final Map<Integer, Customer> customers = new LinkedHashMap<>();
+    private final Map<Integer, Itinerary> itineraries = new LinkedHashMap<>();
+    private final Map<Integer, Booking> bookings = new LinkedHashMap<>();
+
+    // Δευτερεύοντα ευρετήρια (εσωτερικός χάρτης: κωδικός -> οντότητα).
+    private final Map<Integer, Map<Integer, Booking>> bookingsByCustomer = new LinkedHashMap<>();
+    private final Map<Integer, Map<Integer, Booking>> bookingsByItinerary = new LinkedHashMap<>();
+    private final NavigableMap<String, Map<Integer, Itinerary>> itinerariesByDestination = new TreeMap<>();
+    private final NavigableMap<LocalDate, Map<Integer, Itinerary>> itinerariesByDate = new TreeMap<>();
+
+    // Ευρετήρια αναζήτησης για τις λίστες επιλογής της διεπαφής.
+    private final PrefixIndex<Customer> customerSearch = new PrefixIndex<>(Customer::getId,
+            c -> Arrays.asList(c.getName(), c.getEmail(), c.getPhone()));
+    private final PrefixIndex<Itinerary> itinerarySearch = new PrefixIndex<>(Itinerary::getId,
+            i -> Arrays.asList(i.getDestination(), i.getTransportType(), String.valueOf(i.getDate())));
+
+    // Ευρετήρια για την αναζήτηση δρομολογίων με πολλά κριτήρια.
+    private final ItineraryIndex itineraryIndex = new ItineraryIndex(itineraries, itinerariesByDate);
+
+    // Διαθεσιμότητα θέσεων, ασφαλής για ταυτόχρονη χρήση.
+    private final SeatInventory seatInventory = new SeatInventory();
 
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Συγκεντρωτικά στοιχεία για τις αναφορές· δημιουργούνται την πρώτη φορά που ζητούνται.
+    private BookingStatistics statistics;
+    // Τα σύνολα των αρχειοθετημένων κρατήσεων, που προστίθενται στα συγκεντρωτικά στοιχεία.
+    private DataArchive.Totals archivedTotals;
+
+    // Χρησιμοποιούνται μόνο από το JAXB κατά τη σειριοποίηση/φόρτωση.
     @XmlElement(name = "customer")
+    private List<Customer> xmlCustomers;
+    @XmlElement(name = "itinerary")
+    private List<Itinerary> xmlItineraries;
+    @XmlElement(name = "booking")
+    private List<Booking> xmlBookings;
+
+    private long journalSequence;
+    private int nextId = 1;
+
+    @XmlAttribute
+    /**
+     Επιστρέφει τον αύξοντα αριθμό της τελευταίας εγγραφής ημερολογίου που περιέχεται στα δεδομένα.
+     @return Ο αύξων αριθμός.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     Ορίζει τον αύξοντα αριθμό της τελευταίας εγγραφής ημερολογίου που περιέχεται στα δεδομένα.
+     @param journalSequence Ο νέος αύξων αριθμός.
+     */
+    public void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    @XmlAttribute
+    /**
+     Επιστρέφει τον επόμενο ελεύθερο κωδικό οντότητας.
+     Αποθηκεύεται ώστε οι κωδικοί διαγραμμένων οντοτήτων να μην επαναχρησιμοποιούνται.
+     @return Ο επόμενος κωδικός.
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     Ορίζει τον επόμενο ελεύθερο κωδικό οντότητας.
+     @param nextId Ο νέος επόμενος κωδικός.
+     */
+    public void setNextId(int nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     Εγγράφει έναν παρατηρητή των αλλαγών.
+     @param listener Ο παρατηρητής.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     Διαγράφει έναν παρατηρητή των αλλαγών.
+     @param listener Ο παρατηρητής.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     Επιστρέφει τα συγκεντρωτικά στοιχεία των κρατήσεων. Την πρώτη φορά τα υπολογίζει από όλες τις κρατήσεις
+     (κατά προτίμηση στο παρασκήνιο, μετά τη φόρτωση)· από εκεί και πέρα ενημερώνονται με κάθε αλλαγή.
+     @return Τα συγκεντρωτικά στοιχεία.
+     */
+    public synchronized BookingStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new BookingStatistics(this);
+            if (archivedTotals != null) {
+                statistics.setArchived(archivedTotals);
+            }
+            addListener(statistics);
+        }
+        return statistics;
+    }
+
     /**
-     Επιστρέφει τη λίστα των πελατών.
-     @return Λίστα πελατών.
+     Ορίζει τα σύνολα των κρατήσεων που έχουν μεταφερθεί στο αρχείο, ώστε τα συγκεντρωτικά στοιχεία να
+     καλύπτουν και το ιστορικό (οι κρατήσεις αυτές έχουν αφαιρεθεί από τα ενεργά δεδομένα).
+     @param totals Τα σύνολα του αρχείου.
      */
-    public List<Customer> getCustomers() {
-        return customers;
+    synchronized void setArchivedTotals(DataArchive.Totals totals) {
+        archivedTotals = totals;
+        if (statistics != null) {
+            statistics.setArchived(totals);
+        }
     }
 
     /**
-     Ορίζει τη λίστα των πελατών, δημιουργώντας αντίγραφο για ασφάλεια.
-     @param customers Η νέα λίστα πελατών.
+     Επιστρέφει τους πελάτες (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Οι πελάτες.
      */
-    public void setCustomers(List<Customer> customers) {
-        this.customers = new ArrayList<>(customers);
+    public Collection<Customer> getCustomers() {
+        return Collections.unmodifiableCollection(customers.values());
     }
 
     /**
-     Προσθέτει έναν πελάτη στη λίστα.
+     Αντικαθιστά όλους τους πελάτες.
+     @param customers Οι νέοι πελάτες.
+     */
+    public void setCustomers(Collection<Customer> customers) {
+        new ArrayList<>(this.customers.values()).forEach(this::removeCustomer);
+        customers.forEach(this::addCustomer);
+    }
+
+    /**
+     Προσθέτει έναν πελάτη, δίνοντάς του κωδικό αν δεν έχει.
      @param customer Ο πελάτης που θα προστεθεί.
+     @throws IllegalArgumentException Αν υπάρχει ήδη πελάτης με τον ίδιο κωδικό.
      */
     public void addCustomer(Customer customer) {
-        customers.add(customer);
+        putCustomer(customer);
+        fire(Change.ADDED, customer);
+    }
+
+    /**
+     Προσθέτει πολλούς πελάτες μαζί, όλους ή κανέναν, με μία ειδοποίηση (Listener.addedAll).
+     @param batch Οι νέοι πελάτες.
+     @throws IllegalArgumentException Αν υπάρχει ήδη πελάτης με τον κωδικό κάποιου· τότε δεν προστίθεται κανένας.
+     */
+    public void addCustomers(Collection<Customer> batch) {
+        List<Customer> added = new ArrayList<>(batch.size());
+        try {
+            for (Customer customer : batch) {
+                putCustomer(customer);
+                added.add(customer);
+            }
+        } catch (RuntimeException e) {
+            added.forEach(this::dropCustomer);
+            throw e;
+        }
+        fireAddedAll(added);
+    }
+
+    /**
+     Ενημερώνει τα στοιχεία ενός πελάτη.
+     @param customer Ο πελάτης.
+     @param name Το νέο όνομα.
+     @param email Το νέο email.
+     @param phone Το νέο τηλέφωνο.
+     */
+    public void updateCustomer(Customer customer, String name, String email, String phone) {
+        customerSearch.remove(customer);
+        try {
+            customer.setName(name);
+            customer.setEmail(email);
+            customer.setPhone(phone);
+        } finally {
+            customerSearch.add(customer);
+            fire(Change.UPDATED, customer);
+        }
     }
 
     /**
-     Αφαιρεί έναν πελάτη από τη λίστα.
+     Αφαιρεί έναν πελάτη.
      @param customer Ο πελάτης που θα αφαιρεθεί.
      */
     public void removeCustomer(Customer customer) {
-        customers.remove(customer);
+        if (dropCustomer(customer)) {
+            fire(Change.REMOVED, customer);
+        }
+    }
+
+    /**
+     Βρίσκει πελάτη με βάση τον κωδικό του.
+     @param id Ο κωδικός του πελάτη.
+     @return Ο πελάτης ή null αν δεν υπάρχει.
+     */
+    public Customer findCustomer(int id) {
+        return customers.get(id);
     }
 
-    @XmlElement(name = "itinerary")
     /**
-     Επιστρέφει τη λίστα των δρομολογίων.
-     @return Λίστα δρομολογίων.
+     Αναζητά πελάτες με πρόθεμα λέξεων στο όνομα, το email ή το τηλέφωνο, χωρίς διάκριση πεζών/τόνων.
+     @param query Το κείμενο αναζήτησης· αν είναι κενό επιστρέφονται οι πρώτοι πελάτες.
+     @param limit Το μέγιστο πλήθος αποτελεσμάτων.
+     @return Οι πελάτες που ταιριάζουν.
      */
-    public List<Itinerary> getItineraries() {
-        return itineraries;
+    public List<Customer> searchCustomers(String query, int limit) {
+        return search(customerSearch, customers, query, limit);
     }
 
     /**
-     Ορίζει τη λίστα των δρομολογίων, δημιουργώντας αντίγραφο.
-     @param itineraries Η νέα λίστα δρομολογίων.
+     Επιστρέφει τα δρομολόγια (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Τα δρομολόγια.
      */
-    public void setItineraries(List<Itinerary> itineraries) {
-        this.itineraries = new ArrayList<>(itineraries);
+    public Collection<Itinerary> getItineraries() {
+        return Collections.unmodifiableCollection(itineraries.values());
     }
 
     /**
-     Προσθέτει ένα δρομολόγιο στη λίστα.
+     Αντικαθιστά όλα τα δρομολόγια.
+     @param itineraries Τα νέα δρομολόγια.
+     */
+    public void setItineraries(Collection<Itinerary> itineraries) {
+        new ArrayList<>(this.itineraries.values()).forEach(this::removeItinerary);
+        itineraries.forEach(this::addItinerary);
+    }
+
+    /**
+     Προσθέτει ένα δρομολόγιο, δίνοντάς του κωδικό αν δεν έχει.
      @param itinerary Το δρομολόγιο που θα προστεθεί.
+     @throws IllegalArgumentException Αν υπάρχει ήδη δρομολόγιο με τον ίδιο κωδικό.
      */
     public void addItinerary(Itinerary itinerary) {
-        itineraries.add(itinerary);
+        putItinerary(itinerary);
+        fire(Change.ADDED, itinerary);
+    }
+
+    /**
+     Προσθέτει πολλά δρομολόγια μαζί, όλα ή κανένα, με μία ειδοποίηση (Listener.addedAll).
+     @param batch Τα νέα δρομολόγια.
+     @throws IllegalArgumentException Αν υπάρχει ήδη δρομολόγιο με τον κωδικό κάποιου· τότε δεν προστίθεται κανένα.
+     */
+    public void addItineraries(Collection<Itinerary> batch) {
+        List<Itinerary> added = new ArrayList<>(batch.size());
+        try {
+            for (Itinerary itinerary : batch) {
+                putItinerary(itinerary);
+                added.add(itinerary);
+            }
+        } catch (RuntimeException e) {
+            added.forEach(this::dropItinerary);
+            throw e;
+        }
+        fireAddedAll(added);
+    }
+
+    /**
+     Ενημερώνει τα στοιχεία ενός δρομολογίου, διατηρώντας τα ευρετήρια προορισμού και ημερομηνίας.
+     @param itinerary Το δρομολόγιο.
+     @param destination Ο νέος προορισμός.
+     @param date Η νέα ημερομηνία.
+     @param availableSeats Οι νέες διαθέσιμες θέσεις.
+     @param cost Το νέο κόστος.
+     @param transportType Ο νέος τύπος μεταφορικού μέσου.
+     @throws IllegalArgumentException Αν κάποια τιμή δεν είναι έγκυρη.
+     */
+    public void updateItinerary(Itinerary itinerary, String destination, LocalDate date, int availableSeats,
+                                double cost, String transportType) {
+        unindexItinerary(itinerary);
+        try {
+            itinerary.setDestination(destination);
+            itinerary.setDate(date);
+            itinerary.setAvailableSeats(availableSeats);
+            itinerary.setCost(cost);
+            itinerary.setTransportType(transportType);
+        } finally {
+            indexItinerary(itinerary);
+            fire(Change.UPDATED, itinerary);
+        }
     }
 
     /**
-     Αφαιρεί ένα δρομολόγιο από τη λίστα.
+     Αφαιρεί ένα δρομολόγιο.
      @param itinerary Το δρομολόγιο που θα αφαιρεθεί.
      */
     public void removeItinerary(Itinerary itinerary) {
-        itineraries.remove(itinerary);
+        if (dropItinerary(itinerary)) {
+            fire(Change.REMOVED, itinerary);
+        }
     }
-    
-    @XmlElement(name = "booking")
+
     /**
-     Επιστρέφει τη λίστα των κρατήσεων.
-     @return Λίστα κρατήσεων.
+     Βρίσκει δρομολόγιο με βάση τον κωδικό του.
+     @param id Ο κωδικός του δρομολογίου.
+     @return Το δρομολόγιο ή null αν δεν υπάρχει.
      */
-    public List<Booking> getBookings() {
-        return bookings;
+    public Itinerary findItinerary(int id) {
+        return itineraries.get(id);
     }
-    
+
     /**
-     Ορίζει τη λίστα των κρατήσεων, δημιουργώντας αντίγραφο.
-     @param bookings Η νέα λίστα κρατήσεων.
+     Αναζητά δρομολόγια με πρόθεμα λέξεων στον προορισμό, το μεταφορικό μέσο ή την ημερομηνία (π.χ. "αθην 2025-06").
+     @param query Το κείμενο αναζήτησης· αν είναι κενό επιστρέφονται τα πρώτα δρομολόγια.
+     @param limit Το μέγιστο πλήθος αποτελεσμάτων.
+     @return Τα δρομολόγια που ταιριάζουν.
      */
-    public void setBookings(List<Booking> bookings) {
-        this.bookings = new ArrayList<>(bookings);
+    public List<Itinerary> searchItineraries(String query, int limit) {
+        return search(itinerarySearch, itineraries, query, limit);
     }
-    
+
     /**
-     Προσθέτει μια κράτηση στη λίστα.
+     Αναζητά δρομολόγια με πολλά κριτήρια (προορισμός, εύρος ημερομηνιών, μέγιστο κόστος, μέσο, ελάχιστες θέσεις),
+     μέσω ταξινομημένων ευρετηρίων και bitmap, χωρίς σάρωση όλων των δρομολογίων.
+     @param query Τα κριτήρια.
+     @param limit Το μέγιστο πλήθος αποτελεσμάτων.
+     @return Τα δρομολόγια που ταιριάζουν.
+     */
+    public List<Itinerary> searchItineraries(ItineraryQuery query, int limit) {
+        return itineraryIndex.search(query, limit);
+    }
+
+    /**
+     Επιστρέφει τα δρομολόγια προς έναν προορισμό.
+     @param destination Ο προορισμός (ακριβής τιμή).
+     @return Τα δρομολόγια (μόνο για ανάγνωση).
+     */
+    public Collection<Itinerary> getItinerariesByDestination(String destination) {
+        return view(itinerariesByDestination.get(destination));
+    }
+
+    /**
+     Επιστρέφει τα δρομολόγια μιας ημερομηνίας.
+     @param date Η ημερομηνία.
+     @return Τα δρομολόγια (μόνο για ανάγνωση).
+     */
+    public Collection<Itinerary> getItinerariesOn(LocalDate date) {
+        return view(itinerariesByDate.get(date));
+    }
+
+    /**
+     Επιστρέφει τα δρομολόγια σε ένα εύρος ημερομηνιών (συμπεριλαμβανομένων των άκρων), ταξινομημένα κατά ημερομηνία.
+     @param from Η αρχή του εύρους.
+     @param to Το τέλος του εύρους.
+     @return Τα δρομολόγια.
+     */
+    public List<Itinerary> getItinerariesBetween(LocalDate from, LocalDate to) {
+        List<Itinerary> result = new ArrayList<>();
+        itinerariesByDate.subMap(from, true, to, true).values().forEach(byId -> result.addAll(byId.values()));
+        return result;
+    }
+
+    /**
+     Επιστρέφει μία σελίδα δρομολογίων ταξινομημένων κατά ημερομηνία και κωδικό, που ακολουθούν μια θέση
+     (σελιδοποίηση με κλειδί): η επόμενη σελίδα ζητείται με την ημερομηνία και τον κωδικό του τελευταίου δρομολογίου,
+     οπότε το κόστος δεν εξαρτάται από το πόσες σελίδες προηγήθηκαν. Χωρίς προορισμό διατρέχονται μόνο οι ημέρες
+     από τη θέση και μετά· με προορισμό, τα δρομολόγια του προορισμού.
+     @param destination Ο προορισμός (ακριβής τιμή) ή null για όλους.
+     @param from Η αρχή του εύρους ημερομηνιών (συμπεριλαμβάνεται).
+     @param to Το τέλος του εύρους ημερομηνιών (συμπεριλαμβάνεται).
+     @param afterDate Η ημερομηνία του τελευταίου δρομολογίου της προηγούμενης σελίδας ή null για την πρώτη σελίδα.
+     @param afterId Ο κωδικός του τελευταίου δρομολογίου της προηγούμενης σελίδας (αγνοείται αν afterDate είναι null).
+     @param limit Το μέγιστο πλήθος δρομολογίων.
+     @return Τα δρομολόγια.
+     */
+    public List<Itinerary> getItinerariesAfter(String destination, LocalDate from, LocalDate to,
+                                               LocalDate afterDate, int afterId, int limit) {
+        List<Itinerary> result = new ArrayList<>();
+        if (destination != null) {
+            for (Itinerary itinerary : getItinerariesByDestination(destination)) {
+                if (!itinerary.getDate().isBefore(from) && !itinerary.getDate().isAfter(to)
+                        && isAfter(itinerary, afterDate, afterId)) {
+                    result.add(itinerary);
+                }
+            }
+            result.sort(Comparator.comparing(Itinerary::getDate).thenComparingInt(Itinerary::getId));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+        LocalDate start = afterDate != null && afterDate.isAfter(from) ? afterDate : from;
+        if (start.isAfter(to)) {
+            return result;
+        }
+        for (Map<Integer, Itinerary> day : itinerariesByDate.subMap(start, true, to, true).values()) {
+            List<Itinerary> sameDay = new ArrayList<>(day.values());
+            sameDay.sort(Comparator.comparingInt(Itinerary::getId));
+            for (Itinerary itinerary : sameDay) {
+                if (isAfter(itinerary, afterDate, afterId)) {
+                    result.add(itinerary);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAfter(Itinerary itinerary, LocalDate afterDate, int afterId) {
+        if (afterDate == null) {
+            return true;
+        }
+        int byDate = itinerary.getDate().compareTo(afterDate);
+        return byDate > 0 || (byDate == 0 && itinerary.getId() > afterId);
+    }
+
+    /**
+     Επιστρέφει τη διαθεσιμότητα θέσεων των δρομολογίων. Σε αντίθεση με τις υπόλοιπες μεθόδους,
+     μπορεί να χρησιμοποιείται ταυτόχρονα από πολλά νήματα.
+     @return Η διαθεσιμότητα θέσεων.
+     */
+    public SeatInventory getSeatInventory() {
+        return seatInventory;
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Οι κρατήσεις.
+     */
+    public Collection<Booking> getBookings() {
+        return Collections.unmodifiableCollection(bookings.values());
+    }
+
+    /**
+     Αντικαθιστά όλες τις κρατήσεις.
+     @param bookings Οι νέες κρατήσεις.
+     */
+    public void setBookings(Collection<Booking> bookings) {
+        new ArrayList<>(this.bookings.values()).forEach(this::removeBooking);
+        bookings.forEach(this::addBooking);
+    }
+
+    /**
+     Προσθέτει μια κράτηση, δίνοντάς της κωδικό αν δεν έχει.
      @param booking Η κράτηση που θα προστεθεί.
+     @throws IllegalArgumentException Αν υπάρχει ήδη κράτηση με τον ίδιο κωδικό.
      */
     public void addBooking(Booking booking) {
-        bookings.add(booking);
+        putBooking(booking);
+        fire(Change.ADDED, booking);
+        // Οι διαθέσιμες θέσεις του δρομολογίου έχουν δεσμευτεί από αυτόν που προσθέτει την κράτηση.
+        fire(Change.UPDATED, booking.getItinerary());
+    }
+
+    /**
+     Προσθέτει πολλές κρατήσεις μαζί, δεσμεύοντας τις θέσεις τους όλες ή καμία.
+     Αν κάποιο δρομολόγιο δεν έχει αρκετές θέσεις, δεν αλλάζει τίποτα.
+     @param batch Οι νέες κρατήσεις.
+     @return true αν προστέθηκαν όλες, false αν δεν υπάρχουν αρκετές θέσεις.
+     @throws IllegalArgumentException Αν κάποια κράτηση δεν είναι έγκυρη· στην περίπτωση αυτή δεν προστίθεται καμία.
+     */
+    public boolean addBookings(List<Booking> batch) {
+        Map<Integer, Integer> seats = new LinkedHashMap<>();
+        for (Booking booking : batch) {
+            seats.merge(booking.getItinerary().getId(), 1, Integer::sum);
+        }
+        if (!seatInventory.tryReserveAll(seats)) {
+            return false;
+        }
+        try {
+            addReservedBookings(batch);
+        } catch (RuntimeException e) {
+            seats.forEach(seatInventory::release);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     Προσθέτει πολλές κρατήσεις μαζί, όλες ή καμία, για τις οποίες ο καλών έχει ήδη δεσμεύσει θέσεις
+     (π.χ. με το SeatInventory εκτός του κλειδώματος των δεδομένων), με μία ειδοποίηση για τις κρατήσεις
+     (Listener.addedAll) και μία ενημέρωση για κάθε δρομολόγιο.
+     @param batch Οι νέες κρατήσεις.
+     @throws IllegalArgumentException Αν κάποια κράτηση δεν είναι έγκυρη· στην περίπτωση αυτή δεν προστίθεται καμία
+     και ο καλών πρέπει να επιστρέψει τις θέσεις.
+     */
+    void addReservedBookings(List<Booking> batch) {
+        List<Booking> added = new ArrayList<>(batch.size());
+        try {
+            for (Booking booking : batch) {
+                putBooking(booking);
+                added.add(booking);
+            }
+        } catch (RuntimeException e) {
+            added.forEach(this::dropBooking);
+            throw e;
+        }
+        fireAddedAll(added);
+        Map<Integer, Itinerary> legs = new LinkedHashMap<>();
+        added.forEach(booking -> legs.put(booking.getItinerary().getId(), booking.getItinerary()));
+        legs.values().forEach(itinerary -> fire(Change.UPDATED, itinerary));
     }
-    
+
     /**
-     Αφαιρεί μια κράτηση από τη λίστα.
+     Αφαιρεί μια κράτηση.
      @param booking Η κράτηση που θα αφαιρεθεί.
      */
     public void removeBooking(Booking booking) {
-        bookings.remove(booking);
+        if (dropBooking(booking)) {
+            fire(Change.REMOVED, booking);
+        }
+    }
+
+    /**
+     Ακυρώνει μια κράτηση και επιστρέφει τη θέση της στο δρομολόγιο, μέσω του SeatInventory.
+     @param booking Η κράτηση.
+     @return true αν η κράτηση ακυρώθηκε τώρα, false αν ήταν ήδη ακυρωμένη.
+     */
+    public boolean cancelBooking(Booking booking) {
+        if (!seatInventory.cancel(booking)) {
+            return false;
+        }
+        fire(Change.UPDATED, booking);
+        fire(Change.UPDATED, booking.getItinerary());
+        return true;
+    }
+
+    /**
+     Βρίσκει κράτηση με βάση τον κωδικό της.
+     @param id Ο κωδικός της κράτησης.
+     @return Η κράτηση ή null αν δεν υπάρχει.
+     */
+    public Booking findBooking(int id) {
+        return bookings.get(id);
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις ενός πελάτη, με σειρά προσθήκης.
+     @param customer Ο πελάτης.
+     @return Οι κρατήσεις (μόνο για ανάγνωση).
+     */
+    public Collection<Booking> getBookingsFor(Customer customer) {
+        return view(bookingsByCustomer.get(customer.getId()));
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις ενός δρομολογίου, με σειρά προσθήκης.
+     @param itinerary Το δρομολόγιο.
+     @return Οι κρατήσεις (μόνο για ανάγνωση).
+     */
+    public Collection<Booking> getBookingsFor(Itinerary itinerary) {
+        return view(bookingsByItinerary.get(itinerary.getId()));
+    }
+
+    /**
+     Ελέγχει αν υπάρχουν κρατήσεις που αναφέρονται στον πελάτη.
+     @param customer Ο πελάτης.
+     @return true αν υπάρχει τουλάχιστον μία κράτηση.
+     */
+    public boolean hasBookings(Customer customer) {
+        return bookingsByCustomer.containsKey(customer.getId());
+    }
+
+    /**
+     Ελέγχει αν υπάρχουν κρατήσεις που αναφέρονται στο δρομολόγιο.
+     @param itinerary Το δρομολόγιο.
+     @return true αν υπάρχει τουλάχιστον μία κράτηση.
+     */
+    public boolean hasBookings(Itinerary itinerary) {
+        return bookingsByItinerary.containsKey(itinerary.getId());
+    }
+
+    private void fire(Change change, Object entity) {
+        for (Listener listener : listeners) {
+            listener.changed(change, entity);
+        }
+    }
+
+    private void fireAddedAll(List<?> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        List<?> view = Collections.unmodifiableList(entities);
+        for (Listener listener : listeners) {
+            listener.addedAll(view);
+        }
+    }
+
+    // Προσθήκη και αφαίρεση στην αποθήκευση και τα ευρετήρια, χωρίς ειδοποίηση.
+    private void putCustomer(Customer customer) {
+        customer.setId(assignId(customer.getId(), customers));
+        customers.put(customer.getId(), customer);
+        customerSearch.add(customer);
+    }
+
+    private boolean dropCustomer(Customer customer) {
+        if (customers.get(customer.getId()) != customer) {
+            return false;
+        }
+        customers.remove(customer.getId());
+        customerSearch.remove(customer);
+        return true;
+    }
+
+    private void putItinerary(Itinerary itinerary) {
+        itinerary.setId(assignId(itinerary.getId(), itineraries));
+        itineraries.put(itinerary.getId(), itinerary);
+        indexItinerary(itinerary);
+        seatInventory.register(itinerary);
+    }
+
+    private boolean dropItinerary(Itinerary itinerary) {
+        if (itineraries.get(itinerary.getId()) != itinerary) {
+            return false;
+        }
+        itineraries.remove(itinerary.getId());
+        unindexItinerary(itinerary);
+        seatInventory.unregister(itinerary);
+        return true;
+    }
+
+    private void putBooking(Booking booking) {
+        booking.setId(assignId(booking.getId(), bookings));
+        bookings.put(booking.getId(), booking);
+        index(bookingsByCustomer, booking.getCustomer().getId(), booking.getId(), booking);
+        index(bookingsByItinerary, booking.getItinerary().getId(), booking.getId(), booking);
+    }
+
+    private boolean dropBooking(Booking booking) {
+        if (bookings.get(booking.getId()) != booking) {
+            return false;
+        }
+        bookings.remove(booking.getId());
+        unindex(bookingsByCustomer, booking.getCustomer().getId(), booking.getId());
+        unindex(bookingsByItinerary, booking.getItinerary().getId(), booking.getId());
+        return true;
+    }
+
+    // Επιστρέφει τον υπάρχοντα κωδικό (ενημερώνοντας τον μετρητή) ή δίνει νέο αν είναι 0.
+    private int assignId(int id, Map<Integer, ?> existing) {
+        if (id == 0) {
+            return nextId++;
+        }
+        if (existing.containsKey(id)) {
+            throw new IllegalArgumentException("Υπάρχει ήδη οντότητα με κωδικό " + id + ".");
+        }
+        nextId = Math.max(nextId, id + 1);
+        return id;
+    }
+
+    private void indexItinerary(Itinerary itinerary) {
+        index(itinerariesByDestination, itinerary.getDestination(), itinerary.getId(), itinerary);
+        index(itinerariesByDate, itinerary.getDate(), itinerary.getId(), itinerary);
+        itinerarySearch.add(itinerary);
+        itineraryIndex.add(itinerary);
+    }
+
+    private void unindexItinerary(Itinerary itinerary) {
+        unindex(itinerariesByDestination, itinerary.getDestination(), itinerary.getId());
+        unindex(itinerariesByDate, itinerary.getDate(), itinerary.getId());
+        itinerarySearch.remove(itinerary);
+        itineraryIndex.remove(itinerary);
+    }
+
+    private static <V> List<V> search(PrefixIndex<V> index, Map<Integer, V> all, String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            List<V> first = new ArrayList<>(Math.min(limit, all.size()));
+            for (V value : all.values()) {
+                if (first.size() >= limit) {
+                    break;
+                }
+                first.add(value);
+            }
+            return first;
+        }
+        return index.search(query, limit);
+    }
+
+    static <K, V> void index(Map<K, Map<Integer, V>> index, K key, int id, V value) {
+        index.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(id, value);
+    }
+
+    static <K> void unindex(Map<K, ? extends Map<Integer, ?>> index, K key, int id) {
+        Map<Integer, ?> byId = index.get(key);
+        if (byId != null) {
+            byId.remove(id);
+            if (byId.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <V> Collection<V> view(Map<Integer, V> byId) {
+        return byId == null ? Collections.emptyList() : Collections.unmodifiableCollection(byId.values());
+    }
+
+    /*
+     Καλείται μετά τη φόρτωση (αφού το JAXB έχει επιλύσει όλες τις αναφορές): μεταφέρει τις λίστες του JAXB
+     στο αποθετήριο και δίνει κωδικούς σε οντότητες παλαιότερων αρχείων.
+     Αν κάποια κράτηση δεν έχει πελάτη ή δρομολόγιο, δεν προστίθεται καμία κράτηση και επιστρέφεται false:
+     είτε το αρχείο έχει την αρχική μορφή με εμφωλευμένα αντίγραφα, που το JAXB δεν αντιστοιχίζει σε αναφορές,
+     είτε αναφέρεται σε οντότητες που δεν υπάρχουν. Ο καλών δεν πρέπει να χρησιμοποιήσει (ούτε να αποθηκεύσει)
+     αυτά τα δεδομένα.
+     */
+    boolean resolveAfterLoad() {
+        if (xmlBookings != null) {
+            for (Booking booking : xmlBookings) {
+                if (booking.getCustomer() == null || booking.getItinerary() == null) {
+                    return false;
+                }
+            }
+        }
+        if (xmlCustomers != null) {
+            xmlCustomers.forEach(this::addCustomer);
+        }
+        if (xmlItineraries != null) {
+            xmlItineraries.forEach(this::addItinerary);
+        }
+        if (xmlBookings != null) {
+            xmlBookings.forEach(this::addBooking);
+        }
+        xmlCustomers = null;
+        xmlItineraries = null;
+        xmlBookings = null;
+        return true;
+    }
+
+    // Καλείται από το JAXB πριν από τη σειριοποίηση.
+    private void beforeMarshal(Marshaller marshaller) {
+        xmlCustomers = new ArrayList<>(customers.values());
+        xmlItineraries = new ArrayList<>(itineraries.values());
+        xmlBookings = new ArrayList<>(bookings.values());
+    }
+
+    // Καλείται από το JAXB μετά τη σειριοποίηση.
+    private void afterMarshal(Marshaller marshaller) {
+        xmlCustomers = null;
+        xmlItineraries = null;
+        xmlBookings = null;
     }
-}
\ No newline at end of file
+}
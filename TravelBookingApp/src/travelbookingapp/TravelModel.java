@@ -0,0 +1,249 @@
+package travelbookingapp;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ Κοινό παρατηρήσιμο μοντέλο της διεπαφής. Κρατά μία ObservableList για πελάτες, δρομολόγια και
+ κρατήσεις, που γεμίζει μία φορά από το TravelData και στη συνέχεια ενημερώνεται μόνο με τις αλλαγές
+ που γνωστοποιεί το TravelData. Όλες οι οθόνες χρησιμοποιούν τις ίδιες λίστες, οπότε μια αλλαγή σε μία
+ οθόνη (ή από τον HTTP server) εμφανίζεται και στις υπόλοιπες χωρίς αντιγραφή των λιστών.
+ Οι αλλαγές μπορεί να γίνονται σε οποιοδήποτε νήμα· συγκεντρώνονται σε ουρά και εφαρμόζονται στο νήμα
+ του JavaFX, με μία εκτέλεση για όσες έχουν συσσωρευτεί (π.χ. σε μια μαζική εισαγωγή).
+ */
+public class TravelModel implements TravelData.Listener {
+    private final TravelData travelData;
+    private final ObservableList<Customer> customers = FXCollections.observableArrayList();
+    private final ObservableList<Itinerary> itineraries = FXCollections.observableArrayList();
+    private final ObservableList<Booking> bookings = FXCollections.observableArrayList();
+    private final ObservableList<Customer> customersView = FXCollections.unmodifiableObservableList(customers);
+    private final ObservableList<Itinerary> itinerariesView = FXCollections.unmodifiableObservableList(itineraries);
+    private final ObservableList<Booking> bookingsView = FXCollections.unmodifiableObservableList(bookings);
+    // Κωδικός -> θέση στην αντίστοιχη λίστα, για ενημερώσεις σε O(1).
+    private final Map<Integer, Integer> customerRows = new HashMap<>();
+    private final Map<Integer, Integer> itineraryRows = new HashMap<>();
+    private final Map<Integer, Integer> bookingRows = new HashMap<>();
+
+    // Αλλαγές που δεν έχουν εφαρμοστεί ακόμη στις λίστες.
+    private final Queue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private static final class PendingChange {
+        final TravelData.Change change;
+        final Object entity;
+        // Για ADDED: όλες οι οντότητες της αλλαγής (ίδιου τύπου με την entity, που είναι η πρώτη).
+        final List<?> added;
+
+        PendingChange(TravelData.Change change, Object entity) {
+            this.change = change;
+            this.entity = entity;
+            this.added = Collections.singletonList(entity);
+        }
+
+        PendingChange(List<?> added) {
+            this.change = TravelData.Change.ADDED;
+            this.entity = added.get(0);
+            this.added = added;
+        }
+    }
+
+    /**
+     Δημιουργεί το μοντέλο και το εγγράφει ως παρατηρητή του TravelData.
+     @param travelData Τα δεδομένα της εφαρμογής.
+     */
+    public TravelModel(TravelData travelData) {
+        this.travelData = travelData;
+        synchronized (travelData) {
+            customers.setAll(travelData.getCustomers());
+            itineraries.setAll(travelData.getItineraries());
+            bookings.setAll(travelData.getBookings());
+            travelData.addListener(this);
+        }
+        reindex(customers, 0);
+        reindex(itineraries, 0);
+        reindex(bookings, 0);
+    }
+
+    /**
+     Επιστρέφει τα δεδομένα της εφαρμογής.
+     @return Τα δεδομένα.
+     */
+    public TravelData getTravelData() {
+        return travelData;
+    }
+
+    /**
+     Επιστρέφει τους πελάτες (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Η κοινή λίστα πελατών.
+     */
+    public ObservableList<Customer> getCustomers() {
+        return customersView;
+    }
+
+    /**
+     Επιστρέφει τα δρομολόγια (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Η κοινή λίστα δρομολογίων.
+     */
+    public ObservableList<Itinerary> getItineraries() {
+        return itinerariesView;
+    }
+
+    /**
+     Επιστρέφει τις κρατήσεις (μόνο για ανάγνωση), με σειρά προσθήκης.
+     @return Η κοινή λίστα κρατήσεων.
+     */
+    public ObservableList<Booking> getBookings() {
+        return bookingsView;
+    }
+
+    @Override
+    public void changed(TravelData.Change change, Object entity) {
+        enqueue(new PendingChange(change, entity));
+    }
+
+    @Override
+    public void addedAll(List<?> entities) {
+        if (!entities.isEmpty()) {
+            enqueue(new PendingChange(new ArrayList<>(entities)));
+        }
+    }
+
+    private void enqueue(PendingChange change) {
+        pending.add(change);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    // Εφαρμόζει τις συσσωρευμένες αλλαγές. Διαδοχικές προσθήκες στην ίδια λίστα γίνονται με ένα addAll και
+    // διαδοχικές αφαιρέσεις με ένα removeAll ανά λίστα, και κάθε οντότητα που ενημερώθηκε αντικαθίσταται μία μόνο
+    // φορά, ώστε να ξανασχεδιαστεί η γραμμή της. Η θέση μιας οντότητας βρίσκεται από τον κωδικό της σε O(1).
+    private void drain() {
+        drainScheduled.set(false);
+        ObservableList<Object> batchTarget = null;
+        List<Object> batch = new ArrayList<>();
+        Map<ObservableList<Object>, Set<Object>> removals = new IdentityHashMap<>();
+        Set<Object> updated = Collections.newSetFromMap(new IdentityHashMap<>());
+        PendingChange next;
+        while ((next = pending.poll()) != null) {
+            ObservableList<Object> target = listFor(next.entity);
+            if (next.change == TravelData.Change.ADDED && target == batchTarget) {
+                batch.addAll(next.added);
+                continue;
+            }
+            if (batchTarget != null) {
+                addAll(batchTarget, batch);
+                batch.clear();
+                batchTarget = null;
+            }
+            switch (next.change) {
+                case ADDED:
+                    // Οι αφαιρέσεις που προηγούνται εφαρμόζονται πρώτα, ώστε να διατηρηθεί η σειρά των αλλαγών.
+                    removeAll(removals);
+                    batchTarget = target;
+                    batch.addAll(next.added);
+                    break;
+                case UPDATED:
+                    updated.add(next.entity);
+                    break;
+                case REMOVED:
+                    removals.computeIfAbsent(target, list -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                            .add(next.entity);
+                    break;
+            }
+        }
+        if (batchTarget != null) {
+            addAll(batchTarget, batch);
+        }
+        removeAll(removals);
+        for (Object entity : updated) {
+            ObservableList<Object> target = listFor(entity);
+            int index = indexOf(target, entity);
+            if (index >= 0) {
+                target.set(index, entity);
+            }
+        }
+    }
+
+    private void addAll(ObservableList<Object> target, List<Object> entities) {
+        int start = target.size();
+        target.addAll(entities);
+        reindex(target, start);
+    }
+
+    // Οι αφαιρέσεις κάθε λίστας γίνονται με ένα πέρασμα (removeAll), και οι θέσεις υπολογίζονται ξανά μία φορά,
+    // από την πρώτη θέση που άλλαξε.
+    private void removeAll(Map<ObservableList<Object>, Set<Object>> removals) {
+        removals.forEach((target, entities) -> {
+            Map<Integer, Integer> rows = rowsFor(target);
+            int first = target.size();
+            for (Object entity : entities) {
+                int index = indexOf(target, entity);
+                if (index >= 0) {
+                    first = Math.min(first, index);
+                    rows.remove(idOf(entity));
+                }
+            }
+            if (target.removeAll(entities)) {
+                reindex(target, first);
+            }
+        });
+        removals.clear();
+    }
+
+    // Καταχωρεί τις θέσεις των στοιχείων από τη θέση start και μετά.
+    private void reindex(List<?> target, int start) {
+        Map<Integer, Integer> rows = rowsFor(target);
+        for (int i = start; i < target.size(); i++) {
+            rows.put(idOf(target.get(i)), i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObservableList<Object> listFor(Object entity) {
+        if (entity instanceof Customer) {
+            return (ObservableList<Object>) (ObservableList<?>) customers;
+        } else if (entity instanceof Itinerary) {
+            return (ObservableList<Object>) (ObservableList<?>) itineraries;
+        } else {
+            return (ObservableList<Object>) (ObservableList<?>) bookings;
+        }
+    }
+
+    private Map<Integer, Integer> rowsFor(List<?> target) {
+        if (target == customers) {
+            return customerRows;
+        } else if (target == itineraries) {
+            return itineraryRows;
+        } else {
+            return bookingRows;
+        }
+    }
+
+    private static int idOf(Object entity) {
+        if (entity instanceof Customer) {
+            return ((Customer) entity).getId();
+        } else if (entity instanceof Itinerary) {
+            return ((Itinerary) entity).getId();
+        } else {
+            return ((Booking) entity).getId();
+        }
+    }
+
+    // Η θέση της οντότητας από τον κωδικό της, αν η λίστα περιέχει το ίδιο αντικείμενο (ταυτότητα αντικειμένου).
+    private int indexOf(List<Object> list, Object entity) {
+        Integer index = rowsFor(list).get(idOf(entity));
+        return index != null && index < list.size() && list.get(index) == entity ? index : -1;
+    }
+}
@@ -0,0 +1,56 @@
+package travelbookingapp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ Έλεγχος του BinarySnapshotCodec: το στιγμιότυπο ξαναδιαβάζεται χωρίς αλλαγές, και κάθε κατεστραμμένο αρχείο
+ (κομμένο σε οποιοδήποτε σημείο ή με τυχαία αλλαγμένα bytes) είτε διαβάζεται είτε απορρίπτεται με IOException,
+ χωρίς άλλες εξαιρέσεις (π.χ. αναφορά εκτός του πίνακα συμβολοσειρών).
+ Εκτελείται με: ant check
+ */
+public class BinarySnapshotCheck {
+    public static void main(String[] args) throws Exception {
+        TravelData data = StreamingXmlCodec.read(LegacyFormatCheck.LEGACY_FILE, progress -> { });
+        Path file = Files.createTempFile("travel_data", ".bin");
+        try {
+            BinarySnapshotCodec.write(data, file);
+            byte[] original = Files.readAllBytes(file);
+            TravelData reloaded = BinarySnapshotCodec.read(file);
+            LegacyFormatCheck.require(LegacyFormatCheck.summary(reloaded).equals(LegacyFormatCheck.summary(data)),
+                    "Η επανεγγραφή άλλαξε τα δεδομένα: " + LegacyFormatCheck.summary(reloaded));
+            // Μετά την ανάγνωση το αρχείο δεν χρησιμοποιείται πια και μπορεί να αντικατασταθεί.
+            BinarySnapshotCodec.write(reloaded, file);
+
+            for (int length = 0; length < original.length; length++) {
+                byte[] truncated = new byte[length];
+                System.arraycopy(original, 0, truncated, 0, length);
+                readCorrupted(file, truncated, "κομμένο στα " + length + " bytes");
+            }
+            Random random = new Random(1);
+            for (int i = 0; i < 5000; i++) {
+                byte[] corrupted = original.clone();
+                for (int changes = 1 + random.nextInt(3); changes > 0; changes--) {
+                    corrupted[5 + random.nextInt(corrupted.length - 5)] = (byte) random.nextInt(256);
+                }
+                readCorrupted(file, corrupted, "αλλαγμένα bytes, δοκιμή " + i);
+            }
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("BinarySnapshotCheck: OK");
+    }
+
+    private static void readCorrupted(Path file, byte[] content, String description) throws IOException {
+        Files.write(file, content);
+        try {
+            BinarySnapshotCodec.read(file);
+        } catch (IOException expected) {
+            // αναμενόμενο
+        } catch (RuntimeException e) {
+            throw new AssertionError("Κατεστραμμένο στιγμιότυπο (" + description + "): " + e, e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package travelbookingapp;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ Έλεγχος του BookingService υπό ταυτόχρονη χρήση: πολλά νήματα κάνουν απλές και ομαδικές κρατήσεις και
+ ακυρώσεις σε λίγα δρομολόγια, ενώ ένα άλλο νήμα προσθέτει και διαγράφει δρομολόγια στα οποία επίσης
+ γίνονται κρατήσεις (ώστε να εκτελείται η επιστροφή θέσεων όταν η προσθήκη αποτυγχάνει) και ένα τρίτο
+ αποθηκεύει στιγμιότυπα με το DataManager.flushAndSave ανά 50 ms.
+ Στο τέλος, για κάθε δρομολόγιο, οι ενεργές κρατήσεις συν τις διαθέσιμες θέσεις πρέπει να ισούνται με τη
+ χωρητικότητα, και τα δεδομένα που φορτώνονται από το στιγμιότυπο και το ημερολόγιο πρέπει να είναι ίδια με
+ τα ζωντανά (καμία αλλαγή χαμένη ή διπλή). Τυπώνει και τη ρυθμαπόδοση (πράξεις ανά δευτερόλεπτο).
+ Τα αρχεία του ημερολογίου γράφονται σε προσωρινό φάκελο (travelbooking.data.dir).
+ Εκτελείται με: ant check   (παράμετροι: [νήματα] [πράξεις ανά νήμα])
+ */
+public class BookingServiceStressCheck {
+    private static final int ITINERARIES = 8;
+    private static final int SEATS = 2000;
+    private static final int CUSTOMERS = 100;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        if (System.getProperty("travelbooking.data.dir") == null) {
+            System.setProperty("travelbooking.data.dir", Files.createTempDirectory("travelbooking-check").toString());
+        }
+
+        TravelData data = new TravelData();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer("Πελάτης " + i, "c" + i + "@example.gr", "210" + i);
+            data.addCustomer(customer);
+            customers.add(customer);
+        }
+        int[] itineraryIds = new int[ITINERARIES];
+        for (int i = 0; i < ITINERARIES; i++) {
+            Itinerary itinerary = new Itinerary("Προορισμός " + i, LocalDate.of(2031, 1, 1).plusDays(i), SEATS, 10, "Τρένο");
+            data.addItinerary(itinerary);
+            itineraryIds[i] = itinerary.getId();
+        }
+
+        // Αρχικό στιγμιότυπο, ώστε η συμπύκνωση του ημερολογίου να βρίσκει τους πελάτες και τα δρομολόγια.
+        DataManager.saveData(data);
+
+        BookingService bookings = new BookingService(data);
+        ItineraryService itineraryService = new ItineraryService(data);
+        // Δρομολόγια που προστίθενται και διαγράφονται συνεχώς, με τη χωρητικότητά τους.
+        Map<Itinerary, Boolean> churned = new ConcurrentHashMap<>();
+        AtomicInteger churnId = new AtomicInteger();
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        Thread churn = new Thread(() -> {
+            while (done.getCount() > 0) {
+                ServiceResult<Itinerary> added = itineraryService.addItinerary("Έκτακτο", LocalDate.of(2031, 2, 1), 5, 1, "Λεωφορείο");
+                churned.put(added.getValue(), true);
+                churnId.set(added.getValue().getId());
+                Thread.yield();
+                itineraryService.deleteItinerary(added.getValue().getId());
+            }
+        });
+        churn.start();
+
+        AtomicInteger saves = new AtomicInteger();
+        AtomicReference<Exception> saveFailure = new AtomicReference<>();
+        Thread saver = new Thread(() -> {
+            while (done.getCount() > 0 && saveFailure.get() == null) {
+                try {
+                    DataManager.flushAndSave(data);
+                    saves.incrementAndGet();
+                    Thread.sleep(50);
+                } catch (Exception e) {
+                    saveFailure.set(e);
+                }
+            }
+        });
+        saver.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                List<Integer> mine = new ArrayList<>();
+                try {
+                    for (int i = 0; i < operations; i++) {
+                        int customerId = customers.get(random.nextInt(CUSTOMERS)).getId();
+                        int choice = random.nextInt(10);
+                        ServiceResult<?> result;
+                        if (choice < 6) {
+                            int itineraryId = random.nextInt(8) == 0 ? churnId.get() : itineraryIds[random.nextInt(ITINERARIES)];
+                            ServiceResult<Booking> booked = bookings.book(customerId, itineraryId);
+                            if (booked.isSuccess()) {
+                                mine.add(booked.getValue().getId());
+                            }
+                            result = booked;
+                        } else if (choice < 8) {
+                            ServiceResult<List<Booking>> batch = bookings.bookAll(Arrays.asList(
+                                    new BookingService.Request(customerId, itineraryIds[random.nextInt(ITINERARIES)], 1 + random.nextInt(3)),
+                                    new BookingService.Request(customerId, itineraryIds[random.nextInt(ITINERARIES)], 1)));
+                            if (batch.isSuccess()) {
+                                batch.getValue().forEach(booking -> mine.add(booking.getId()));
+                            }
+                            result = batch;
+                        } else if (!mine.isEmpty()) {
+                            result = bookings.cancel(mine.remove(random.nextInt(mine.size())));
+                        } else {
+                            continue;
+                        }
+                        (result.isSuccess() ? succeeded : rejected).incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        executor.shutdown();
+        LegacyFormatCheck.require(executor.awaitTermination(5, TimeUnit.MINUTES), "Τα νήματα δεν τελείωσαν");
+        double seconds = (System.nanoTime() - start) / 1e9;
+        churn.join();
+        saver.join();
+        LegacyFormatCheck.require(saveFailure.get() == null, "Αποτυχία αποθήκευσης κατά τις κρατήσεις: " + saveFailure.get());
+        LegacyFormatCheck.require(saves.get() > 0, "Δεν έγινε καμία αποθήκευση κατά τις κρατήσεις");
+
+        synchronized (data) {
+            for (Itinerary itinerary : data.getItineraries()) {
+                long active = data.getBookingsFor(itinerary).stream().filter(booking -> !booking.isCancelled()).count();
+                int capacity = churned.containsKey(itinerary) ? 5 : SEATS;
+                LegacyFormatCheck.require(active + itinerary.getAvailableSeats() == capacity,
+                        itinerary + ": " + active + " ενεργές κρατήσεις, " + itinerary.getAvailableSeats() + " διαθέσιμες");
+            }
+            for (Itinerary itinerary : churned.keySet()) {
+                if (data.findItinerary(itinerary.getId()) == null) {
+                    // Διαγράφηκε χωρίς κρατήσεις· όσες δεσμεύσεις δεν ολοκληρώθηκαν πρέπει να έχουν επιστραφεί.
+                    LegacyFormatCheck.require(itinerary.getAvailableSeats() == 5,
+                            "Χαμένες θέσεις σε διαγραμμένο δρομολόγιο: " + itinerary);
+                }
+            }
+        }
+        // Η τελευταία αλλαγή μπορεί να είναι ακόμη στην ουρά· το flushAndSave τη γράφει πριν από το στιγμιότυπο.
+        DataManager.flushAndSave(data);
+        TravelData reloaded = DataManager.loadData();
+        synchronized (data) {
+            LegacyFormatCheck.require(LegacyFormatCheck.summary(reloaded).equals(LegacyFormatCheck.summary(data)),
+                    "Τα δεδομένα που φορτώθηκαν διαφέρουν από τα ζωντανά: " + reloaded.getBookings().size()
+                            + " κρατήσεις αντί για " + data.getBookings().size());
+        }
+        long total = succeeded.get() + rejected.get();
+        System.out.printf("BookingServiceStressCheck: OK (%d νήματα, %d πράξεις, %d επιτυχείς, %d αποθηκεύσεις, %.0f πράξεις/s)%n",
+                threads, total, succeeded.get(), saves.get(), total / seconds);
+        System.exit(0);
+    }
+}
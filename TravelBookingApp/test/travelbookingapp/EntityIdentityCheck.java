@@ -0,0 +1,173 @@
+package travelbookingapp;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ Έλεγχος ιδιοτήτων της ισότητας και του κωδικού hash των οντοτήτων, σε τυχαίες ακολουθίες πράξεων
+ (προσθήκες, κρατήσεις, ακυρώσεις, αλλαγές στοιχείων, διαγραφές) με διαφορετικό σπόρο σε κάθε γύρο:
+ ο κωδικός hash δεν αλλάζει με τις αλλαγές και οι οντότητες δεν χάνονται από HashSet/HashMap,
+ η ισότητα είναι ανακλαστική, συμμετρική και συνεπής με τον κωδικό hash, τα αντίγραφα μετά από επαναφόρτωση
+ είναι ίσα με τα αρχικά, οι όψεις του BookingStore είναι ίσες με τις κρατήσεις τους, οντότητες χωρίς κωδικό
+ έχουν κωδικό hash συνεπή με την ισότητα (και μπαίνουν σε HashSet) και ο κωδικός δεν αλλάζει αφού οριστεί.
+ Εκτελείται με: ant check   (παράμετροι: [γύροι] [πράξεις ανά γύρο] [αρχικός σπόρος])
+ */
+public class EntityIdentityCheck {
+    private static final String[] DESTINATIONS = {"Αθήνα", "Βόλος", "Χανιά", "Ρόδος", "Πάτρα"};
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        for (long seed = firstSeed; seed < firstSeed + rounds; seed++) {
+            try {
+                checkRound(new Random(seed), operations);
+            } catch (AssertionError e) {
+                throw new AssertionError("Σπόρος " + seed + ": " + e.getMessage(), e);
+            }
+        }
+        checkUnassignedIds();
+        System.out.println("EntityIdentityCheck: OK (" + rounds + " γύροι, " + operations + " πράξεις ανά γύρο)");
+    }
+
+    // Ένας γύρος: τυχαίες πράξεις, με τις οντότητες σε HashSet και HashMap από τη στιγμή που παίρνουν κωδικό.
+    private static void checkRound(Random random, int operations) throws Exception {
+        TravelData data = new TravelData();
+        List<Customer> customers = new ArrayList<>();
+        List<Itinerary> itineraries = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        Set<Object> entities = new HashSet<>();
+        Map<Object, Integer> hashes = new HashMap<>();
+
+        for (int i = 0; i < operations; i++) {
+            int choice = random.nextInt(10);
+            if (choice == 0 || customers.isEmpty()) {
+                Customer customer = new Customer("Πελάτης " + i, "c" + i + "@example.gr", "210" + i);
+                data.addCustomer(customer);
+                customers.add(customer);
+                track(customer, entities, hashes);
+            } else if (choice == 1 || itineraries.isEmpty()) {
+                Itinerary itinerary = new Itinerary(pick(random, DESTINATIONS), LocalDate.of(2031, 1, 1).plusDays(random.nextInt(60)),
+                        1 + random.nextInt(20), 5 + random.nextInt(100), pick(random, Itinerary.STANDARD_TRANSPORT_TYPES));
+                data.addItinerary(itinerary);
+                itineraries.add(itinerary);
+                track(itinerary, entities, hashes);
+            } else if (choice < 5) {
+                Itinerary itinerary = itineraries.get(random.nextInt(itineraries.size()));
+                if (itinerary.tryReserveSeats(1)) {
+                    Booking booking = new Booking(customers.get(random.nextInt(customers.size())), itinerary,
+                            LocalDate.of(2030, 12, 1).plusDays(random.nextInt(30)));
+                    data.addBooking(booking);
+                    bookings.add(booking);
+                    track(booking, entities, hashes);
+                }
+            } else if (choice < 7 && !bookings.isEmpty()) {
+                data.cancelBooking(bookings.get(random.nextInt(bookings.size())));
+            } else if (choice < 9) {
+                Itinerary itinerary = itineraries.get(random.nextInt(itineraries.size()));
+                data.updateItinerary(itinerary, pick(random, DESTINATIONS), itinerary.getDate().plusDays(random.nextInt(3)),
+                        itinerary.getAvailableSeats() + random.nextInt(5), itinerary.getCost() + 1, itinerary.getTransportType());
+                Customer customer = customers.get(random.nextInt(customers.size()));
+                data.updateCustomer(customer, customer.getName() + "'", customer.getEmail(), customer.getPhone());
+            } else {
+                Itinerary itinerary = itineraries.get(random.nextInt(itineraries.size()));
+                if (data.getBookingsFor(itinerary).isEmpty()) {
+                    data.removeItinerary(itinerary);
+                    itineraries.remove(itinerary);
+                }
+            }
+            verifyTracked(entities, hashes);
+        }
+
+        // Ισότητα: ανακλαστική, συμμετρική και συνεπής με τον κωδικό hash σε τυχαία ζεύγη.
+        List<Object> all = new ArrayList<>(entities);
+        for (int i = 0; i < operations; i++) {
+            Object a = all.get(random.nextInt(all.size()));
+            Object b = all.get(random.nextInt(all.size()));
+            LegacyFormatCheck.require(a.equals(a), "Μη ανακλαστική ισότητα: " + a);
+            LegacyFormatCheck.require(a.equals(b) == b.equals(a), "Μη συμμετρική ισότητα: " + a + ", " + b);
+            LegacyFormatCheck.require(!a.equals(b) || a.hashCode() == b.hashCode(), "Ίσα με διαφορετικό hash: " + a + ", " + b);
+            LegacyFormatCheck.require(a.equals(b) == (a == b), "Διαφορετικές οντότητες ίσες: " + a + ", " + b);
+        }
+
+        // Τα αντίγραφα μετά από επαναφόρτωση είναι ίσα με τα αρχικά και βρίσκονται στα ίδια σύνολα.
+        Path file = Files.createTempFile("travel_data", ".xml");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                StreamingXmlCodec.write(data, out, false);
+            }
+            TravelData reloaded = StreamingXmlCodec.read(file, progress -> { });
+            List<Object> copies = new ArrayList<>();
+            copies.addAll(reloaded.getCustomers());
+            copies.addAll(reloaded.getItineraries());
+            copies.addAll(reloaded.getBookings());
+            for (Object copy : copies) {
+                LegacyFormatCheck.require(entities.contains(copy), "Το αντίγραφο δεν βρέθηκε: " + copy);
+                LegacyFormatCheck.require(hashes.get(copy) == copy.hashCode(), "Άλλος κωδικός hash στο αντίγραφο: " + copy);
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        // Οι όψεις του BookingStore είναι ίσες με τις κρατήσεις τους.
+        BookingStore store = new BookingStore();
+        bookings.forEach(store::add);
+        for (int row = 0; row < store.size(); row++) {
+            Booking view = store.view(row, data::findCustomer, data::findItinerary);
+            LegacyFormatCheck.require(view.equals(bookings.get(row)) && bookings.get(row).equals(view)
+                    && view.hashCode() == bookings.get(row).hashCode() && entities.contains(view), "Όψη διαφορετική από την κράτηση: " + view);
+        }
+    }
+
+    // Οντότητες χωρίς κωδικό: ίσες μόνο με τον εαυτό τους, με σταθερό κωδικό hash όσο δεν έχουν κωδικό
+    // (π.χ. για απαλοιφή διπλών σε HashSet πριν από την προσθήκη)· ο κωδικός ορίζεται μία φορά.
+    private static void checkUnassignedIds() {
+        Customer first = new Customer("Α", "a@example.gr", "1");
+        Customer second = new Customer("Α", "a@example.gr", "1");
+        LegacyFormatCheck.require(first.equals(first) && !first.equals(second), "Ισότητα πελατών χωρίς κωδικό");
+        Itinerary itinerary = new Itinerary("Βόλος", LocalDate.of(2031, 1, 1), 10, 10, "Τρένο");
+        Set<Object> unsaved = new HashSet<>();
+        for (Object entity : new Object[] {first, second, itinerary, new Booking(first, itinerary, LocalDate.of(2030, 1, 1))}) {
+            LegacyFormatCheck.require(entity.hashCode() == entity.hashCode(), "Ασταθής κωδικός hash χωρίς κωδικό: " + entity.getClass().getSimpleName());
+            LegacyFormatCheck.require(unsaved.add(entity) && !unsaved.add(entity) && unsaved.contains(entity),
+                    "HashSet με οντότητα χωρίς κωδικό: " + entity.getClass().getSimpleName());
+        }
+        first.setId(7);
+        first.setId(7);
+        try {
+            first.setId(8);
+            throw new AssertionError("Άλλαξε ο κωδικός πελάτη");
+        } catch (IllegalStateException expected) {
+            // αναμενόμενο
+        }
+    }
+
+    private static void track(Object entity, Set<Object> entities, Map<Object, Integer> hashes) {
+        LegacyFormatCheck.require(entities.add(entity), "Διπλή οντότητα: " + entity);
+        hashes.put(entity, entity.hashCode());
+    }
+
+    private static void verifyTracked(Set<Object> entities, Map<Object, Integer> hashes) {
+        for (Map.Entry<Object, Integer> entry : hashes.entrySet()) {
+            LegacyFormatCheck.require(entry.getKey().hashCode() == entry.getValue(), "Άλλαξε ο κωδικός hash: " + entry.getKey());
+            LegacyFormatCheck.require(entities.contains(entry.getKey()), "Χάθηκε από το HashSet: " + entry.getKey());
+        }
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
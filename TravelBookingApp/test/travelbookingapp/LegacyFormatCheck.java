@@ -0,0 +1,136 @@
+package travelbookingapp;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.stream.XMLStreamException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ Έλεγχος ανάγνωσης αρχείου της αρχικής μορφής (legacy_travel_data.xml, όπως το έγραφε το JAXB πριν από τους
+ κωδικούς): κάθε booking περιέχει αντίγραφα του πελάτη και του δρομολογίου και οι κρατήσεις προηγούνται.
+ Τα αντίγραφα πρέπει να αντιστοιχιστούν στις οντότητες του αρχείου χωρίς να χαθεί καμία κράτηση,
+ και το αποτέλεσμα να γράφεται και να ξαναδιαβάζεται στην τρέχουσα μορφή χωρίς αλλαγές.
+ Ελέγχει επίσης ότι η φόρτωση με JAXB αναγνωρίζει τη μορφή αυτή και ότι αρχείο με αναφορές σε οντότητες
+ που δεν υπάρχουν απορρίπτεται.
+ Εκτελείται με: ant check
+ */
+public class LegacyFormatCheck {
+    static final Path LEGACY_FILE = Paths.get("test", "travelbookingapp", "legacy_travel_data.xml");
+
+    private static final String DANGLING_REFERENCE = "<travelData nextId=\"3\">"
+            + "<itinerary id=\"1\"><availableSeats>10</availableSeats><cost>10.0</cost><date>2031-01-01</date>"
+            + "<destination>Βόλος</destination><transportType>Τρένο</transportType></itinerary>"
+            + "<booking id=\"2\"><bookingDate>2030-12-01</bookingDate><cancelled>false</cancelled>"
+            + "<customer>99</customer><itinerary>1</itinerary></booking></travelData>";
+
+    public static void main(String[] args) throws Exception {
+        TravelData data = StreamingXmlCodec.read(LEGACY_FILE, progress -> { });
+        verifyLegacyContent(data);
+
+        Path file = Files.createTempFile("travel_data", ".xml");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                StreamingXmlCodec.write(data, out, true);
+            }
+            TravelData reloaded = StreamingXmlCodec.read(file, progress -> { });
+            require(summary(reloaded).equals(summary(data)), "Η επανεγγραφή άλλαξε τα δεδομένα: " + summary(reloaded));
+        } finally {
+            Files.delete(file);
+        }
+
+        // Το JAXB δεν αντιστοιχίζει τα εμφωλευμένα αντίγραφα σε αναφορές· η φόρτωση πρέπει να το αναγνωρίζει
+        // (ώστε το DataManager να περάσει στον StreamingXmlCodec) και όχι να αγνοεί τις κρατήσεις.
+        TravelData unmarshalled = (TravelData) JAXBContext.newInstance(TravelData.class).createUnmarshaller()
+                .unmarshal(LEGACY_FILE.toFile());
+        require(!unmarshalled.resolveAfterLoad(), "Το JAXB δέχτηκε κρατήσεις χωρίς αναφορές");
+        require(unmarshalled.getBookings().isEmpty(), "Προστέθηκαν κρατήσεις από μη επιλυμένο αρχείο");
+
+        // Αρχείο με αναφορά σε πελάτη που δεν υπάρχει: απορρίπτεται αντί να χαθεί η κράτηση.
+        Path dangling = Files.createTempFile("travel_data", ".xml");
+        try {
+            Files.write(dangling, DANGLING_REFERENCE.getBytes(StandardCharsets.UTF_8));
+            StreamingXmlCodec.read(dangling, progress -> { });
+            throw new AssertionError("Διαβάστηκε αρχείο με αναφορά σε πελάτη που δεν υπάρχει");
+        } catch (XMLStreamException expected) {
+            // αναμενόμενο
+        } finally {
+            Files.delete(dangling);
+        }
+        System.out.println("LegacyFormatCheck: OK");
+    }
+
+    /**
+     Ελέγχει τα δεδομένα που προκύπτουν από το legacy_travel_data.xml.
+     @param data Τα δεδομένα που διαβάστηκαν.
+     */
+    static void verifyLegacyContent(TravelData data) {
+        // Δύο πελάτες και δύο δρομολόγια του αρχείου, και ένας πελάτης και ένα δρομολόγιο που υπήρχαν μόνο σε κράτηση.
+        require(data.getCustomers().size() == 3, "Πελάτες: " + data.getCustomers());
+        require(data.getItineraries().size() == 3, "Δρομολόγια: " + data.getItineraries());
+        require(data.getBookings().size() == 4, "Κρατήσεις: " + data.getBookings());
+
+        Customer maria = null;
+        for (Customer customer : data.getCustomers()) {
+            require(customer.getId() != 0, "Πελάτης χωρίς κωδικό: " + customer);
+            if ("maria@example.gr".equals(customer.getEmail())) {
+                maria = customer;
+            }
+        }
+        require(maria != null, "Λείπει ο πελάτης maria@example.gr");
+        require(data.getBookingsFor(maria).size() == 2, "Κρατήσεις της maria: " + data.getBookingsFor(maria));
+
+        Itinerary heraklion = null;
+        for (Itinerary itinerary : data.getItinerariesOn(LocalDate.of(2031, 6, 1))) {
+            heraklion = itinerary;
+        }
+        require(heraklion != null && data.getItinerariesOn(LocalDate.of(2031, 6, 1)).size() == 1,
+                "Δρομολόγια της 2031-06-01: " + data.getItinerariesOn(LocalDate.of(2031, 6, 1)));
+        require(data.getBookingsFor(heraklion).size() == 2, "Κρατήσεις για Ηράκλειο: " + data.getBookingsFor(heraklion));
+
+        int cancelled = 0;
+        for (Booking booking : data.getBookings()) {
+            // Οι κρατήσεις πρέπει να δείχνουν στις ίδιες οντότητες με το αποθετήριο, όχι σε αντίγραφα.
+            require(data.findCustomer(booking.getCustomer().getId()) == booking.getCustomer(), "Αντίγραφο πελάτη: " + booking);
+            require(data.findItinerary(booking.getItinerary().getId()) == booking.getItinerary(), "Αντίγραφο δρομολογίου: " + booking);
+            if (booking.isCancelled()) {
+                cancelled++;
+            }
+        }
+        require(cancelled == 1, "Ακυρωμένες κρατήσεις: " + cancelled);
+    }
+
+    /**
+     Περιγραφή των δεδομένων ανεξάρτητη από τους κωδικούς και τη σειρά, για σύγκριση.
+     @param data Τα δεδομένα.
+     @return Μία γραμμή ανά οντότητα, ταξινομημένες.
+     */
+    static List<String> summary(TravelData data) {
+        List<String> lines = new ArrayList<>();
+        for (Customer customer : data.getCustomers()) {
+            lines.add("C|" + customer.getEmail() + "|" + customer.getName() + "|" + customer.getPhone());
+        }
+        for (Itinerary itinerary : data.getItineraries()) {
+            lines.add("I|" + itinerary.getDestination() + "|" + itinerary.getDate() + "|" + itinerary.getTransportType()
+                    + "|" + itinerary.getAvailableSeats() + "|" + itinerary.getCost());
+        }
+        for (Booking booking : data.getBookings()) {
+            lines.add("B|" + booking.getCustomer().getEmail() + "|" + booking.getItinerary().getDestination()
+                    + "|" + booking.getItinerary().getDate() + "|" + booking.getBookingDate() + "|" + booking.isCancelled());
+        }
+        Collections.sort(lines);
+        return lines;
+    }
+
+    static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}